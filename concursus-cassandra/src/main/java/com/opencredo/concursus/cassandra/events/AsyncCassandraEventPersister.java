@@ -0,0 +1,126 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.persisting.AsyncEventPersister;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link AsyncEventPersister} that writes events into Cassandra using the driver's asynchronous API. The number of
+ * statements in flight at any one time is bounded: once the limit is reached, callers block until an earlier write
+ * completes, so that a slow cluster applies back-pressure rather than accumulating unbounded pending writes. When
+ * using {@link BatchWriteMode#PER_PARTITION}, each aggregate's events are written by a separate statement.
+ */
+public final class AsyncCassandraEventPersister implements AsyncEventPersister {
+
+    /**
+     * Create an {@link AsyncEventPersister} that writes events into Cassandra using the supplied
+     * {@link CassandraTemplate} and {@link ObjectMapper}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise event data.
+     * @param maxInFlightStatements The maximum number of statements which may be awaiting acknowledgement at once.
+     * @return The constructed {@link AsyncEventPersister}.
+     */
+    public static AsyncEventPersister create(CassandraTemplate cassandraTemplate, ObjectMapper objectMapper, int maxInFlightStatements) {
+        return create(cassandraTemplate, JsonSerialiser.using(objectMapper), maxInFlightStatements);
+    }
+
+    /**
+     * Create an {@link AsyncEventPersister} that writes events into Cassandra using the supplied
+     * {@link CassandraTemplate} and serialisation {@link Function}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param serialiser The serialiser to use to serialise event data.
+     * @param maxInFlightStatements The maximum number of statements which may be awaiting acknowledgement at once.
+     * @return The constructed {@link AsyncEventPersister}.
+     */
+    public static AsyncEventPersister create(CassandraTemplate cassandraTemplate, Function<Object, String> serialiser, int maxInFlightStatements) {
+        return create(cassandraTemplate, serialiser, BatchWriteMode.PER_PARTITION, maxInFlightStatements);
+    }
+
+    /**
+     * Create an {@link AsyncEventPersister} that writes events into Cassandra using the supplied
+     * {@link CassandraTemplate} and serialisation {@link Function}, and the specified {@link BatchWriteMode}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param serialiser The serialiser to use to serialise event data.
+     * @param writeMode The {@link BatchWriteMode} to use when writing multiple events.
+     * @param maxInFlightStatements The maximum number of statements which may be awaiting acknowledgement at once.
+     * @return The constructed {@link AsyncEventPersister}.
+     */
+    public static AsyncEventPersister create(CassandraTemplate cassandraTemplate, Function<Object, String> serialiser, BatchWriteMode writeMode, int maxInFlightStatements) {
+        return create(cassandraTemplate, ParameterWriter.json(serialiser), writeMode, maxInFlightStatements);
+    }
+
+    /**
+     * Create an {@link AsyncEventPersister} that writes events into the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, encoding event data with the supplied {@link BinaryParameterCodec}, and using the
+     * specified {@link BatchWriteMode}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to encode event data.
+     * @param writeMode The {@link BatchWriteMode} to use when writing multiple events.
+     * @param maxInFlightStatements The maximum number of statements which may be awaiting acknowledgement at once.
+     * @return The constructed {@link AsyncEventPersister}.
+     */
+    public static AsyncEventPersister create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec, BatchWriteMode writeMode, int maxInFlightStatements) {
+        return create(cassandraTemplate, ParameterWriter.binary(codec), writeMode, maxInFlightStatements);
+    }
+
+    private static AsyncEventPersister create(CassandraTemplate cassandraTemplate, ParameterWriter parameterWriter, BatchWriteMode writeMode, int maxInFlightStatements) {
+        checkNotNull(writeMode, "writeMode must not be null");
+        checkArgument(maxInFlightStatements > 0, "maxInFlightStatements must be positive");
+
+        Session session = cassandraTemplate.getSession();
+        return new AsyncCassandraEventPersister(
+                session,
+                EventInsertStatements.prepare(session, parameterWriter),
+                writeMode,
+                new Semaphore(maxInFlightStatements));
+    }
+
+    private final Session session;
+    private final EventInsertStatements insertStatements;
+    private final BatchWriteMode writeMode;
+    private final Semaphore inFlightPermits;
+
+    private AsyncCassandraEventPersister(Session session, EventInsertStatements insertStatements, BatchWriteMode writeMode, Semaphore inFlightPermits) {
+        this.session = session;
+        this.insertStatements = insertStatements;
+        this.writeMode = writeMode;
+        this.inFlightPermits = inFlightPermits;
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<?>[] writes = insertStatements.insert(events, writeMode).stream()
+                .map(this::execute)
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(writes);
+    }
+
+    private CompletableFuture<ResultSet> execute(Statement statement) {
+        inFlightPermits.acquireUninterruptibly();
+        try {
+            return ResultSetFutures.toCompletableFuture(session.executeAsync(statement))
+                    .whenComplete((resultSet, e) -> inFlightPermits.release());
+        } catch (RuntimeException e) {
+            inFlightPermits.release();
+            throw e;
+        }
+    }
+
+}
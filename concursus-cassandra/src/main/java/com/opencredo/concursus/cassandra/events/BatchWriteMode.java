@@ -0,0 +1,21 @@
+package com.opencredo.concursus.cassandra.events;
+
+/**
+ * Determines how the {@link com.opencredo.concursus.domain.events.Event}s in a batch are written to Cassandra.
+ */
+public enum BatchWriteMode {
+
+    /**
+     * Group events by partition, i.e. by {@link com.opencredo.concursus.domain.events.AggregateId}, and write each
+     * group as an unlogged batch, sending all groups in parallel. Writes to each aggregate are atomic, but a batch
+     * spanning several aggregates may be partially applied if a write fails.
+     */
+    PER_PARTITION,
+
+    /**
+     * Write all events in a single logged batch, which passes through the coordinator's batchlog. The batch is
+     * guaranteed to be applied eventually in full, across all aggregates, at a substantial cost in write throughput.
+     */
+    LOGGED
+
+}
@@ -0,0 +1,138 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Encodes {@link Tuple}s as a single binary value, for storage in the CompactEvent table. Values are written in the
+ * order of the {@link TupleSchema}'s slots, preceded by the slot count, so that no slot names are stored and the whole
+ * tuple is decoded in a single pass.
+ */
+public final class BinaryParameterCodec {
+
+    /**
+     * Create a {@link BinaryParameterCodec} which encodes values as Smile, a binary JSON format, using a new
+     * {@link ObjectMapper} with default configuration.
+     * @return The constructed {@link BinaryParameterCodec}.
+     */
+    public static BinaryParameterCodec smile() {
+        return using(new ObjectMapper(new SmileFactory()));
+    }
+
+    /**
+     * Create a {@link BinaryParameterCodec} which encodes values with the supplied {@link ObjectMapper}. To obtain a
+     * binary encoding, the {@link ObjectMapper} should be created with a binary format factory such as
+     * {@link SmileFactory}, and have the same modules registered as the mapper used elsewhere for event data.
+     * @param objectMapper The {@link ObjectMapper} to use to write and read values.
+     * @return The constructed {@link BinaryParameterCodec}.
+     */
+    public static BinaryParameterCodec using(ObjectMapper objectMapper) {
+        checkNotNull(objectMapper, "objectMapper must not be null");
+
+        return new BinaryParameterCodec(objectMapper);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter valueWriter;
+
+    private BinaryParameterCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Encode the supplied {@link Tuple}.
+     * @param tuple The {@link Tuple} to encode.
+     * @return The encoded tuple.
+     */
+    public ByteBuffer encode(Tuple tuple) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            generator.writeNumber(tuple.getSchema().getSlotCount());
+            tuple.serialiseInOrder(value -> writeValue(generator, value));
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) {
+        try {
+            valueWriter.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode a {@link Tuple} conforming to the supplied {@link TupleSchema}.
+     * @param schema The {@link TupleSchema} of the encoded tuple.
+     * @param encoded The encoded tuple.
+     * @return The decoded {@link Tuple}.
+     */
+    public Tuple decode(TupleSchema schema, ByteBuffer encoded) {
+        ByteBuffer buffer = encoded.duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+            expect(parser, JsonToken.START_ARRAY);
+            expect(parser, JsonToken.VALUE_NUMBER_INT);
+
+            int slotCount = parser.getIntValue();
+            if (slotCount != schema.getSlotCount()) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected %s values for schema %s, but %s were encoded",
+                        schema.getSlotCount(), schema, slotCount));
+            }
+
+            Tuple tuple = schema.deserialiseInOrder(type -> readValue(parser, type));
+
+            expect(parser, JsonToken.END_ARRAY);
+            JsonToken trailing = parser.nextToken();
+            if (trailing != null) {
+                throw new IllegalArgumentException(String.format("Unexpected %s after encoded parameters", trailing));
+            }
+
+            return tuple;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object readValue(JsonParser parser, Type type) {
+        try {
+            parser.nextToken();
+            return objectMapper.readValue(parser, objectMapper.constructType(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void expect(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken actual = parser.nextToken();
+        if (actual != expected) {
+            throw new IllegalArgumentException(String.format("Expected %s in encoded parameters, but found %s", expected, actual));
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.persisting.EventPersister;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+
+import java.time.Instant;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link EventPersister} that writes events into the BucketedEvent table, which partitions each aggregate's events
+ * by time bucket so that the events of long-lived aggregates are not all held in a single, unbounded partition. Each
+ * bucket written to is also recorded in the EventBucket table, so that the buckets can be found again on retrieval.
+ */
+public final class BucketedCassandraEventPersister implements EventPersister {
+
+    private static final int INDEXED_BUCKET_CACHE_SIZE = 10000;
+
+    /**
+     * Create an {@link EventPersister} that writes events into the BucketedEvent table using the supplied
+     * {@link CassandraTemplate} and {@link ObjectMapper}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise event data.
+     * @param bucketingScheme The {@link BucketingScheme} to use to assign events to time buckets.
+     * @return The constructed {@link EventPersister}.
+     */
+    public static EventPersister create(CassandraTemplate cassandraTemplate, ObjectMapper objectMapper, BucketingScheme bucketingScheme) {
+        return create(cassandraTemplate, JsonSerialiser.using(objectMapper), bucketingScheme);
+    }
+
+    /**
+     * Create an {@link EventPersister} that writes events into the BucketedEvent table using the supplied
+     * {@link CassandraTemplate} and serialisation {@link Function}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param serialiser The serialiser to use to serialise event data.
+     * @param bucketingScheme The {@link BucketingScheme} to use to assign events to time buckets.
+     * @return The constructed {@link EventPersister}.
+     */
+    public static EventPersister create(CassandraTemplate cassandraTemplate, Function<Object, String> serialiser, BucketingScheme bucketingScheme) {
+        checkNotNull(bucketingScheme, "bucketingScheme must not be null");
+
+        Session session = cassandraTemplate.getSession();
+        return new BucketedCassandraEventPersister(
+                session,
+                session.prepare(
+                        "INSERT INTO " + EventTables.BUCKETED_EVENT +
+                                " (aggregateType, aggregateId, bucket, eventTimestamp, streamId, processingId, name, version, parameters, characteristics) " +
+                                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+                session.prepare(
+                        "INSERT INTO " + EventTables.EVENT_BUCKET + " (aggregateType, aggregateId, bucket) VALUES (?, ?, ?)"),
+                ParameterWriter.json(serialiser),
+                bucketingScheme,
+                CacheBuilder.newBuilder().maximumSize(INDEXED_BUCKET_CACHE_SIZE).build());
+    }
+
+    private final Session session;
+    private final PreparedStatement insertEvent;
+    private final PreparedStatement insertBucket;
+    private final ParameterWriter parameterWriter;
+    private final BucketingScheme bucketingScheme;
+    private final Cache<Entry<AggregateId, Instant>, Boolean> indexedBuckets;
+
+    private BucketedCassandraEventPersister(Session session, PreparedStatement insertEvent, PreparedStatement insertBucket, ParameterWriter parameterWriter, BucketingScheme bucketingScheme, Cache<Entry<AggregateId, Instant>, Boolean> indexedBuckets) {
+        this.session = session;
+        this.insertEvent = insertEvent;
+        this.insertBucket = insertBucket;
+        this.parameterWriter = parameterWriter;
+        this.bucketingScheme = bucketingScheme;
+        this.indexedBuckets = indexedBuckets;
+    }
+
+    @Override
+    public void accept(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<Entry<AggregateId, Instant>, List<Event>> eventsByPartition = events.stream()
+                .collect(groupingBy(this::getPartition, LinkedHashMap::new, toList()));
+
+        // Record new buckets before writing to them, so that no written event is ever missing from the index.
+        executeAll(eventsByPartition.keySet().stream()
+                .filter(partition -> indexedBuckets.getIfPresent(partition) == null)
+                .map(partition -> insertBucket.bind(
+                        partition.getKey().getType(),
+                        partition.getKey().getId(),
+                        Date.from(partition.getValue())))
+                .collect(toList()));
+        eventsByPartition.keySet().forEach(partition -> indexedBuckets.put(partition, true));
+
+        executeAll(eventsByPartition.entrySet().stream()
+                .map(partition -> insert(partition.getKey().getValue(), partition.getValue()))
+                .collect(toList()));
+    }
+
+    private Entry<AggregateId, Instant> getPartition(Event event) {
+        AggregateId aggregateId = event.getAggregateId();
+        return new SimpleEntry<>(
+                aggregateId,
+                bucketingScheme.getBucketStart(aggregateId.getType(), event.getEventTimestamp().getTimestamp()));
+    }
+
+    private Statement insert(Instant bucket, List<Event> partitionEvents) {
+        if (partitionEvents.size() == 1) {
+            return insert(bucket, partitionEvents.get(0));
+        }
+
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        partitionEvents.forEach(event -> batch.add(insert(bucket, event)));
+        return batch;
+    }
+
+    private Statement insert(Instant bucket, Event event) {
+        return insertEvent.bind(
+                event.getAggregateId().getType(),
+                event.getAggregateId().getId(),
+                Date.from(bucket),
+                Date.from(event.getEventTimestamp().getTimestamp()),
+                event.getEventTimestamp().getStreamId(),
+                event.getProcessingId().orElseThrow(() -> new IllegalArgumentException("Event has no processing id")),
+                event.getEventName().getName(),
+                event.getEventName().getVersion(),
+                parameterWriter.write(event.getParameters()),
+                event.getCharacteristics());
+    }
+
+    private void executeAll(List<Statement> statements) {
+        List<ResultSetFuture> results = statements.stream().map(session::executeAsync).collect(toList());
+        results.forEach(ResultSetFuture::getUninterruptibly);
+    }
+
+}
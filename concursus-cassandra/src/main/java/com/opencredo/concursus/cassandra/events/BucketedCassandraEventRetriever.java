@@ -0,0 +1,253 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
+import com.opencredo.concursus.domain.time.TimeRange;
+import com.opencredo.concursus.domain.time.TimeRangeBound;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link EventRetriever} that retrieves events from the BucketedEvent table. The buckets holding an aggregate's
+ * events are looked up in the EventBucket table, and only those buckets which overlap the requested
+ * {@link TimeRange} are read. When events are retrieved for multiple aggregates, rows are translated into events on a
+ * translation {@link Executor}, by default the common {@link ForkJoinPool}, rather than on the driver's I/O threads.
+ */
+public final class BucketedCassandraEventRetriever implements EventRetriever {
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_MAX_CONCURRENT_READS = 32;
+
+    private static final Date EARLIEST = new Date(Long.MIN_VALUE);
+    private static final Date LATEST = new Date(Long.MAX_VALUE);
+
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the BucketedEvent table using the supplied
+     * {@link CassandraTemplate} and {@link ObjectMapper}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise Event data.
+     * @param bucketingScheme The {@link BucketingScheme} with which events were assigned to time buckets.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, ObjectMapper objectMapper, BucketingScheme bucketingScheme) {
+        return create(cassandraTemplate, JsonDeserialiser.using(objectMapper), bucketingScheme, DEFAULT_FETCH_SIZE, DEFAULT_MAX_CONCURRENT_READS);
+    }
+
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the BucketedEvent table using the supplied
+     * {@link CassandraTemplate} and deserialising {@link BiFunction}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise Event data.
+     * @param bucketingScheme The {@link BucketingScheme} with which events were assigned to time buckets.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of aggregates whose histories may be read concurrently. Each
+     *                           aggregate's buckets are read one after another, so this also bounds the number of
+     *                           queries in flight.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, BucketingScheme bucketingScheme, int fetchSize, int maxConcurrentReads) {
+        return create(cassandraTemplate, deserialiser, bucketingScheme, fetchSize, maxConcurrentReads, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the BucketedEvent table using the supplied
+     * {@link CassandraTemplate} and deserialising {@link BiFunction}, translating rows read asynchronously on the
+     * supplied {@link Executor}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise Event data.
+     * @param bucketingScheme The {@link BucketingScheme} with which events were assigned to time buckets.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of aggregates whose histories may be read concurrently. Each
+     *                           aggregate's buckets are read one after another, so this also bounds the number of
+     *                           queries in flight.
+     * @param translationExecutor The {@link Executor} on which to translate rows read asynchronously into events.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, BucketingScheme bucketingScheme, int fetchSize, int maxConcurrentReads, Executor translationExecutor) {
+        checkNotNull(bucketingScheme, "bucketingScheme must not be null");
+        checkArgument(fetchSize > 0, "fetchSize must be positive");
+        checkArgument(maxConcurrentReads > 0, "maxConcurrentReads must be positive");
+        checkNotNull(translationExecutor, "translationExecutor must not be null");
+
+        Session session = cassandraTemplate.getSession();
+        return new BucketedCassandraEventRetriever(
+                session,
+                session.prepare("SELECT bucket FROM " + EventTables.EVENT_BUCKET +
+                        " WHERE aggregateType = ? AND aggregateId = ? AND bucket >= ? AND bucket <= ?"),
+                EventSelectStatements.using(session, EventTables.BUCKETED_EVENT),
+                ParameterReader.json(deserialiser),
+                bucketingScheme,
+                fetchSize,
+                new Semaphore(maxConcurrentReads),
+                translationExecutor);
+    }
+
+    private final Session session;
+    private final PreparedStatement selectBuckets;
+    private final EventSelectStatements selectStatements;
+    private final ParameterReader parameterReader;
+    private final BucketingScheme bucketingScheme;
+    private final int fetchSize;
+    private final Semaphore concurrentReadPermits;
+    private final Executor translationExecutor;
+
+    private BucketedCassandraEventRetriever(Session session, PreparedStatement selectBuckets, EventSelectStatements selectStatements, ParameterReader parameterReader, BucketingScheme bucketingScheme, int fetchSize, Semaphore concurrentReadPermits, Executor translationExecutor) {
+        this.session = session;
+        this.selectBuckets = selectBuckets;
+        this.selectStatements = selectStatements;
+        this.parameterReader = parameterReader;
+        this.bucketingScheme = bucketingScheme;
+        this.fetchSize = fetchSize;
+        this.concurrentReadPermits = concurrentReadPermits;
+        this.translationExecutor = translationExecutor;
+    }
+
+    @Override
+    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return streamEvents(matcher, aggregateId, timeRange).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Event> streamEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+        Function<Instant, BoundStatement> selectInBucket = selectStatements.selectInBucket(aggregateId, timeRange, false);
+
+        return getBuckets(aggregateId, timeRange).stream()
+                .flatMap(bucket -> streamAndTranslate(eventTranslator, selectInBucket.apply(bucket)));
+    }
+
+    @Override
+    public Stream<Event> streamEventsAscending(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+        List<Instant> buckets = getBuckets(aggregateId, timeRange);
+        Collections.reverse(buckets);
+        Function<Instant, BoundStatement> selectInBucket = selectStatements.selectInBucket(aggregateId, timeRange, true);
+
+        return buckets.stream()
+                .flatMap(bucket -> streamAndTranslate(eventTranslator, selectInBucket.apply(bucket)));
+    }
+
+    private List<Instant> getBuckets(AggregateId aggregateId, TimeRange timeRange) {
+        return StreamSupport.stream(session.execute(selectBucketsFor(aggregateId, timeRange)).spliterator(), false)
+                .map(row -> row.getDate(0).toInstant())
+                .collect(Collectors.toList());
+    }
+
+    private Statement selectBucketsFor(AggregateId aggregateId, TimeRange timeRange) {
+        Date lowerBucket = timeRange.getLowerBound()
+                .map(TimeRangeBound::getInstant)
+                .map(lower -> Date.from(bucketingScheme.getBucketStart(aggregateId.getType(), lower)))
+                .orElse(EARLIEST);
+
+        Date upperBucket = timeRange.getUpperBound()
+                .map(TimeRangeBound::getInstant)
+                .map(Date::from)
+                .orElse(LATEST);
+
+        return selectBuckets.bind(aggregateId.getType(), aggregateId.getId(), lowerBucket, upperBucket);
+    }
+
+    private Stream<Event> streamAndTranslate(EventTranslator eventTranslator, Statement statement) {
+        statement.setFetchSize(fetchSize);
+
+        return StreamSupport.stream(session.execute(statement).spliterator(), false)
+                .map(eventTranslator::translate)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return streamEvents(matcher, aggregateId, cursor.toTimeRange())
+                .filter(cursor::precedes)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+        Map<AggregateId, List<Event>> results = new ConcurrentHashMap<>();
+
+        CompletableFuture<?>[] reads = aggregateIds.stream()
+                .distinct()
+                .map(id -> AggregateId.of(aggregateType, id))
+                .map(aggregateId -> readAsync(aggregateId, timeRange, eventTranslator)
+                        .thenAccept(events -> {
+                            if (!events.isEmpty()) {
+                                results.put(aggregateId, events);
+                            }
+                        }))
+                .toArray(CompletableFuture<?>[]::new);
+
+        CompletableFuture.allOf(reads).join();
+
+        return results;
+    }
+
+    private CompletableFuture<List<Event>> readAsync(AggregateId aggregateId, TimeRange timeRange, EventTranslator eventTranslator) {
+        Function<Instant, BoundStatement> selectInBucket = selectStatements.selectInBucket(aggregateId, timeRange, false);
+
+        concurrentReadPermits.acquireUninterruptibly();
+        try {
+            return readBucketsAsync(aggregateId, timeRange)
+                    .thenCompose(buckets -> readEventsAsync(buckets, selectInBucket, eventTranslator))
+                    .whenComplete((events, e) -> concurrentReadPermits.release());
+        } catch (RuntimeException e) {
+            concurrentReadPermits.release();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<List<Instant>> readBucketsAsync(AggregateId aggregateId, TimeRange timeRange) {
+        List<Instant> buckets = new ArrayList<>();
+        return ResultSetFutures.forEachRow(
+                session.executeAsync(selectBucketsFor(aggregateId, timeRange)),
+                row -> buckets.add(row.getDate(0).toInstant()),
+                translationExecutor)
+                .thenApply(done -> buckets);
+    }
+
+    private CompletableFuture<List<Event>> readEventsAsync(List<Instant> buckets, Function<Instant, BoundStatement> selectInBucket, EventTranslator eventTranslator) {
+        return readEventsAsync(buckets.iterator(), selectInBucket, eventTranslator, new ArrayList<>());
+    }
+
+    // Buckets are read one after another, so that each permit covers a single in-flight query.
+    private CompletableFuture<List<Event>> readEventsAsync(Iterator<Instant> buckets, Function<Instant, BoundStatement> selectInBucket, EventTranslator eventTranslator, List<Event> events) {
+        if (!buckets.hasNext()) {
+            return CompletableFuture.completedFuture(events);
+        }
+
+        Statement statement = selectInBucket.apply(buckets.next());
+        statement.setFetchSize(fetchSize);
+        return ResultSetFutures.forEachRow(
+                session.executeAsync(statement),
+                row -> eventTranslator.translate(row).ifPresent(events::add),
+                translationExecutor)
+                .thenCompose(done -> readEventsAsync(buckets, selectInBucket, eventTranslator, events));
+    }
+
+}
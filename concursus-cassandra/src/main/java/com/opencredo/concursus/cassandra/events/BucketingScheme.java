@@ -0,0 +1,63 @@
+package com.opencredo.concursus.cassandra.events;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Determines the {@link TimeBucket} used to partition the events of each aggregate type.
+ */
+public final class BucketingScheme {
+
+    /**
+     * Create a {@link BucketingScheme} which uses the supplied {@link TimeBucket} for all aggregate types.
+     * @param defaultBucket The {@link TimeBucket} to use for aggregate types with no specific configuration.
+     * @return The constructed {@link BucketingScheme}.
+     */
+    public static BucketingScheme uniform(TimeBucket defaultBucket) {
+        checkNotNull(defaultBucket, "defaultBucket must not be null");
+
+        return new BucketingScheme(defaultBucket, new HashMap<>());
+    }
+
+    private final TimeBucket defaultBucket;
+    private final Map<String, TimeBucket> bucketsByAggregateType;
+
+    private BucketingScheme(TimeBucket defaultBucket, Map<String, TimeBucket> bucketsByAggregateType) {
+        this.defaultBucket = defaultBucket;
+        this.bucketsByAggregateType = bucketsByAggregateType;
+    }
+
+    /**
+     * Create a copy of this {@link BucketingScheme} which uses the supplied {@link TimeBucket} for the specified
+     * aggregate type. Note that changing the bucketing of an aggregate type which already has events stored may cause
+     * time range queries to miss events stored under the previous bucketing.
+     * @param aggregateType The aggregate type to configure.
+     * @param bucket The {@link TimeBucket} to use for the aggregate type.
+     * @return The constructed {@link BucketingScheme}.
+     */
+    public BucketingScheme with(String aggregateType, TimeBucket bucket) {
+        checkNotNull(aggregateType, "aggregateType must not be null");
+        checkNotNull(bucket, "bucket must not be null");
+
+        Map<String, TimeBucket> updated = new HashMap<>(bucketsByAggregateType);
+        updated.put(aggregateType, bucket);
+        return new BucketingScheme(defaultBucket, updated);
+    }
+
+    /**
+     * Get the {@link TimeBucket} used for the specified aggregate type.
+     * @param aggregateType The aggregate type.
+     * @return The {@link TimeBucket} used for the aggregate type.
+     */
+    public TimeBucket getBucket(String aggregateType) {
+        return bucketsByAggregateType.getOrDefault(aggregateType, defaultBucket);
+    }
+
+    Instant getBucketStart(String aggregateType, Instant eventTimestamp) {
+        return getBucket(aggregateType).startOf(eventTimestamp);
+    }
+
+}
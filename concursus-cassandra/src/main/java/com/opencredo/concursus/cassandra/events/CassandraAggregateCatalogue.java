@@ -1,46 +1,78 @@
 package com.opencredo.concursus.cassandra.events;
 
 import com.datastax.driver.core.PreparedStatement;
-import com.datastax.driver.core.Row;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
-import com.datastax.driver.core.querybuilder.Select;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.opencredo.concursus.domain.events.cataloguing.AggregateCatalogue;
 import org.springframework.data.cassandra.core.CassandraTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * An {@link AggregateCatalogue} that uses Cassandra for persistence.
+ * An {@link AggregateCatalogue} that uses Cassandra for persistence. Aggregate ids are spread over a fixed number of
+ * bucket partitions; streaming retrieval reads all of the buckets in parallel, a page at a time, and paged retrieval
+ * walks the buckets in order from a resumable {@link CatalogueCursor}.
  */
 public class CassandraAggregateCatalogue implements AggregateCatalogue {
 
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Create a new {@link AggregateCatalogue} that uses Cassandra for persistence.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param bucketCount The number of buckets to use to distribute the catalogue data over multiple rows.
+     * @return The constructed {@link AggregateCatalogue}.
+     */
+    public static CassandraAggregateCatalogue create(CassandraTemplate cassandraTemplate, int bucketCount) {
+        return create(cassandraTemplate, bucketCount, DEFAULT_FETCH_SIZE);
+    }
+
     /**
      * Create a new {@link AggregateCatalogue} that uses Cassandra for persistence.
      * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
      * @param bucketCount The number of buckets to use to distribute the catalogue data over multiple rows.
+     * @param fetchSize The number of ids to fetch from each bucket in each page when streaming ids.
      * @return The constructed {@link AggregateCatalogue}.
      */
-    public static AggregateCatalogue create(CassandraTemplate cassandraTemplate, int bucketCount) {
+    public static CassandraAggregateCatalogue create(CassandraTemplate cassandraTemplate, int bucketCount, int fetchSize) {
+        checkArgument(bucketCount > 0, "bucketCount must be positive");
+        checkArgument(fetchSize > 0, "fetchSize must be positive");
+
         PreparedStatement insertStatement = cassandraTemplate.getSession().prepare(
                 "INSERT INTO Catalogue (aggregateType, bucket, aggregateId) VALUES (?, ?, ?)");
         PreparedStatement deleteStatement = cassandraTemplate.getSession().prepare(
                 "DELETE FROM Catalogue WHERE aggregateType = ? AND bucket = ? AND aggregateId = ?");
-        return new CassandraAggregateCatalogue(bucketCount, cassandraTemplate, insertStatement, deleteStatement);
+        PreparedStatement selectStatement = cassandraTemplate.getSession().prepare(
+                "SELECT aggregateId FROM Catalogue WHERE aggregateType = ? AND bucket = ?");
+        return new CassandraAggregateCatalogue(bucketCount, fetchSize, cassandraTemplate, insertStatement, deleteStatement, selectStatement);
     }
 
     private final int bucketCount;
+    private final int fetchSize;
     private final CassandraTemplate cassandraTemplate;
     private final PreparedStatement insertStatement;
     private final PreparedStatement deleteStatement;
+    private final PreparedStatement selectStatement;
 
-    private CassandraAggregateCatalogue(int bucketCount, CassandraTemplate cassandraTemplate, PreparedStatement insertStatement, PreparedStatement deleteStatement) {
+    private CassandraAggregateCatalogue(int bucketCount, int fetchSize, CassandraTemplate cassandraTemplate, PreparedStatement insertStatement, PreparedStatement deleteStatement, PreparedStatement selectStatement) {
         this.bucketCount = bucketCount;
+        this.fetchSize = fetchSize;
         this.cassandraTemplate = cassandraTemplate;
         this.insertStatement = insertStatement;
         this.deleteStatement = deleteStatement;
+        this.selectStatement = selectStatement;
     }
 
     @Override
@@ -53,15 +85,103 @@ public class CassandraAggregateCatalogue implements AggregateCatalogue {
         cassandraTemplate.execute(deleteStatement.bind(aggregateType, getBucket(aggregateId), aggregateId));
     }
 
+    @Override
+    public void addAll(String aggregateType, Collection<String> aggregateIds) {
+        executeAll(aggregateIds.stream()
+                .map(aggregateId -> insertStatement.bind(aggregateType, getBucket(aggregateId), aggregateId)));
+    }
+
+    @Override
+    public void removeAll(String aggregateType, Collection<String> aggregateIds) {
+        executeAll(aggregateIds.stream()
+                .map(aggregateId -> deleteStatement.bind(aggregateType, getBucket(aggregateId), aggregateId)));
+    }
+
+    private void executeAll(Stream<Statement> statements) {
+        Session session = cassandraTemplate.getSession();
+        statements.map(session::executeAsync)
+                .collect(Collectors.toList())
+                .forEach(ResultSetFuture::getUninterruptibly);
+    }
+
     @Override
     public List<String> getAggregateIds(String aggregateType) {
-        Select select = QueryBuilder.select("aggregateId").from("Catalogue");
-        select.where(QueryBuilder.eq("aggregateType", aggregateType));
-        select.where(QueryBuilder.in("bucket", IntStream.range(0, bucketCount).mapToObj(Integer::valueOf).collect(Collectors.toList())));
+        return streamAggregateIds(aggregateType).collect(Collectors.toList());
+    }
+
+    /**
+     * Stream all the aggregate ids in the catalogue for the given type. The first page of every bucket is requested
+     * concurrently; subsequent pages are fetched as the stream is consumed, with the next page of each bucket
+     * requested in the background once half of the current page has been read.
+     * @param aggregateType The aggregate type to retrieve ids for.
+     * @return The {@link Stream} of retrieved ids.
+     */
+    @Override
+    public Stream<String> streamAggregateIds(String aggregateType) {
+        Session session = cassandraTemplate.getSession();
+
+        List<ResultSetFuture> firstPages = IntStream.range(0, bucketCount)
+                .mapToObj(bucket -> session.executeAsync(selectBucket(aggregateType, bucket, fetchSize)))
+                .collect(Collectors.toList());
+
+        return firstPages.stream()
+                .map(ResultSetFuture::getUninterruptibly)
+                .flatMap(this::streamIds);
+    }
+
+    private Stream<String> streamIds(ResultSet resultSet) {
+        return StreamSupport.stream(resultSet.spliterator(), false)
+                .peek(row -> {
+                    if (resultSet.getAvailableWithoutFetching() == fetchSize / 2 && !resultSet.isFullyFetched()) {
+                        resultSet.fetchMoreResults();
+                    }
+                })
+                .map(row -> row.getString(0));
+    }
+
+    /**
+     * Retrieve a page of aggregate ids for the given type, starting from the supplied {@link CatalogueCursor}. A page
+     * may span several buckets, and may contain fewer than the requested number of ids even if it is not the last.
+     * @param aggregateType The aggregate type to retrieve ids for.
+     * @param cursor The position from which to retrieve ids; use {@link CatalogueCursor#start()} for the first page.
+     * @param pageSize The maximum number of ids to retrieve.
+     * @return The retrieved {@link CataloguePage}.
+     */
+    public CataloguePage getAggregateIds(String aggregateType, CatalogueCursor cursor, int pageSize) {
+        checkNotNull(aggregateType, "aggregateType must not be null");
+        checkNotNull(cursor, "cursor must not be null");
+        checkArgument(pageSize > 0, "pageSize must be positive");
+
+        List<String> aggregateIds = new ArrayList<>(pageSize);
+        int bucket = cursor.getBucket();
+        CatalogueCursor nextCursor = cursor;
+
+        while (bucket < bucketCount && aggregateIds.size() < pageSize) {
+            Statement statement = selectBucket(aggregateType, bucket, pageSize - aggregateIds.size());
+            if (nextCursor.getBucket() == bucket) {
+                nextCursor.getPagingState().ifPresent(statement::setPagingState);
+            }
+
+            ResultSet resultSet = cassandraTemplate.getSession().execute(statement);
+            for (int remaining = resultSet.getAvailableWithoutFetching(); remaining > 0; remaining--) {
+                aggregateIds.add(resultSet.one().getString(0));
+            }
+
+            if (resultSet.getExecutionInfo().getPagingState() == null) {
+                bucket += 1;
+                nextCursor = CatalogueCursor.at(bucket, null);
+            } else {
+                nextCursor = CatalogueCursor.at(bucket, resultSet.getExecutionInfo().getPagingState());
+            }
+        }
+
+        return CataloguePage.of(
+                aggregateIds,
+                bucket < bucketCount ? Optional.of(nextCursor) : Optional.empty());
+    }
 
-        List<String> result = new ArrayList<>();
-        cassandraTemplate.query(select, (Row row) -> result.add(row.getString(0)));
-        return result;
+    private Statement selectBucket(String aggregateType, int bucket, int pageSize) {
+        return selectStatement.bind(aggregateType, bucket).setFetchSize(pageSize);
     }
 
     private int getBucket(String aggregateId) {
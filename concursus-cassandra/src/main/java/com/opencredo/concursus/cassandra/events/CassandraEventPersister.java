@@ -1,17 +1,20 @@
 package com.opencredo.concursus.cassandra.events;
 
-import com.datastax.driver.core.BatchStatement;
-import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.persisting.EventPersister;
 import org.springframework.data.cassandra.core.CassandraTemplate;
 
-import java.sql.Date;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.toList;
+
 /**
  * An {@link EventPersister} that writes events into Cassandra.
  */
@@ -19,7 +22,7 @@ public final class CassandraEventPersister implements EventPersister {
 
     /**
      * Create an {@link EventPersister} that writes events into Cassandra using the supplied {@link CassandraTemplate}
-     * and {@link ObjectMapper}
+     * and {@link ObjectMapper}, writing each aggregate's events in parallel with {@link BatchWriteMode#PER_PARTITION}.
      * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
      * @param objectMapper The {@link ObjectMapper} to use to serialise event data.
      * @return The constructed {@link EventPersister}.
@@ -30,64 +33,78 @@ public final class CassandraEventPersister implements EventPersister {
 
     /**
      * Create an {@link EventPersister} that writes events into Cassandra using the supplied {@link CassandraTemplate}
-     * and serialisation {@link Function}.
+     * and serialisation {@link Function}, writing each aggregate's events in parallel with
+     * {@link BatchWriteMode#PER_PARTITION}.
      * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
      * @param serialiser The serialiser to use to serialise event data.
      * @return The constructed {@link EventPersister}.
      */
     public static EventPersister create(CassandraTemplate cassandraTemplate, Function<Object, String> serialiser) {
-        return new CassandraEventPersister(cassandraTemplate, prepareInsert(cassandraTemplate.getSession()), serialiser);
+        return create(cassandraTemplate, serialiser, BatchWriteMode.PER_PARTITION);
+    }
+
+    /**
+     * Create an {@link EventPersister} that writes events into Cassandra using the supplied {@link CassandraTemplate}
+     * and serialisation {@link Function}, and the specified {@link BatchWriteMode}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param serialiser The serialiser to use to serialise event data.
+     * @param writeMode The {@link BatchWriteMode} to use when writing multiple events.
+     * @return The constructed {@link EventPersister}.
+     */
+    public static EventPersister create(CassandraTemplate cassandraTemplate, Function<Object, String> serialiser, BatchWriteMode writeMode) {
+        return create(cassandraTemplate, ParameterWriter.json(serialiser), writeMode);
+    }
+
+    /**
+     * Create an {@link EventPersister} that writes events into the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, encoding event data with the supplied {@link BinaryParameterCodec}, and using the
+     * specified {@link BatchWriteMode}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to encode event data.
+     * @param writeMode The {@link BatchWriteMode} to use when writing multiple events.
+     * @return The constructed {@link EventPersister}.
+     */
+    public static EventPersister create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec, BatchWriteMode writeMode) {
+        return create(cassandraTemplate, ParameterWriter.binary(codec), writeMode);
     }
 
-    private static PreparedStatement prepareInsert(Session session) {
-        return session.prepare(
-                "INSERT INTO Event (aggregateType, aggregateId, eventTimestamp, streamId, processingId, name, version, parameters, characteristics) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    private static EventPersister create(CassandraTemplate cassandraTemplate, ParameterWriter parameterWriter, BatchWriteMode writeMode) {
+        checkNotNull(writeMode, "writeMode must not be null");
+
+        return new CassandraEventPersister(
+                cassandraTemplate,
+                EventInsertStatements.prepare(cassandraTemplate.getSession(), parameterWriter),
+                writeMode);
     }
 
     private final CassandraTemplate cassandraTemplate;
-    private final PreparedStatement preparedStatement;
-    private final Function<Object, String> serialiser;
+    private final EventInsertStatements insertStatements;
+    private final BatchWriteMode writeMode;
 
-    private CassandraEventPersister(CassandraTemplate cassandraTemplate, PreparedStatement preparedStatement, Function<Object, String> serialiser) {
+    private CassandraEventPersister(CassandraTemplate cassandraTemplate, EventInsertStatements insertStatements, BatchWriteMode writeMode) {
         this.cassandraTemplate = cassandraTemplate;
-        this.preparedStatement = preparedStatement;
-        this.serialiser = serialiser;
+        this.insertStatements = insertStatements;
+        this.writeMode = writeMode;
     }
 
     @Override
     public void accept(Collection<Event> events) {
-        if (events.size() == 1) {
-            persistSingleEvent(events.iterator().next());
-        } else if (!events.isEmpty()) {
-            persistBatch(events);
+        if (events.isEmpty()) {
+            return;
         }
-    }
 
-    private void persistSingleEvent(Event singleEvent) {
-        cassandraTemplate.execute(preparedStatement.bind(getBindArguments(singleEvent)));
-    }
-
-    private void persistBatch(Collection<Event> events) {
-        BatchStatement batch = new BatchStatement();
-
-        events.stream().map(this::getBindArguments).map(preparedStatement::bind).forEach(batch::add);
-
-        cassandraTemplate.execute(batch);
+        List<Statement> statements = insertStatements.insert(events, writeMode);
+        if (statements.size() == 1) {
+            cassandraTemplate.execute(statements.get(0));
+        } else {
+            executeInParallel(statements);
+        }
     }
 
-    private Object[] getBindArguments(Event event) {
-        return new Object[] {
-                event.getAggregateId().getType(),
-                event.getAggregateId().getId(),
-                Date.from(event.getEventTimestamp().getTimestamp()),
-                event.getEventTimestamp().getStreamId(),
-                event.getProcessingId().orElseThrow(() -> new IllegalArgumentException("Event has no processing id")),
-                event.getEventName().getName(),
-                event.getEventName().getVersion(),
-                event.getParameters().serialise(serialiser),
-                event.getCharacteristics()
-        };
+    private void executeInParallel(List<Statement> statements) {
+        Session session = cassandraTemplate.getSession();
+        List<ResultSetFuture> results = statements.stream().map(session::executeAsync).collect(toList());
+        results.forEach(ResultSetFuture::getUninterruptibly);
     }
 
 }
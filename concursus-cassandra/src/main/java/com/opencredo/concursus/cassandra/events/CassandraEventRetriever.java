@@ -1,28 +1,41 @@
 package com.opencredo.concursus.cassandra.events;
 
-import com.datastax.driver.core.querybuilder.Clause;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
-import com.datastax.driver.core.querybuilder.Select;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 import com.opencredo.concursus.domain.time.TimeRange;
-import com.opencredo.concursus.domain.time.TimeRangeBound;
 import org.springframework.data.cassandra.core.CassandraTemplate;
 
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * An {@link EventRetriever} that retrieves events from Cassandra.
+ * An {@link EventRetriever} that retrieves events from Cassandra. When events are retrieved for multiple aggregates,
+ * rows are translated into events on a translation {@link Executor}, by default the common
+ * {@link ForkJoinPool}, rather than on the driver's I/O threads.
  */
 public final class CassandraEventRetriever implements EventRetriever {
 
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_MAX_CONCURRENT_READS = 32;
+
     /**
      * Construct an {@link EventRetriever} that retrieves events from Cassandra using the supplied
      * {@link CassandraTemplate} and {@link ObjectMapper}
@@ -42,79 +55,194 @@ public final class CassandraEventRetriever implements EventRetriever {
      * @return The constructed {@link EventRetriever}.
      */
     public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser) {
-        return new CassandraEventRetriever(cassandraTemplate, deserialiser);
+        return create(cassandraTemplate, deserialiser, DEFAULT_FETCH_SIZE);
     }
 
-    private final CassandraTemplate cassandraTemplate;
-    private final BiFunction<String, Type, Object> deserialiser;
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from Cassandra using the supplied
+     * {@link CassandraTemplate} and deserialising {@link BiFunction}, fetching rows in pages of the given size when
+     * streaming events.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise Event data.
+     * @param fetchSize The number of rows to fetch in each page when streaming events.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, int fetchSize) {
+        return create(cassandraTemplate, deserialiser, fetchSize, DEFAULT_MAX_CONCURRENT_READS);
+    }
 
-    private CassandraEventRetriever(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser) {
-        this.cassandraTemplate = cassandraTemplate;
-        this.deserialiser = deserialiser;
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from Cassandra using the supplied
+     * {@link CassandraTemplate} and deserialising {@link BiFunction}, fetching rows in pages of the given size, and
+     * reading at most the given number of aggregates' histories concurrently when retrieving events for multiple
+     * aggregates.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise Event data.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of single-aggregate queries which may be in flight at once.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, int fetchSize, int maxConcurrentReads) {
+        return create(cassandraTemplate, deserialiser, fetchSize, maxConcurrentReads, ForkJoinPool.commonPool());
     }
 
-    @Override
-    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
-        final Select select = selectFromEvent();
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from Cassandra using the supplied
+     * {@link CassandraTemplate} and deserialising {@link BiFunction}, fetching rows in pages of the given size,
+     * reading at most the given number of aggregates' histories concurrently when retrieving events for multiple
+     * aggregates, and translating the rows so read on the supplied {@link Executor}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise Event data.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of single-aggregate queries which may be in flight at once.
+     * @param translationExecutor The {@link Executor} on which to translate rows read asynchronously into events.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, int fetchSize, int maxConcurrentReads, Executor translationExecutor) {
+        return create(cassandraTemplate, ParameterReader.json(deserialiser), fetchSize, maxConcurrentReads, translationExecutor);
+    }
 
-        select.where(QueryBuilder.eq("aggregateType", aggregateId.getType()))
-                .and(QueryBuilder.eq("aggregateId", aggregateId.getId()));
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, decoding event data with the supplied {@link BinaryParameterCodec}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to decode Event data.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec) {
+        return create(cassandraTemplate, codec, DEFAULT_FETCH_SIZE, DEFAULT_MAX_CONCURRENT_READS);
+    }
 
-        constrainTimeRange(timeRange, select);
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, decoding event data with the supplied {@link BinaryParameterCodec}, fetching rows in
+     * pages of the given size, and reading at most the given number of aggregates' histories concurrently when
+     * retrieving events for multiple aggregates.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to decode Event data.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of single-aggregate queries which may be in flight at once.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec, int fetchSize, int maxConcurrentReads) {
+        return create(cassandraTemplate, codec, fetchSize, maxConcurrentReads, ForkJoinPool.commonPool());
+    }
 
-        List<Event> results = new LinkedList<>();
+    /**
+     * Construct an {@link EventRetriever} that retrieves events from the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, decoding event data with the supplied {@link BinaryParameterCodec}, fetching rows in
+     * pages of the given size, reading at most the given number of aggregates' histories concurrently when retrieving
+     * events for multiple aggregates, and translating the rows so read on the supplied {@link Executor}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to decode Event data.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @param maxConcurrentReads The maximum number of single-aggregate queries which may be in flight at once.
+     * @param translationExecutor The {@link Executor} on which to translate rows read asynchronously into events.
+     * @return The constructed {@link EventRetriever}.
+     */
+    public static EventRetriever create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec, int fetchSize, int maxConcurrentReads, Executor translationExecutor) {
+        return create(cassandraTemplate, ParameterReader.binary(codec), fetchSize, maxConcurrentReads, translationExecutor);
+    }
 
-        runAndTranslate(matcher, select, results::add);
+    private static EventRetriever create(CassandraTemplate cassandraTemplate, ParameterReader parameterReader, int fetchSize, int maxConcurrentReads, Executor translationExecutor) {
+        checkArgument(fetchSize > 0, "fetchSize must be positive");
+        checkArgument(maxConcurrentReads > 0, "maxConcurrentReads must be positive");
+        checkNotNull(translationExecutor, "translationExecutor must not be null");
+
+        Session session = cassandraTemplate.getSession();
+        return new CassandraEventRetriever(
+                session,
+                EventSelectStatements.using(session, parameterReader.getTableName()),
+                parameterReader,
+                fetchSize,
+                new Semaphore(maxConcurrentReads),
+                translationExecutor);
+    }
 
-        return results;
+    private final Session session;
+    private final EventSelectStatements selectStatements;
+    private final ParameterReader parameterReader;
+    private final int fetchSize;
+    private final Semaphore concurrentReadPermits;
+    private final Executor translationExecutor;
+
+    private CassandraEventRetriever(Session session, EventSelectStatements selectStatements, ParameterReader parameterReader, int fetchSize, Semaphore concurrentReadPermits, Executor translationExecutor) {
+        this.session = session;
+        this.selectStatements = selectStatements;
+        this.parameterReader = parameterReader;
+        this.fetchSize = fetchSize;
+        this.concurrentReadPermits = concurrentReadPermits;
+        this.translationExecutor = translationExecutor;
     }
 
     @Override
-    public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
-        final Select select = selectFromEvent();
-
-        select.where(QueryBuilder.eq("aggregateType", aggregateType))
-                .and(QueryBuilder.in("aggregateId", aggregateIds.stream().collect(Collectors.toList())));
-
-        constrainTimeRange(timeRange, select);
-
-        Map<AggregateId, List<Event>> results = new HashMap<>();
-        Consumer<Event> addToResults = event -> results.computeIfAbsent(event.getAggregateId(), id -> new LinkedList<>()).add(event);
-
-        runAndTranslate(matcher, select, addToResults);
-
-        return results;
+    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return streamEvents(matcher, aggregateId, timeRange).collect(Collectors.toList());
     }
 
-    private Consumer<TimeRangeBound> constrainUpperBound(Select select) {
-        return constrainBound(select, QueryBuilder::lte, QueryBuilder::lt);
+    @Override
+    public Stream<Event> streamEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return streamAndTranslate(matcher, selectStatements.select(aggregateId, timeRange, false));
     }
 
-    private Consumer<TimeRangeBound> constrainLowerBound(Select select) {
-        return constrainBound(select, QueryBuilder::gte, QueryBuilder::gt);
+    @Override
+    public Stream<Event> streamEventsAscending(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return streamAndTranslate(matcher, selectStatements.select(aggregateId, timeRange, true));
     }
 
-    private Consumer<TimeRangeBound> constrainBound(
-            Select select,
-            BiFunction<String, Long, Clause> inclusive,
-            BiFunction<String, Long, Clause> exclusive) {
-        return bound -> select.where((bound.isInclusive() ? inclusive : exclusive).apply("eventTimestamp", bound.getInstant().toEpochMilli()));
+    private Stream<Event> streamAndTranslate(EventTypeMatcher matcher, Statement statement) {
+        statement.setFetchSize(fetchSize);
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+
+        return StreamSupport.stream(session.execute(statement).spliterator(), false)
+                .map(eventTranslator::translate)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
     }
 
-    private void runAndTranslate(EventTypeMatcher matcher, Select select, Consumer<Event> addToResults) {
-        EventTranslator eventTranslator = EventTranslator.using(matcher, deserialiser, addToResults);
-        cassandraTemplate.query(select, eventTranslator);
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return streamEvents(matcher, aggregateId, cursor.toTimeRange())
+                .filter(cursor::precedes)
+                .collect(Collectors.toList());
     }
 
-    private void constrainTimeRange(TimeRange timeRange, Select select) {
-        timeRange.getUpperBound().ifPresent(constrainUpperBound(select));
-        timeRange.getLowerBound().ifPresent(constrainLowerBound(select));
+    @Override
+    public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+        Map<AggregateId, List<Event>> results = new ConcurrentHashMap<>();
+
+        CompletableFuture<?>[] reads = aggregateIds.stream()
+                .distinct()
+                .map(id -> AggregateId.of(aggregateType, id))
+                .map(aggregateId -> readAsync(selectStatements.select(aggregateId, timeRange, false), eventTranslator)
+                        .thenAccept(events -> {
+                            if (!events.isEmpty()) {
+                                results.put(aggregateId, events);
+                            }
+                        }))
+                .toArray(CompletableFuture<?>[]::new);
+
+        CompletableFuture.allOf(reads).join();
+
+        return results;
     }
 
-    private Select selectFromEvent() {
-        return QueryBuilder.select(
-                "aggregateType", "aggregateId", "eventTimestamp", "streamId",
-                "processingId", "name", "version", "parameters", "characteristics")
-                .from("Event");
+    private CompletableFuture<List<Event>> readAsync(Statement statement, EventTranslator eventTranslator) {
+        statement.setFetchSize(fetchSize);
+        List<Event> events = new ArrayList<>();
+
+        concurrentReadPermits.acquireUninterruptibly();
+        try {
+            return ResultSetFutures.forEachRow(
+                    session.executeAsync(statement),
+                    row -> eventTranslator.translate(row).ifPresent(events::add),
+                    translationExecutor)
+                    .whenComplete((done, e) -> concurrentReadPermits.release())
+                    .thenApply(done -> events);
+        } catch (RuntimeException e) {
+            concurrentReadPermits.release();
+            throw e;
+        }
     }
 }
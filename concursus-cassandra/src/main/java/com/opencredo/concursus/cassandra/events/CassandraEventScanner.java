@@ -0,0 +1,182 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.Token;
+import com.datastax.driver.core.TokenRange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.channels.EventsOutChannel;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Scans an entire event table in parallel, for bulk replay of all event histories (e.g. when rebuilding a
+ * projection). The token ring is divided into ranges, and each range is read by a separate task on the supplied
+ * {@link Executor}. Each aggregate's events are delivered together to an {@link EventsOutChannel}, in time-descending
+ * order.
+ */
+public final class CassandraEventScanner {
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Create a {@link CassandraEventScanner} that scans the Event table using the supplied {@link CassandraTemplate}
+     * and {@link ObjectMapper}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise event data.
+     * @param executor The {@link Executor} on which to scan token ranges.
+     * @param splitsPerTokenRange The number of sub-ranges into which each of the cluster's token ranges is split.
+     * @return The constructed {@link CassandraEventScanner}.
+     */
+    public static CassandraEventScanner create(CassandraTemplate cassandraTemplate, ObjectMapper objectMapper, Executor executor, int splitsPerTokenRange) {
+        return create(cassandraTemplate, JsonDeserialiser.using(objectMapper), executor, splitsPerTokenRange, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Create a {@link CassandraEventScanner} that scans the Event table using the supplied {@link CassandraTemplate}
+     * and deserialising {@link BiFunction}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param deserialiser The deserialiser to use to deserialise event data.
+     * @param executor The {@link Executor} on which to scan token ranges.
+     * @param splitsPerTokenRange The number of sub-ranges into which each of the cluster's token ranges is split.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @return The constructed {@link CassandraEventScanner}.
+     */
+    public static CassandraEventScanner create(CassandraTemplate cassandraTemplate, BiFunction<String, Type, Object> deserialiser, Executor executor, int splitsPerTokenRange, int fetchSize) {
+        return create(cassandraTemplate, ParameterReader.json(deserialiser), executor, splitsPerTokenRange, fetchSize);
+    }
+
+    /**
+     * Create a {@link CassandraEventScanner} that scans the CompactEvent table using the supplied
+     * {@link CassandraTemplate}, decoding event data with the supplied {@link BinaryParameterCodec}.
+     * @param cassandraTemplate The {@link CassandraTemplate} whose session will be used to execute Cassandra queries.
+     * @param codec The {@link BinaryParameterCodec} to use to decode event data.
+     * @param executor The {@link Executor} on which to scan token ranges.
+     * @param splitsPerTokenRange The number of sub-ranges into which each of the cluster's token ranges is split.
+     * @param fetchSize The number of rows to fetch in each page.
+     * @return The constructed {@link CassandraEventScanner}.
+     */
+    public static CassandraEventScanner create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec, Executor executor, int splitsPerTokenRange, int fetchSize) {
+        return create(cassandraTemplate, ParameterReader.binary(codec), executor, splitsPerTokenRange, fetchSize);
+    }
+
+    private static CassandraEventScanner create(CassandraTemplate cassandraTemplate, ParameterReader parameterReader, Executor executor, int splitsPerTokenRange, int fetchSize) {
+        checkNotNull(executor, "executor must not be null");
+        checkArgument(splitsPerTokenRange > 0, "splitsPerTokenRange must be positive");
+        checkArgument(fetchSize > 0, "fetchSize must be positive");
+
+        Session session = cassandraTemplate.getSession();
+        String selectFromTable =
+                "SELECT aggregateType, aggregateId, eventTimestamp, streamId, processingId, name, version, parameters, characteristics " +
+                        "FROM " + parameterReader.getTableName() + " WHERE ";
+
+        return new CassandraEventScanner(
+                session,
+                session.prepare(selectFromTable + "token(aggregateType, aggregateId) > ? AND token(aggregateType, aggregateId) <= ?"),
+                session.prepare(selectFromTable + "token(aggregateType, aggregateId) > ?"),
+                session.prepare(selectFromTable + "token(aggregateType, aggregateId) <= ?"),
+                parameterReader,
+                executor,
+                splitsPerTokenRange,
+                fetchSize);
+    }
+
+    private final Session session;
+    private final PreparedStatement selectInRange;
+    private final PreparedStatement selectAfter;
+    private final PreparedStatement selectUpTo;
+    private final ParameterReader parameterReader;
+    private final Executor executor;
+    private final int splitsPerTokenRange;
+    private final int fetchSize;
+
+    private CassandraEventScanner(Session session, PreparedStatement selectInRange, PreparedStatement selectAfter, PreparedStatement selectUpTo, ParameterReader parameterReader, Executor executor, int splitsPerTokenRange, int fetchSize) {
+        this.session = session;
+        this.selectInRange = selectInRange;
+        this.selectAfter = selectAfter;
+        this.selectUpTo = selectUpTo;
+        this.parameterReader = parameterReader;
+        this.executor = executor;
+        this.splitsPerTokenRange = splitsPerTokenRange;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Scan all events matched by the supplied {@link EventTypeMatcher}, passing each aggregate's events to the supplied
+     * {@link EventsOutChannel}. The channel will be called concurrently from multiple scanning tasks, and must be
+     * thread-safe.
+     * @param matcher The {@link EventTypeMatcher} to use to select and deserialise events.
+     * @param outChannel The {@link EventsOutChannel} to send each aggregate's events to.
+     * @return A {@link CompletableFuture} which completes when all token ranges have been scanned, or completes
+     * exceptionally if scanning any range fails.
+     */
+    public CompletableFuture<Void> scan(EventTypeMatcher matcher, EventsOutChannel outChannel) {
+        checkNotNull(matcher, "matcher must not be null");
+        checkNotNull(outChannel, "outChannel must not be null");
+
+        EventTranslator eventTranslator = EventTranslator.using(matcher, parameterReader);
+
+        CompletableFuture<?>[] scans = session.getCluster().getMetadata().getTokenRanges().stream()
+                .flatMap(tokenRange -> tokenRange.splitEvenly(splitsPerTokenRange).stream())
+                .flatMap(this::getStatements)
+                .map(statement -> CompletableFuture.runAsync(() -> scan(statement, eventTranslator, outChannel), executor))
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(scans);
+    }
+
+    private Stream<Statement> getStatements(TokenRange tokenRange) {
+        Token start = tokenRange.getStart();
+        Token end = tokenRange.getEnd();
+
+        if (start.compareTo(end) < 0) {
+            return Stream.of(selectInRange.bind().setToken(0, start).setToken(1, end));
+        }
+
+        // The range wraps around the end of the ring, so read either side of the wrap separately.
+        return Stream.of(
+                selectAfter.bind().setToken(0, start),
+                selectUpTo.bind().setToken(0, end));
+    }
+
+    private void scan(Statement statement, EventTranslator eventTranslator, EventsOutChannel outChannel) {
+        statement.setFetchSize(fetchSize);
+
+        AggregateId currentAggregateId = null;
+        List<Event> currentEvents = new ArrayList<>();
+
+        for (Row row : session.execute(statement)) {
+            AggregateId aggregateId = EventTranslator.getAggregateId(row);
+            if (!aggregateId.equals(currentAggregateId)) {
+                flush(currentEvents, outChannel);
+                currentEvents = new ArrayList<>();
+                currentAggregateId = aggregateId;
+            }
+            eventTranslator.translate(row).ifPresent(currentEvents::add);
+        }
+
+        flush(currentEvents, outChannel);
+    }
+
+    private void flush(List<Event> events, EventsOutChannel outChannel) {
+        if (!events.isEmpty()) {
+            outChannel.accept(events);
+        }
+    }
+
+}
@@ -47,4 +47,18 @@ public final class CassandraEventStore {
         );
     }
 
+    /**
+     * Create an {@link EventStore} that persists and retrieves {@link Event}s using the CompactEvent table in
+     * Cassandra, which stores each event's data as a single binary value.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to perform queries against Cassandra.
+     * @param codec The {@link BinaryParameterCodec} to use to encode and decode {@link com.opencredo.concursus.data.tuples.Tuple} data.
+     * @return The constructed {@link EventStore}
+     */
+    public static EventStore create(CassandraTemplate cassandraTemplate, BinaryParameterCodec codec) {
+        return ComposedEventStore.create(
+                CassandraEventPersister.create(cassandraTemplate, codec, BatchWriteMode.PER_PARTITION),
+                CassandraEventRetriever.create(cassandraTemplate, codec)
+        );
+    }
+
 }
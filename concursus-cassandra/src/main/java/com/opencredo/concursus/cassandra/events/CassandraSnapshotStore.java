@@ -0,0 +1,105 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.snapshots.SnapshotStore;
+import com.opencredo.concursus.domain.events.snapshots.StateSnapshot;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SnapshotStore} that stores snapshots in the StateSnapshot table, clustered in descending timestamp order
+ * within each aggregate's partition, so that the latest snapshot before a given moment is read with a single-row slice.
+ * The slices for several aggregates are queried concurrently.
+ * Timestamps are stored to millisecond precision.
+ */
+public final class CassandraSnapshotStore implements SnapshotStore {
+
+    /**
+     * Create a {@link SnapshotStore} that stores snapshots in Cassandra using the supplied {@link CassandraTemplate}.
+     * @param cassandraTemplate The {@link CassandraTemplate} to use to execute Cassandra queries.
+     * @return The constructed {@link SnapshotStore}.
+     */
+    public static SnapshotStore create(CassandraTemplate cassandraTemplate) {
+        checkNotNull(cassandraTemplate, "cassandraTemplate must not be null");
+
+        Session session = cassandraTemplate.getSession();
+        return new CassandraSnapshotStore(
+                session,
+                session.prepare("INSERT INTO " + EventTables.STATE_SNAPSHOT +
+                        " (aggregateType, aggregateId, eventTimestamp, streamId, processingId, state) VALUES (?, ?, ?, ?, ?, ?)"),
+                session.prepare("SELECT eventTimestamp, streamId, processingId, state FROM " + EventTables.STATE_SNAPSHOT +
+                        " WHERE aggregateType = ? AND aggregateId = ? AND eventTimestamp < ? LIMIT 1"));
+    }
+
+    private final Session session;
+    private final PreparedStatement insertStatement;
+    private final PreparedStatement selectLatestStatement;
+
+    private CassandraSnapshotStore(Session session, PreparedStatement insertStatement, PreparedStatement selectLatestStatement) {
+        this.session = session;
+        this.insertStatement = insertStatement;
+        this.selectLatestStatement = selectLatestStatement;
+    }
+
+    @Override
+    public void put(StateSnapshot snapshot) {
+        checkNotNull(snapshot, "snapshot must not be null");
+
+        StreamTimestamp eventTimestamp = snapshot.getCursor().getEventTimestamp();
+        session.execute(insertStatement.bind(
+                snapshot.getAggregateId().getType(),
+                snapshot.getAggregateId().getId(),
+                Date.from(eventTimestamp.getTimestamp()),
+                eventTimestamp.getStreamId(),
+                snapshot.getCursor().getProcessingId().orElse(null),
+                snapshot.getState()));
+    }
+
+    @Override
+    public Optional<StateSnapshot> getLatest(AggregateId aggregateId, Instant upTo) {
+        return toSnapshot(aggregateId, session.execute(selectLatest(aggregateId, upTo)).one());
+    }
+
+    @Override
+    public Map<AggregateId, StateSnapshot> getLatest(Collection<AggregateId> aggregateIds, Instant upTo) {
+        Map<AggregateId, ResultSetFuture> results = new LinkedHashMap<>();
+        aggregateIds.forEach(aggregateId -> results.put(aggregateId, session.executeAsync(selectLatest(aggregateId, upTo))));
+
+        Map<AggregateId, StateSnapshot> latest = new HashMap<>();
+        results.forEach((aggregateId, result) ->
+                toSnapshot(aggregateId, result.getUninterruptibly().one()).ifPresent(snapshot -> latest.put(aggregateId, snapshot)));
+        return latest;
+    }
+
+    private Statement selectLatest(AggregateId aggregateId, Instant upTo) {
+        return selectLatestStatement.bind(
+                aggregateId.getType(),
+                aggregateId.getId(),
+                Date.from(upTo));
+    }
+
+    private static Optional<StateSnapshot> toSnapshot(AggregateId aggregateId, Row row) {
+        return Optional.ofNullable(row).map(r -> StateSnapshot.of(
+                aggregateId,
+                EventCursor.of(
+                        StreamTimestamp.of(r.getString("streamId"), r.getDate("eventTimestamp").toInstant()),
+                        Optional.ofNullable(r.getUUID("processingId"))),
+                r.getString("state")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.PagingState;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A position within a {@link CassandraAggregateCatalogue}, from which paged retrieval of aggregate ids can be resumed.
+ * A cursor can be converted to a string with {@link #toString()} and restored with {@link #parse(String)}, so that
+ * long-running jobs can save their progress and resume it later.
+ */
+public final class CatalogueCursor {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Get a cursor positioned at the start of the catalogue.
+     * @return The constructed {@link CatalogueCursor}.
+     */
+    public static CatalogueCursor start() {
+        return new CatalogueCursor(0, null);
+    }
+
+    /**
+     * Restore a cursor from the string form returned by {@link #toString()}.
+     * @param serialised The string form of the cursor.
+     * @return The restored {@link CatalogueCursor}.
+     */
+    public static CatalogueCursor parse(String serialised) {
+        checkNotNull(serialised, "serialised must not be null");
+
+        int separatorIndex = serialised.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            return at(Integer.parseInt(serialised), null);
+        }
+
+        return at(
+                Integer.parseInt(serialised.substring(0, separatorIndex)),
+                PagingState.fromString(serialised.substring(separatorIndex + 1)));
+    }
+
+    static CatalogueCursor at(int bucket, PagingState pagingState) {
+        checkArgument(bucket >= 0, "bucket must not be negative");
+
+        return new CatalogueCursor(bucket, pagingState);
+    }
+
+    private final int bucket;
+    private final PagingState pagingState;
+
+    private CatalogueCursor(int bucket, PagingState pagingState) {
+        this.bucket = bucket;
+        this.pagingState = pagingState;
+    }
+
+    int getBucket() {
+        return bucket;
+    }
+
+    Optional<PagingState> getPagingState() {
+        return Optional.ofNullable(pagingState);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o ||
+                (o instanceof CatalogueCursor && toString().equals(o.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(toString());
+    }
+
+    @Override
+    public String toString() {
+        return pagingState == null
+                ? Integer.toString(bucket)
+                : bucket + SEPARATOR + pagingState;
+    }
+}
@@ -0,0 +1,57 @@
+package com.opencredo.concursus.cassandra.events;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A page of aggregate ids retrieved from a {@link CassandraAggregateCatalogue}, together with the
+ * {@link CatalogueCursor} from which the next page can be retrieved.
+ */
+public final class CataloguePage {
+
+    static CataloguePage of(List<String> aggregateIds, Optional<CatalogueCursor> nextCursor) {
+        checkNotNull(aggregateIds, "aggregateIds must not be null");
+        checkNotNull(nextCursor, "nextCursor must not be null");
+
+        return new CataloguePage(aggregateIds, nextCursor);
+    }
+
+    private final List<String> aggregateIds;
+    private final Optional<CatalogueCursor> nextCursor;
+
+    private CataloguePage(List<String> aggregateIds, Optional<CatalogueCursor> nextCursor) {
+        this.aggregateIds = aggregateIds;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the aggregate ids in this page.
+     * @return The aggregate ids.
+     */
+    public List<String> getAggregateIds() {
+        return aggregateIds;
+    }
+
+    /**
+     * Get the cursor from which the next page can be retrieved.
+     * @return The cursor, or {@link Optional#empty()} if this is the last page.
+     */
+    public Optional<CatalogueCursor> getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Test whether this is the last page in the catalogue.
+     * @return True if there are no more pages to retrieve.
+     */
+    public boolean isLast() {
+        return !nextCursor.isPresent();
+    }
+
+    @Override
+    public String toString() {
+        return aggregateIds + " (next: " + nextCursor.map(CatalogueCursor::toString).orElse("none") + ")";
+    }
+}
@@ -0,0 +1,81 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.opencredo.concursus.domain.events.Event;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Binds {@link Event}s to prepared insert statements against an event table.
+ */
+final class EventInsertStatements {
+
+    static EventInsertStatements prepare(Session session, ParameterWriter parameterWriter) {
+        return new EventInsertStatements(session.prepare(
+                "INSERT INTO " + parameterWriter.getTableName() +
+                        " (aggregateType, aggregateId, eventTimestamp, streamId, processingId, name, version, parameters, characteristics) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+                parameterWriter);
+    }
+
+    private final PreparedStatement preparedStatement;
+    private final ParameterWriter parameterWriter;
+
+    private EventInsertStatements(PreparedStatement preparedStatement, ParameterWriter parameterWriter) {
+        this.preparedStatement = preparedStatement;
+        this.parameterWriter = parameterWriter;
+    }
+
+    List<Statement> insert(Collection<Event> events, BatchWriteMode writeMode) {
+        switch (writeMode) {
+            case LOGGED:
+                return Collections.singletonList(insert(events, BatchStatement.Type.LOGGED));
+            case PER_PARTITION:
+                return events.stream()
+                        .collect(groupingBy(Event::getAggregateId, LinkedHashMap::new, toList()))
+                        .values().stream()
+                        .map(partitionEvents -> insert(partitionEvents, BatchStatement.Type.UNLOGGED))
+                        .collect(toList());
+            default:
+                throw new IllegalArgumentException("Unsupported write mode " + writeMode);
+        }
+    }
+
+    private Statement insert(Collection<Event> events, BatchStatement.Type batchType) {
+        if (events.size() == 1) {
+            return insert(events.iterator().next());
+        }
+
+        BatchStatement batch = new BatchStatement(batchType);
+        events.stream().map(this::insert).forEach(batch::add);
+        return batch;
+    }
+
+    private Statement insert(Event event) {
+        return preparedStatement.bind(getBindArguments(event));
+    }
+
+    private Object[] getBindArguments(Event event) {
+        return new Object[] {
+                event.getAggregateId().getType(),
+                event.getAggregateId().getId(),
+                Date.from(event.getEventTimestamp().getTimestamp()),
+                event.getEventTimestamp().getStreamId(),
+                event.getProcessingId().orElseThrow(() -> new IllegalArgumentException("Event has no processing id")),
+                event.getEventName().getName(),
+                event.getEventName().getVersion(),
+                parameterWriter.write(event.getParameters()),
+                event.getCharacteristics()
+        };
+    }
+}
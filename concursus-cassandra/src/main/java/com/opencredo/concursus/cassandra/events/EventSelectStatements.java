@@ -0,0 +1,96 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.time.TimeRange;
+import com.opencredo.concursus.domain.time.TimeRangeBound;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Binds single-aggregate selects against an event table. One statement is prepared, on first use, for each
+ * combination of time range bounds and ordering, so that queries are not re-parsed by Cassandra on every read, and
+ * carry the routing key that token-aware load balancing needs to send them directly to a replica.
+ */
+final class EventSelectStatements {
+
+    private static final int BUCKET_ARGUMENT_INDEX = 2;
+
+    static EventSelectStatements using(Session session, String tableName) {
+        return new EventSelectStatements(session, tableName);
+    }
+
+    private final Session session;
+    private final String tableName;
+    private final Map<String, PreparedStatement> preparedStatements = new ConcurrentHashMap<>();
+
+    private EventSelectStatements(Session session, String tableName) {
+        this.session = session;
+        this.tableName = tableName;
+    }
+
+    BoundStatement select(AggregateId aggregateId, TimeRange timeRange, boolean ascending) {
+        StringBuilder cql = new StringBuilder(
+                "SELECT aggregateType, aggregateId, eventTimestamp, streamId, processingId, name, version, parameters, characteristics " +
+                        "FROM " + tableName + " WHERE aggregateType = ? AND aggregateId = ?");
+        List<Object> bindArguments = new ArrayList<>();
+        bindArguments.add(aggregateId.getType());
+        bindArguments.add(aggregateId.getId());
+
+        return select(cql, bindArguments, timeRange, ascending);
+    }
+
+    /**
+     * Prepare a select against a bucketed event table, returning a function which binds it for a given bucket. The
+     * statement is prepared immediately, so that the returned function may be applied on a driver callback thread.
+     */
+    Function<Instant, BoundStatement> selectInBucket(AggregateId aggregateId, TimeRange timeRange, boolean ascending) {
+        StringBuilder cql = new StringBuilder(
+                "SELECT aggregateType, aggregateId, eventTimestamp, streamId, processingId, name, version, parameters, characteristics " +
+                        "FROM " + tableName + " WHERE aggregateType = ? AND aggregateId = ? AND bucket = ?");
+        List<Object> bindArguments = new ArrayList<>();
+        bindArguments.add(aggregateId.getType());
+        bindArguments.add(aggregateId.getId());
+        bindArguments.add(null);
+
+        PreparedStatement preparedStatement = prepare(cql, bindArguments, timeRange, ascending);
+
+        return bucket -> {
+            Object[] arguments = bindArguments.toArray();
+            arguments[BUCKET_ARGUMENT_INDEX] = Date.from(bucket);
+            return preparedStatement.bind(arguments);
+        };
+    }
+
+    private BoundStatement select(StringBuilder cql, List<Object> bindArguments, TimeRange timeRange, boolean ascending) {
+        return prepare(cql, bindArguments, timeRange, ascending).bind(bindArguments.toArray());
+    }
+
+    private PreparedStatement prepare(StringBuilder cql, List<Object> bindArguments, TimeRange timeRange, boolean ascending) {
+        constrain(timeRange.getLowerBound(), " AND eventTimestamp >= ?", " AND eventTimestamp > ?", cql, bindArguments);
+        constrain(timeRange.getUpperBound(), " AND eventTimestamp <= ?", " AND eventTimestamp < ?", cql, bindArguments);
+
+        if (ascending) {
+            cql.append(" ORDER BY eventTimestamp ASC");
+        }
+
+        return preparedStatements.computeIfAbsent(cql.toString(), session::prepare);
+    }
+
+    private void constrain(Optional<TimeRangeBound> bound, String inclusive, String exclusive, StringBuilder cql, List<Object> bindArguments) {
+        bound.ifPresent(b -> {
+            cql.append(b.isInclusive() ? inclusive : exclusive);
+            bindArguments.add(Date.from(b.getInstant()));
+        });
+    }
+
+}
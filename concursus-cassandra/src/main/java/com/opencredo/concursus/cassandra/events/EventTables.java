@@ -0,0 +1,35 @@
+package com.opencredo.concursus.cassandra.events;
+
+/**
+ * The names of the tables in which events, and the states built from them, are stored.
+ */
+final class EventTables {
+
+    /**
+     * Events with parameters stored as a map of JSON strings.
+     */
+    static final String EVENT = "Event";
+
+    /**
+     * Events with parameters stored as a single blob encoded by a {@link BinaryParameterCodec}.
+     */
+    static final String COMPACT_EVENT = "CompactEvent";
+
+    /**
+     * Events with parameters stored as a map of JSON strings, partitioned by time bucket as well as aggregate id.
+     */
+    static final String BUCKETED_EVENT = "BucketedEvent";
+
+    /**
+     * The time buckets which hold events for each aggregate.
+     */
+    static final String EVENT_BUCKET = "EventBucket";
+
+    /**
+     * Serialised aggregate states, with the position in each aggregate's history that they cover.
+     */
+    static final String STATE_SNAPSHOT = "StateSnapshot";
+
+    private EventTables() {
+    }
+}
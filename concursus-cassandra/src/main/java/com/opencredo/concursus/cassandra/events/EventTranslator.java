@@ -10,14 +10,10 @@ import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.EventType;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 import com.opencredo.concursus.domain.time.StreamTimestamp;
-import org.springframework.cassandra.core.RowCallbackHandler;
 
-import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Consumer;
+import java.util.Optional;
 
-final class EventTranslator implements RowCallbackHandler {
+final class EventTranslator {
 
     private static final int AGGREGATE_TYPE = 0;
     private static final int AGGREGATE_ID = 1;
@@ -29,22 +25,23 @@ final class EventTranslator implements RowCallbackHandler {
     private static final int PARAMETERS = 7;
     private static final int CHARACTERISTICS = 8;
 
-    static EventTranslator using(EventTypeMatcher matcher, BiFunction<String, Type, Object> deserialiser, Consumer<Event> eventCollector) {
-        return new EventTranslator(matcher, deserialiser, eventCollector);
+    static EventTranslator using(EventTypeMatcher matcher, ParameterReader parameterReader) {
+        return new EventTranslator(matcher, parameterReader);
     }
 
     private final EventTypeMatcher matcher;
-    private final BiFunction<String, Type, Object> deserialiser;
-    private final Consumer<Event> eventCollector;
+    private final ParameterReader parameterReader;
 
-    private EventTranslator(EventTypeMatcher matcher, BiFunction<String, Type, Object> deserialiser, Consumer<Event> eventCollector) {
+    private EventTranslator(EventTypeMatcher matcher, ParameterReader parameterReader) {
         this.matcher = matcher;
-        this.deserialiser = deserialiser;
-        this.eventCollector = eventCollector;
+        this.parameterReader = parameterReader;
     }
 
-    @Override
-    public void processRow(Row row) throws DriverException {
+    static AggregateId getAggregateId(Row row) {
+        return AggregateId.of(row.getString(AGGREGATE_TYPE), row.getString(AGGREGATE_ID));
+    }
+
+    Optional<Event> translate(Row row) throws DriverException {
         String aggregateType = row.getString(AGGREGATE_TYPE);
         String name = row.getString(EVENT_NAME);
         String version = row.getString(EVENT_VERSION);
@@ -52,24 +49,19 @@ final class EventTranslator implements RowCallbackHandler {
         VersionedName versionedName = VersionedName.of(name, version);
         EventType eventType = EventType.of(aggregateType, versionedName);
 
-        matcher.match(eventType).ifPresent(tupleSchema -> {
-            createEvent(row, aggregateType, versionedName, tupleSchema);
-        });
+        return matcher.match(eventType).map(tupleSchema -> createEvent(row, aggregateType, versionedName, tupleSchema));
     }
 
-    private void createEvent(Row row, String aggregateType, VersionedName versionedName, TupleSchema tupleSchema) {
-        Map<String, String> parameterData = row.getMap(PARAMETERS, String.class, String.class);
-        Tuple parameters = tupleSchema.deserialise(deserialiser, parameterData);
+    private Event createEvent(Row row, String aggregateType, VersionedName versionedName, TupleSchema tupleSchema) {
+        Tuple parameters = parameterReader.read(tupleSchema, row, PARAMETERS);
 
-        Event event = Event.of(
+        return Event.of(
                 AggregateId.of(aggregateType, row.getString(AGGREGATE_ID)),
                 StreamTimestamp.of(row.getString(STREAM_ID), row.getDate(EVENT_TIMESTAMP).toInstant()),
                 row.getUUID(PROCESSING_ID),
                 versionedName,
                 parameters,
                 row.getInt(CHARACTERISTICS));
-
-        eventCollector.accept(event);
     }
 
 }
@@ -0,0 +1,46 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.Row;
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+
+import java.lang.reflect.Type;
+import java.util.function.BiFunction;
+
+/**
+ * Reads event parameters from the parameters column of an event table.
+ */
+final class ParameterReader {
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Tuple read(TupleSchema schema, Row row, int column);
+    }
+
+    static ParameterReader json(BiFunction<String, Type, Object> deserialiser) {
+        return new ParameterReader(EventTables.EVENT, (schema, row, column) ->
+                schema.deserialise(deserialiser, row.getMap(column, String.class, String.class)));
+    }
+
+    static ParameterReader binary(BinaryParameterCodec codec) {
+        return new ParameterReader(EventTables.COMPACT_EVENT, (schema, row, column) ->
+                codec.decode(schema, row.getBytes(column)));
+    }
+
+    private final String tableName;
+    private final ColumnReader reader;
+
+    private ParameterReader(String tableName, ColumnReader reader) {
+        this.tableName = tableName;
+        this.reader = reader;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    Tuple read(TupleSchema schema, Row row, int column) {
+        return reader.read(schema, row, column);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.opencredo.concursus.data.tuples.Tuple;
+
+import java.util.function.Function;
+
+/**
+ * Converts event parameters into the value stored in the parameters column of an event table.
+ */
+final class ParameterWriter {
+
+    static ParameterWriter json(Function<Object, String> serialiser) {
+        return new ParameterWriter(EventTables.EVENT, parameters -> parameters.serialise(serialiser));
+    }
+
+    static ParameterWriter binary(BinaryParameterCodec codec) {
+        return new ParameterWriter(EventTables.COMPACT_EVENT, codec::encode);
+    }
+
+    private final String tableName;
+    private final Function<Tuple, Object> writer;
+
+    private ParameterWriter(String tableName, Function<Tuple, Object> writer) {
+        this.tableName = tableName;
+        this.writer = writer;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    Object write(Tuple parameters) {
+        return writer.apply(parameters);
+    }
+
+}
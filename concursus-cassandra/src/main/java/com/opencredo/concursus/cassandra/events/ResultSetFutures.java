@@ -0,0 +1,73 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Adapts the driver's {@link com.datastax.driver.core.ResultSetFuture}s to {@link CompletableFuture}s.
+ */
+final class ResultSetFutures {
+
+    private ResultSetFutures() {
+    }
+
+    static CompletableFuture<ResultSet> toCompletableFuture(ListenableFuture<ResultSet> resultSetFuture) {
+        CompletableFuture<ResultSet> result = new CompletableFuture<>();
+
+        Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet resultSet) {
+                result.complete(resultSet);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Pass every row of the result set to the supplied consumer, fetching further pages asynchronously. Each page's rows
+     * are consumed on the supplied {@link Executor}, rather than on the driver's I/O thread which completed the fetch,
+     * so that translating rows never holds up other requests on the same connection.
+     */
+    static CompletableFuture<Void> forEachRow(ListenableFuture<ResultSet> resultSetFuture, Consumer<Row> rowConsumer, Executor executor) {
+        return toCompletableFuture(resultSetFuture)
+                .thenComposeAsync(resultSet -> forEachRow(resultSet, rowConsumer, executor), executor);
+    }
+
+    private static CompletableFuture<Void> forEachRow(ResultSet resultSet, Consumer<Row> rowConsumer, Executor executor) {
+        for (int available = resultSet.getAvailableWithoutFetching(); available > 0; available--) {
+            rowConsumer.accept(resultSet.one());
+        }
+
+        if (resultSet.isFullyFetched()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> nextPage = new CompletableFuture<>();
+        Futures.addCallback(resultSet.fetchMoreResults(), new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object ignored) {
+                nextPage.complete(null);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                nextPage.completeExceptionally(throwable);
+            }
+        });
+
+        return nextPage.thenComposeAsync(fetched -> forEachRow(resultSet, rowConsumer, executor), executor);
+    }
+}
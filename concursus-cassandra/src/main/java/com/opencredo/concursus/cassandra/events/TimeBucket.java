@@ -0,0 +1,53 @@
+package com.opencredo.concursus.cassandra.events;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The length of the time buckets into which an aggregate's events are partitioned in the BucketedEvent table. Buckets
+ * are aligned to UTC, and identified by the instant at which they start.
+ */
+public enum TimeBucket {
+
+    /**
+     * One partition per aggregate per hour.
+     */
+    HOUR {
+        @Override
+        public Instant startOf(Instant instant) {
+            return instant.truncatedTo(ChronoUnit.HOURS);
+        }
+    },
+
+    /**
+     * One partition per aggregate per day.
+     */
+    DAY {
+        @Override
+        public Instant startOf(Instant instant) {
+            return instant.truncatedTo(ChronoUnit.DAYS);
+        }
+    },
+
+    /**
+     * One partition per aggregate per calendar month.
+     */
+    MONTH {
+        @Override
+        public Instant startOf(Instant instant) {
+            return ZonedDateTime.ofInstant(instant, ZoneOffset.UTC)
+                    .withDayOfMonth(1)
+                    .truncatedTo(ChronoUnit.DAYS)
+                    .toInstant();
+        }
+    };
+
+    /**
+     * Get the start of the bucket containing the supplied {@link Instant}.
+     * @param instant The {@link Instant} to find the bucket for.
+     * @return The start of the bucket.
+     */
+    public abstract Instant startOf(Instant instant);
+}
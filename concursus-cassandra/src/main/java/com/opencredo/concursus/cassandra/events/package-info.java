@@ -1,9 +1,18 @@
 /**
  * This package provides Cassandra implementations of the
  * {@link com.opencredo.concursus.domain.events.persisting.EventPersister},
+ * {@link com.opencredo.concursus.domain.events.persisting.AsyncEventPersister},
  * {@link com.opencredo.concursus.domain.events.sourcing.EventRetriever},
  * {@link com.opencredo.concursus.domain.events.cataloguing.AggregateCatalogue} and
  * {@link com.opencredo.concursus.domain.events.storage.EventStore} interfaces, for persisting and retrieving
- * event histories and keeping track of "live" aggregates.
+ * event histories and keeping track of "live" aggregates. {@link com.opencredo.concursus.cassandra.events.CassandraEventScanner}
+ * reads every event history in parallel, by token range, for bulk replay.
+ * {@link com.opencredo.concursus.cassandra.events.BucketedCassandraEventPersister} and
+ * {@link com.opencredo.concursus.cassandra.events.BucketedCassandraEventRetriever} split each aggregate's history into
+ * time-bucketed partitions, according to a {@link com.opencredo.concursus.cassandra.events.BucketingScheme}.
+ * {@link com.opencredo.concursus.cassandra.events.CassandraAggregateCatalogue} can be walked in resumable pages using a
+ * {@link com.opencredo.concursus.cassandra.events.CatalogueCursor}.
+ * {@link com.opencredo.concursus.cassandra.events.CassandraSnapshotStore} stores snapshots of aggregate states, for
+ * {@link com.opencredo.concursus.domain.events.snapshots.SnapshottingStateRepository}.
  */
 package com.opencredo.concursus.cassandra.events;
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.data.tuples.TupleSlot;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
+
+public class BinaryParameterCodecTest {
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final BinaryParameterCodec codec = BinaryParameterCodec.using(smileMapper);
+    private final TupleSchema schema = TupleSchema.of("person",
+            TupleSlot.of("name", String.class),
+            TupleSlot.of("age", Integer.class));
+    private final Tuple tuple = schema.makeWith("Arthur Putey", 42);
+
+    @Test
+    public void roundTripsTuples() {
+        assertThat(codec.decode(schema, codec.encode(tuple)), equalTo(tuple));
+    }
+
+    private <E extends RuntimeException> E decodeFailure(byte[] bytes, Class<E> expectedType) {
+        try {
+            codec.decode(schema, ByteBuffer.wrap(bytes));
+        } catch (RuntimeException e) {
+            assertThat(e, instanceOf(expectedType));
+            return expectedType.cast(e);
+        }
+        throw new AssertionError("Expected decoding to fail");
+    }
+
+    @Test
+    public void rejectsTruncatedInput() {
+        ByteBuffer encoded = codec.encode(tuple);
+        byte[] bytes = Arrays.copyOf(encoded.array(), encoded.remaining() - 1);
+
+        Throwable cause = decodeFailure(bytes, UncheckedIOException.class).getCause();
+
+        assertThat(cause, instanceOf(JsonParseException.class));
+        assertThat(cause.getMessage(), startsWith("Unexpected end-of-input: expected close marker for ARRAY"));
+    }
+
+    @Test
+    public void rejectsSlotCountWhichDiffersFromSchema() throws Exception {
+        byte[] bytes = smileMapper.writeValueAsBytes(Arrays.asList(3, "Arthur Putey", 42, "Art"));
+
+        assertThat(decodeFailure(bytes, IllegalArgumentException.class).getMessage(),
+                equalTo("Expected 2 values for schema " + schema + ", but 3 were encoded"));
+    }
+
+    @Test
+    public void rejectsValuesLeftOverAfterSchema() throws Exception {
+        byte[] bytes = smileMapper.writeValueAsBytes(Arrays.asList(2, "Arthur Putey", 42, "Art"));
+
+        assertThat(decodeFailure(bytes, IllegalArgumentException.class).getMessage(),
+                equalTo("Expected END_ARRAY in encoded parameters, but found VALUE_STRING"));
+    }
+
+    @Test
+    public void rejectsTrailingTokensAfterArray() throws Exception {
+        ByteBuffer encoded = codec.encode(tuple);
+        byte[] extra = new ObjectMapper(new SmileFactory().disable(SmileGenerator.Feature.WRITE_HEADER))
+                .writeValueAsBytes(Arrays.asList(1));
+        byte[] bytes = Arrays.copyOf(encoded.array(), encoded.remaining() + extra.length);
+        System.arraycopy(extra, 0, bytes, encoded.remaining(), extra.length);
+
+        assertThat(decodeFailure(bytes, IllegalArgumentException.class).getMessage(), equalTo("Unexpected START_ARRAY after encoded parameters"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.opencredo.concursus.cassandra.events;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+
+public class ResultSetFuturesTest {
+
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "io"));
+    private final ExecutorService translationExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "translation"));
+
+    private final Row row1 = mock(Row.class);
+    private final Row row2 = mock(Row.class);
+    private final Row row3 = mock(Row.class);
+    private final Row row4 = mock(Row.class);
+    private final Row row5 = mock(Row.class);
+
+    // Like the driver's result sets, fetches each further page on an I/O thread, and completes its future there.
+    private final class PagedResultSet implements ResultSet {
+        private final Deque<Row> available = new ArrayDeque<>();
+        private final Deque<List<Row>> unfetched = new ArrayDeque<>();
+
+        private PagedResultSet(List<List<Row>> pages) {
+            available.addAll(pages.get(0));
+            unfetched.addAll(pages.subList(1, pages.size()));
+        }
+
+        @Override
+        public int getAvailableWithoutFetching() {
+            return available.size();
+        }
+
+        @Override
+        public Row one() {
+            return available.poll();
+        }
+
+        @Override
+        public boolean isFullyFetched() {
+            return unfetched.isEmpty();
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return available.isEmpty() && unfetched.isEmpty();
+        }
+
+        @Override
+        public ListenableFuture<Void> fetchMoreResults() {
+            SettableFuture<Void> fetched = SettableFuture.create();
+            ioExecutor.execute(() -> {
+                available.addAll(unfetched.poll());
+                fetched.set(null);
+            });
+            return fetched;
+        }
+
+        @Override
+        public ColumnDefinitions getColumnDefinitions() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Row> all() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ExecutionInfo getExecutionInfo() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ExecutionInfo> getAllExecutionInfo() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean wasApplied() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @After
+    public void shutDown() {
+        ioExecutor.shutdown();
+        translationExecutor.shutdown();
+    }
+
+    @Test
+    public void consumesEveryPageOffTheIoThread() throws Exception {
+        ResultSet resultSet = new PagedResultSet(Arrays.asList(
+                Arrays.asList(row1, row2),
+                Arrays.asList(row3, row4),
+                Collections.singletonList(row5)));
+        SettableFuture<ResultSet> executed = SettableFuture.create();
+        ioExecutor.execute(() -> executed.set(resultSet));
+
+        List<Row> consumed = Collections.synchronizedList(new ArrayList<>());
+        Set<String> consumingThreads = ConcurrentHashMap.newKeySet();
+
+        ResultSetFutures.forEachRow(executed, row -> {
+            consumed.add(row);
+            consumingThreads.add(Thread.currentThread().getName());
+        }, translationExecutor).get(5, TimeUnit.SECONDS);
+
+        assertThat(consumed, equalTo(Arrays.asList(row1, row2, row3, row4, row5)));
+        assertThat(consumingThreads, equalTo(Collections.singleton("translation")));
+    }
+}
@@ -2,20 +2,30 @@ package com.opencredo.concursus.cassandra.events;
 
 import com.datastax.driver.core.Cluster;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.cataloguing.AggregateCatalogue;
 import com.opencredo.concursus.domain.events.dispatching.EventBus;
 import com.opencredo.concursus.domain.events.filtering.log.EventLogPostFilter;
+import com.opencredo.concursus.domain.events.logging.AsyncEventLog;
 import com.opencredo.concursus.domain.events.logging.EventLog;
+import com.opencredo.concursus.domain.events.processing.AsyncPublishingEventBatchProcessor;
 import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
+import com.opencredo.concursus.domain.events.snapshots.SnapshotStore;
+import com.opencredo.concursus.domain.events.snapshots.StateSnapshot;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
 import com.opencredo.concursus.domain.events.sourcing.EventSource;
+import com.opencredo.concursus.domain.events.storage.EventStore;
 import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
 import com.opencredo.concursus.mapping.annotations.HandlesEventsFor;
 import com.opencredo.concursus.mapping.annotations.Initial;
 import com.opencredo.concursus.mapping.annotations.Terminal;
 import com.opencredo.concursus.mapping.events.methods.dispatching.DispatchingCachedEventSource;
 import com.opencredo.concursus.mapping.events.methods.dispatching.DispatchingEventSourceFactory;
 import com.opencredo.concursus.mapping.events.methods.proxying.ProxyingEventBus;
+import com.opencredo.concursus.mapping.events.methods.reflection.EmitterInterfaceInfo;
 import org.cassandraunit.CassandraCQLUnit;
 import org.cassandraunit.dataset.cql.ClassPathCQLDataSet;
 import org.cassandraunit.utils.EmbeddedCassandraServerHelper;
@@ -25,13 +35,28 @@ import org.junit.*;
 import org.springframework.data.cassandra.core.CassandraTemplate;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
 
 public class RoundTripTest {
@@ -142,6 +167,245 @@ public class RoundTripTest {
         assertThat(aggregateCatalogue.getAggregateIds("person"), hasItems(personId2));
     }
 
+    @Test
+    public void writeBatchAcrossAggregatesAtomically() {
+        String personId1 = "id4";
+        String personId2 = "id5";
+        Instant start = Instant.now();
+
+        EventLog loggedBatchEventLog = EventLog.loggingTo(CassandraEventPersister.create(
+                new CassandraTemplate(cluster.connect("concursus")),
+                JsonSerialiser.using(objectMapper),
+                BatchWriteMode.LOGGED));
+
+        ProxyingEventBus.proxying(EventBus.processingWith(EventBatchProcessor.loggingWith(loggedBatchEventLog)))
+                .dispatch(PersonEvents.class, batch -> {
+                    batch.created(StreamTimestamp.of("test", start), personId1, "Arthur Putey", 41);
+                    batch.created(StreamTimestamp.of("test", start), personId2, "Arthur Dent", 32);
+                });
+
+        DispatchingCachedEventSource<PersonEvents> preloaded = eventSourceDispatching.dispatchingTo(PersonEvents.class)
+                .preload(personId1, personId2);
+
+        assertThat(preloaded.replaying(personId1).collectAll(eventSummariser()),
+                contains("Arthur Putey was created with age 41"));
+        assertThat(preloaded.replaying(personId2).collectAll(eventSummariser()),
+                contains("Arthur Dent was created with age 32"));
+    }
+
+    @Test
+    public void replayAcrossMultiplePages() {
+        String personId = "id6";
+        Instant start = Instant.now();
+
+        proxyingEventBus.dispatch(PersonEvents.class, batch -> {
+            batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 0);
+            for (int i = 1; i <= 10; i++) {
+                batch.updatedAge(StreamTimestamp.of("test", start.plusMillis(i)), personId, i);
+            }
+        });
+
+        EventRetriever pagingEventRetriever = CassandraEventRetriever.create(
+                new CassandraTemplate(cluster.connect("concursus")),
+                JsonDeserialiser.using(objectMapper),
+                3);
+        DispatchingEventSourceFactory pagingEventSource = DispatchingEventSourceFactory.dispatching(
+                EventSource.retrievingWith(pagingEventRetriever));
+
+        List<String> ascending = pagingEventSource.dispatchingTo(PersonEvents.class)
+                .replaying(personId).inAscendingOrder().collectAll(eventSummariser());
+        List<String> descending = pagingEventSource.dispatchingTo(PersonEvents.class)
+                .replaying(personId).collectAll(eventSummariser());
+
+        assertThat(ascending.size(), equalTo(11));
+        assertThat(ascending.get(0), equalTo("Arthur Putey was created with age 0"));
+        assertThat(ascending.get(10), equalTo("age was changed to 10"));
+        assertThat(descending.get(0), equalTo("age was changed to 10"));
+        assertThat(descending.get(10), equalTo("Arthur Putey was created with age 0"));
+
+        List<String> preloaded = pagingEventSource.dispatchingTo(PersonEvents.class)
+                .preload(personId, "id-without-events")
+                .replaying(personId).collectAll(eventSummariser());
+
+        assertThat(preloaded, equalTo(descending));
+
+        List<String> inRange = pagingEventSource.dispatchingTo(PersonEvents.class)
+                .replaying(personId, TimeRange.fromInclusive(start.plusMillis(5)).toExclusive(start.plusMillis(8)))
+                .inAscendingOrder()
+                .collectAll(eventSummariser());
+
+        assertThat(inRange, contains("age was changed to 5", "age was changed to 6", "age was changed to 7"));
+    }
+
+    @Test
+    public void scanAllAggregatesInParallel() {
+        Instant start = Instant.now();
+        List<String> personIds = Arrays.asList("id7", "id8", "id9");
+
+        proxyingEventBus.dispatch(PersonEvents.class, batch -> personIds.forEach(personId -> {
+            batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 41);
+            batch.updatedAge(StreamTimestamp.of("test", start.plusMillis(1)), personId, 42);
+        }));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CassandraEventScanner scanner = CassandraEventScanner.create(
+                new CassandraTemplate(cluster.connect("concursus")),
+                objectMapper,
+                executor,
+                8);
+
+        Map<AggregateId, Collection<Event>> scanned = new ConcurrentHashMap<>();
+        scanner.scan(EmitterInterfaceInfo.forInterface(PersonEvents.class).getEventTypeMatcher(),
+                events -> scanned.put(events.iterator().next().getAggregateId(), events)).join();
+        executor.shutdown();
+
+        personIds.forEach(personId ->
+                assertThat(scanned.get(AggregateId.of("person", personId)).size(), equalTo(2)));
+    }
+
+    @Test
+    public void writeAndReadCompactEvents() {
+        String personId = "id10";
+        Instant start = Instant.now();
+
+        EventStore compactEventStore = CassandraEventStore.create(
+                new CassandraTemplate(cluster.connect("concursus")),
+                BinaryParameterCodec.smile());
+
+        ProxyingEventBus.proxying(EventBus.processingWith(EventBatchProcessor.loggingWith(EventLog.loggingTo(compactEventStore))))
+                .dispatch(PersonEvents.class, batch -> {
+                    batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 41);
+                    batch.updatedName(StreamTimestamp.of("test", start.plusMillis(1)), personId, "Arthur Daley");
+                });
+
+        List<String> personHistory = DispatchingEventSourceFactory.dispatching(EventSource.retrievingWith(compactEventStore))
+                .dispatchingTo(PersonEvents.class)
+                .replaying(personId)
+                .inAscendingOrder()
+                .collectAll(eventSummariser());
+
+        assertThat(personHistory, contains(
+                "Arthur Putey was created with age 41",
+                "name was changed to Arthur Daley"
+        ));
+    }
+
+    @Test
+    public void writeAndReadAcrossTimeBuckets() {
+        String personId = "id11";
+        Instant start = Instant.parse("2016-01-01T10:30:00Z");
+
+        BucketingScheme bucketingScheme = BucketingScheme.uniform(TimeBucket.DAY).with("person", TimeBucket.HOUR);
+        CassandraTemplate cassandraTemplate = new CassandraTemplate(cluster.connect("concursus"));
+        EventLog bucketedEventLog = EventLog.loggingTo(
+                BucketedCassandraEventPersister.create(cassandraTemplate, objectMapper, bucketingScheme));
+        EventRetriever bucketedEventRetriever = BucketedCassandraEventRetriever.create(
+                cassandraTemplate, objectMapper, bucketingScheme);
+
+        ProxyingEventBus.proxying(EventBus.processingWith(EventBatchProcessor.loggingWith(bucketedEventLog)))
+                .dispatch(PersonEvents.class, batch -> {
+                    batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 0);
+                    for (int i = 1; i <= 4; i++) {
+                        batch.updatedAge(StreamTimestamp.of("test", start.plus(i, ChronoUnit.HOURS)), personId, i);
+                    }
+                });
+
+        DispatchingEventSourceFactory bucketedEventSource = DispatchingEventSourceFactory.dispatching(
+                EventSource.retrievingWith(bucketedEventRetriever));
+
+        assertThat(bucketedEventSource.dispatchingTo(PersonEvents.class)
+                        .replaying(personId).inAscendingOrder().collectAll(eventSummariser()),
+                contains(
+                        "Arthur Putey was created with age 0",
+                        "age was changed to 1",
+                        "age was changed to 2",
+                        "age was changed to 3",
+                        "age was changed to 4"));
+
+        assertThat(bucketedEventSource.dispatchingTo(PersonEvents.class)
+                        .replaying(personId, TimeRange.fromInclusive(start.plus(1, ChronoUnit.HOURS)).toExclusive(start.plus(3, ChronoUnit.HOURS)))
+                        .collectAll(eventSummariser()),
+                contains("age was changed to 2", "age was changed to 1"));
+
+        assertThat(bucketedEventSource.dispatchingTo(PersonEvents.class)
+                        .preload(personId)
+                        .replaying(personId).collectAll(eventSummariser()).size(),
+                equalTo(5));
+    }
+
+    @Test
+    public void storeAndRetrieveLatestSnapshots() {
+        SnapshotStore snapshotStore = CassandraSnapshotStore.create(new CassandraTemplate(cluster.connect("concursus")));
+        AggregateId aggregateId = AggregateId.of("person", "id12");
+        Instant start = Instant.parse("2016-01-01T10:30:00Z");
+        UUID processingId = UUID.randomUUID();
+
+        StateSnapshot first = StateSnapshot.of(aggregateId,
+                EventCursor.of(StreamTimestamp.of("test", start), Optional.empty()), "first");
+        StateSnapshot second = StateSnapshot.of(aggregateId,
+                EventCursor.of(StreamTimestamp.of("test", start.plusSeconds(60)), Optional.of(processingId)), "second");
+        snapshotStore.put(first);
+        snapshotStore.put(second);
+
+        assertThat(snapshotStore.getLatest(aggregateId, start.plusSeconds(120)), equalTo(Optional.of(second)));
+        assertThat(snapshotStore.getLatest(aggregateId, start.plusSeconds(60)), equalTo(Optional.of(first)));
+        assertThat(snapshotStore.getLatest(aggregateId, start), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void walkCatalogueInPages() {
+        CassandraAggregateCatalogue pagedCatalogue = CassandraAggregateCatalogue.create(
+                new CassandraTemplate(cluster.connect("concursus")), 4, 3);
+        Set<String> aggregateIds = IntStream.range(0, 25).mapToObj(i -> "catalogued" + i).collect(Collectors.toSet());
+        aggregateIds.forEach(id -> pagedCatalogue.add("catalogued", id));
+
+        assertThat(pagedCatalogue.streamAggregateIds("catalogued").collect(Collectors.toSet()), equalTo(aggregateIds));
+
+        Set<String> walked = new HashSet<>();
+        Optional<CatalogueCursor> cursor = Optional.of(CatalogueCursor.start());
+        while (cursor.isPresent()) {
+            CataloguePage page = pagedCatalogue.getAggregateIds(
+                    "catalogued", CatalogueCursor.parse(cursor.get().toString()), 5);
+            assertThat(page.getAggregateIds().size() <= 5, equalTo(true));
+            walked.addAll(page.getAggregateIds());
+            cursor = page.getNextCursor();
+        }
+
+        assertThat(walked, equalTo(aggregateIds));
+    }
+
+    @Test
+    public void writeAsynchronouslyThenPublish() throws InterruptedException {
+        String personId = "id3";
+        Instant start = Instant.now();
+
+        AsyncEventLog asyncEventLog = AsyncEventLog.loggingTo(AsyncCassandraEventPersister.create(
+                new CassandraTemplate(cluster.connect("concursus")),
+                JsonSerialiser.using(objectMapper),
+                4));
+
+        CountDownLatch published = new CountDownLatch(2);
+        ProxyingEventBus asyncEventBus = ProxyingEventBus.proxying(EventBus.processingWith(
+                AsyncPublishingEventBatchProcessor.using(asyncEventLog, event -> published.countDown())));
+
+        asyncEventBus.dispatch(PersonEvents.class, batch -> {
+            batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 41);
+            batch.updatedAge(StreamTimestamp.of("test", start.plusMillis(1)), personId, 42);
+        });
+
+        assertThat(published.await(10, TimeUnit.SECONDS), equalTo(true));
+
+        List<String> personHistory = eventSourceDispatching.dispatchingTo(PersonEvents.class)
+                .replaying(personId)
+                .inAscendingOrder()
+                .collectAll(eventSummariser());
+
+        assertThat(personHistory, contains(
+                "Arthur Putey was created with age 41",
+                "age was changed to 42"
+        ));
+    }
+
     private Function<Consumer<String>, PersonEvents> eventSummariser() {
         return caller -> new PersonEvents() {
             @Override
@@ -3,6 +3,7 @@ package com.opencredo.concursus.data.tuples;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -52,6 +53,15 @@ public final class Tuple {
         return schema.serialise(serialiser, values);
     }
 
+    /**
+     * Pass each value in the tuple to the supplied writer, in the order of the schema's slots. The resulting sequence
+     * of values can be read back with {@link TupleSchema#deserialiseInOrder(Function)}.
+     * @param valueWriter The consumer to pass each value to.
+     */
+    public void serialiseInOrder(Consumer<Object> valueWriter) {
+        schema.serialiseInOrder(valueWriter, values);
+    }
+
     /**
      * Obtain the contents of the tuple as a map.
      * @return The contents of the tuple as a map.
@@ -3,6 +3,7 @@ package com.opencredo.concursus.data.tuples;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -44,6 +45,14 @@ public final class TupleSchema {
         return name;
     }
 
+    /**
+     * Get the number of slots in the schema.
+     * @return The number of slots in the schema.
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
     /**
      * Make a tuple of the supplied values, first validating that they conform to this schema.
      * @param values The values to put in the Tuple.
@@ -144,6 +153,21 @@ public final class TupleSchema {
         return make(valueArray);
     }
 
+    /**
+     * Create a tuple by reading each value in slot order with the supplied reader, which is given the type of the
+     * slot to be read. This is the counterpart of {@link Tuple#serialiseInOrder(Consumer)}.
+     * @param valueReader The function to use to read the next value in sequence, given its type.
+     * @return The created tuple.
+     */
+    public Tuple deserialiseInOrder(Function<Type, Object> valueReader) {
+        if (valueReader == null) throw new IllegalArgumentException("valueReader must not be null");
+
+        Object[] valueArray = new Object[slots.length];
+        getIndices().forEach(i -> valueArray[i] = slots[i].deserialise(valueReader));
+
+        return make(valueArray);
+    }
+
     private void checkMatchingKeys(Map<String, ?> values) {
         if (!values.keySet().equals(slotLookup.keySet()))
                 throw new IllegalArgumentException(String.format(
@@ -174,6 +198,10 @@ public final class TupleSchema {
                 .collect(LinkedHashMap::new, (m, i) -> m.put(slots[i].getName(), serialiser.apply(values[i])), Map::putAll);
     }
 
+    void serialiseInOrder(Consumer<Object> valueWriter, Object[] values) {
+        getIndices().forEach(i -> valueWriter.accept(values[i]));
+    }
+
     Map<String, Object> toMap(Object[] values) {
         return getIndices()
                 .collect(LinkedHashMap::new, (m, i) -> m.put(slots[i].getName(), values[i]), Map::putAll);
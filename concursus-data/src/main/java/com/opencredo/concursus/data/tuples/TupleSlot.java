@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * A slot in a {@link TupleSchema} which has a name and a type.
@@ -108,6 +109,10 @@ public final class TupleSlot {
         return deserialiser.apply(values.get(name), type);
     }
 
+    Object deserialise(Function<Type, Object> valueReader) {
+        return valueReader.apply(type);
+    }
+
     @Override
     public boolean equals(Object o) {
         return this == o
@@ -4,6 +4,9 @@ import com.google.common.collect.ImmutableMap;
 import org.junit.Test;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -96,4 +99,14 @@ public class TupleSchemaTest {
                 "x", "12")),
                 equalTo(coordinateSchema.makeWith(12, 34)));
     }
+
+    @Test
+    public void deserialiseInOrder() {
+        List<Object> written = new ArrayList<>();
+        coordinateSchema.makeWith(12, 34).serialiseInOrder(written::add);
+
+        Iterator<Object> values = written.iterator();
+        assertThat(coordinateSchema.deserialiseInOrder(type -> values.next()),
+                equalTo(coordinateSchema.makeWith(12, 34)));
+    }
 }
@@ -1,11 +1,16 @@
 package com.opencredo.concursus.domain.json.events;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -60,4 +65,60 @@ public final class EventsJson {
         }
     }
 
+    /**
+     * Serialise the supplied collection of {@link Event}s to UTF-8 encoded JSON, writing directly with a streaming
+     * generator. The output is in the same format as {@link #toString(Collection, ObjectMapper)}.
+     * @param events The {@link Event}s to serialise.
+     * @param objectMapper The {@link ObjectMapper} to use.
+     * @return The serialised JSON, as UTF-8 bytes.
+     */
+    public static byte[] toBytes(Collection<Event> events, ObjectMapper objectMapper) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(256 * Math.max(1, events.size()));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            StreamingEventsJson.write(generator, events, objectMapper);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Deserialise the supplied UTF-8 encoded JSON array of events to a List of {@link Event}s, reading directly with a
+     * streaming parser rather than via intermediate JSON trees.
+     * @param eventsBytes The JSON to deserialise, as UTF-8 bytes.
+     * @param eventTypeMatcher The {@link EventTypeMatcher} to use to match
+     * {@link com.opencredo.concursus.domain.events.EventType}s to
+     * {@link com.opencredo.concursus.data.tuples.TupleSchema}s
+     * @param objectMapper The {@link ObjectMapper} to use.
+     * @return The deserialised list of {@link Event}s.
+     */
+    public static List<Event> fromBytes(byte[] eventsBytes, EventTypeMatcher eventTypeMatcher, ObjectMapper objectMapper) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(eventsBytes)) {
+            return StreamingEventsJson.read(parser, eventTypeMatcher, objectMapper);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deserialise the UTF-8 encoded JSON array of events between the supplied buffer's position and limit to a List of
+     * {@link Event}s. The buffer's contents are read in place, without being copied.
+     * @param eventsBuffer The buffer containing the JSON to deserialise.
+     * @param eventTypeMatcher The {@link EventTypeMatcher} to use to match
+     * {@link com.opencredo.concursus.domain.events.EventType}s to
+     * {@link com.opencredo.concursus.data.tuples.TupleSchema}s
+     * @param objectMapper The {@link ObjectMapper} to use.
+     * @return The deserialised list of {@link Event}s.
+     */
+    public static List<Event> fromByteBuffer(ByteBuffer eventsBuffer, EventTypeMatcher eventTypeMatcher, ObjectMapper objectMapper) {
+        ByteBuffer buffer = eventsBuffer.duplicate();
+        try (JsonParser parser = buffer.hasArray()
+                ? objectMapper.getFactory().createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining())
+                : objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(buffer))) {
+            return StreamingEventsJson.read(parser, eventTypeMatcher, objectMapper);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
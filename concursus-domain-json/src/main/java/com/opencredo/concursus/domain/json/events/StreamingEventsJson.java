@@ -0,0 +1,190 @@
+package com.opencredo.concursus.domain.json.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.EventMetadata;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Writes and reads collections of events in the same JSON format as {@link EventJson}, but directly with Jackson's
+ * streaming generator and parser, without building {@link EventJson} objects or {@link com.fasterxml.jackson.databind.JsonNode}
+ * trees. Parameter values are buffered as token sequences until the event's schema is known, and then deserialised
+ * straight to their target types; the parameters of events not matched by the {@link EventTypeMatcher} are skipped.
+ */
+final class StreamingEventsJson {
+
+    private StreamingEventsJson() {
+    }
+
+    static void write(JsonGenerator generator, Collection<Event> events, ObjectMapper objectMapper) throws IOException {
+        // ObjectMapper.writeValue would otherwise flush the generator after every parameter value.
+        ObjectWriter valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        generator.writeStartArray();
+        for (Event event : events) {
+            writeEvent(generator, event, valueWriter);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeEvent(JsonGenerator generator, Event event, ObjectWriter valueWriter) throws IOException {
+        EventMetadata metadata = event.getMetadata();
+
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("metadata");
+        generator.writeStringField("aggregateType", metadata.getAggregateId().getType());
+        generator.writeStringField("aggregateId", metadata.getAggregateId().getId());
+        generator.writeStringField("name", metadata.getEventName().getName());
+        generator.writeStringField("version", metadata.getEventName().getVersion());
+        generator.writeNumberField("eventTimestamp", metadata.getEventTimestamp().getTimestamp().toEpochMilli());
+        generator.writeStringField("streamId", metadata.getEventTimestamp().getStreamId());
+        generator.writeStringField("processingId", metadata.getProcessingId().map(UUID::toString).orElse(""));
+        generator.writeNumberField("characteristics", metadata.getCharacteristics());
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("parameters");
+        for (Map.Entry<String, Object> parameter : event.getData().toMap().entrySet()) {
+            generator.writeFieldName(parameter.getKey());
+            valueWriter.writeValue(generator, parameter.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    static List<Event> read(JsonParser parser, EventTypeMatcher eventTypeMatcher, ObjectMapper objectMapper) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+        BiFunction<TokenBuffer, Type, Object> deserialiser = makeDeserialiser(objectMapper);
+        List<Event> events = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            readEvent(parser, eventTypeMatcher, deserialiser).ifPresent(events::add);
+        }
+        expect(parser, parser.getCurrentToken(), JsonToken.END_ARRAY);
+
+        return events;
+    }
+
+    private static Optional<Event> readEvent(JsonParser parser, EventTypeMatcher eventTypeMatcher, BiFunction<TokenBuffer, Type, Object> deserialiser) throws IOException {
+        EventMetadata metadata = null;
+        Optional<TupleSchema> schema = Optional.empty();
+        Map<String, TokenBuffer> parameters = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            if (fieldName.equals("metadata")) {
+                metadata = readMetadata(parser);
+                schema = eventTypeMatcher.match(metadata.getType());
+            } else if (fieldName.equals("parameters") && (metadata == null || schema.isPresent())) {
+                parameters = readParameters(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (metadata == null) {
+            throw new JsonMappingException("Event has no metadata", parser.getCurrentLocation());
+        }
+        if (!schema.isPresent()) {
+            return Optional.empty();
+        }
+        if (parameters == null) {
+            throw new JsonMappingException("Event has no parameters", parser.getCurrentLocation());
+        }
+
+        return Optional.of(Event.of(metadata, schema.get().deserialise(deserialiser, parameters)));
+    }
+
+    private static EventMetadata readMetadata(JsonParser parser) throws IOException {
+        expect(parser, parser.getCurrentToken(), JsonToken.START_OBJECT);
+
+        String aggregateType = null;
+        String aggregateId = null;
+        String name = null;
+        String version = null;
+        long eventTimestamp = 0;
+        String streamId = null;
+        String processingId = null;
+        int characteristics = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (fieldName) {
+                case "aggregateType": aggregateType = parser.getValueAsString(); break;
+                case "aggregateId": aggregateId = parser.getValueAsString(); break;
+                case "name": name = parser.getValueAsString(); break;
+                case "version": version = parser.getValueAsString(); break;
+                case "eventTimestamp": eventTimestamp = parser.getLongValue(); break;
+                case "streamId": streamId = parser.getValueAsString(); break;
+                case "processingId": processingId = parser.getValueAsString(); break;
+                case "characteristics": characteristics = parser.getIntValue(); break;
+                default: parser.skipChildren();
+            }
+        }
+
+        return EventMetadataJson.of(
+                aggregateType,
+                aggregateId,
+                name,
+                version,
+                eventTimestamp,
+                streamId,
+                processingId == null || processingId.isEmpty() ? null : processingId,
+                characteristics).toEventMetadata();
+    }
+
+    private static Map<String, TokenBuffer> readParameters(JsonParser parser) throws IOException {
+        expect(parser, parser.getCurrentToken(), JsonToken.START_OBJECT);
+
+        Map<String, TokenBuffer> parameters = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String parameterName = parser.getCurrentName();
+            parser.nextToken();
+
+            TokenBuffer value = new TokenBuffer(parser);
+            value.copyCurrentStructure(parser);
+            parameters.put(parameterName, value);
+        }
+        return parameters;
+    }
+
+    private static BiFunction<TokenBuffer, Type, Object> makeDeserialiser(ObjectMapper objectMapper) {
+        final TypeFactory typeFactory = objectMapper.getTypeFactory();
+        return (value, type) -> {
+            try {
+                return objectMapper.readValue(value.asParser(objectMapper), typeFactory.constructType(type));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonMappingException {
+        if (actual != expected) {
+            throw new JsonMappingException("Expected " + expected + " but was " + actual, parser.getCurrentLocation());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.opencredo.concursus.domain.json.events.channels;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.channels.EventsInChannel;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.json.events.EventsJson;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * A channel through which collections of events encoded as UTF-8 JSON can be passed into the system. Events are read
+ * directly from the bytes with a streaming parser, so no intermediate strings or JSON trees are built.
+ */
+public final class BinaryJsonEventsInChannel implements EventsInChannel<byte[]> {
+
+    /**
+     * Creates an {@link EventsInChannel} through which collections of events encoded as UTF-8 JSON can be passed into
+     * the system.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise events.
+     * @param typeMatcher The {@link EventTypeMatcher} to use to match
+     * {@link com.opencredo.concursus.domain.events.EventType}s to
+     * {@link com.opencredo.concursus.data.tuples.TupleSchema}s.
+     * @param eventsConsumer The {@link Consumer} to pass collections of deserialised {@link Event}s through to.
+     * @return The constructed {@link EventsInChannel}.
+     */
+    public static BinaryJsonEventsInChannel using(ObjectMapper objectMapper, EventTypeMatcher typeMatcher, Consumer<Collection<Event>> eventsConsumer) {
+        return new BinaryJsonEventsInChannel(objectMapper, typeMatcher, eventsConsumer);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final EventTypeMatcher typeMatcher;
+    private final Consumer<Collection<Event>> eventsConsumer;
+
+    private BinaryJsonEventsInChannel(ObjectMapper objectMapper, EventTypeMatcher typeMatcher, Consumer<Collection<Event>> eventsConsumer) {
+        this.objectMapper = objectMapper;
+        this.typeMatcher = typeMatcher;
+        this.eventsConsumer = eventsConsumer;
+    }
+
+    @Override
+    public void accept(byte[] input) {
+        eventsConsumer.accept(EventsJson.fromBytes(input, typeMatcher, objectMapper));
+    }
+
+    /**
+     * Convert into an {@link EventsInChannel} which reads events from {@link ByteBuffer}s, in place.
+     * @return The constructed {@link EventsInChannel}.
+     */
+    public EventsInChannel<ByteBuffer> forByteBuffers() {
+        return input -> eventsConsumer.accept(EventsJson.fromByteBuffer(input, typeMatcher, objectMapper));
+    }
+}
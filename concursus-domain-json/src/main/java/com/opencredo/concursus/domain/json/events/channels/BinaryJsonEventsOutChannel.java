@@ -0,0 +1,55 @@
+package com.opencredo.concursus.domain.json.events.channels;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.channels.EventsOutChannel;
+import com.opencredo.concursus.domain.json.events.EventsJson;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+
+/**
+ * A channel through which collections of {@link Event}s can be sent out of the system as UTF-8 encoded JSON. Events
+ * are written directly as bytes with a streaming generator, so no intermediate strings or JSON trees are built.
+ */
+public final class BinaryJsonEventsOutChannel implements EventsOutChannel {
+
+    /**
+     * Construct an {@link EventsOutChannel} which serialises outgoing collections of {@link Event}s to UTF-8 encoded
+     * JSON.
+     * @param objectMapper The {@link ObjectMapper} to use for serialisation.
+     * @param eventsAndJsonConsumer The {@link Consumer} that will receive the collections of {@link Event}s and their
+     *                              JSON serialisations.
+     * @return The constructed {@link EventsOutChannel}.
+     */
+    public static BinaryJsonEventsOutChannel using(ObjectMapper objectMapper,
+                                                   BiConsumer<Collection<Event>, byte[]> eventsAndJsonConsumer) {
+        return new BinaryJsonEventsOutChannel(objectMapper, eventsAndJsonConsumer);
+    }
+
+    /**
+     * Construct an {@link EventsOutChannel} which serialises outgoing collections of {@link Event}s to UTF-8 encoded
+     * JSON.
+     * @param objectMapper The {@link ObjectMapper} to use for serialisation.
+     * @param jsonConsumer The {@link Consumer} that will receive the serialised collections of {@link Event}s.
+     * @return The constructed {@link EventsOutChannel}.
+     */
+    public static BinaryJsonEventsOutChannel using(ObjectMapper objectMapper, Consumer<byte[]> jsonConsumer) {
+        return new BinaryJsonEventsOutChannel(objectMapper, (e, j) -> jsonConsumer.accept(j));
+    }
+
+    private final ObjectMapper objectMapper;
+    private final BiConsumer<Collection<Event>, byte[]> eventsAndJsonConsumer;
+
+    private BinaryJsonEventsOutChannel(ObjectMapper objectMapper, BiConsumer<Collection<Event>, byte[]> eventsAndJsonConsumer) {
+        this.objectMapper = objectMapper;
+        this.eventsAndJsonConsumer = eventsAndJsonConsumer;
+    }
+
+    @Override
+    public void accept(Collection<Event> events) {
+        eventsAndJsonConsumer.accept(events, EventsJson.toBytes(events, objectMapper));
+    }
+}
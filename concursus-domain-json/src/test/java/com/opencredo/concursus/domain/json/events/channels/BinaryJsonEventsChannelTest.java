@@ -0,0 +1,112 @@
+package com.opencredo.concursus.domain.json.events.channels;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.channels.EventsOutChannel;
+import com.opencredo.concursus.domain.events.dispatching.EventBus;
+import com.opencredo.concursus.domain.events.logging.EventLog;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
+import com.opencredo.concursus.domain.json.events.EventsJson;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.mapping.annotations.HandlesEventsFor;
+import com.opencredo.concursus.mapping.events.methods.proxying.ProxyingEventBus;
+import com.opencredo.concursus.mapping.events.methods.reflection.EmitterInterfaceInfo;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+public class BinaryJsonEventsChannelTest {
+
+    @HandlesEventsFor("test")
+    public interface TestEvents {
+        void created(StreamTimestamp ts, String id, String name, List<String> tags, int age);
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final EventTypeMatcher typeMatcher = EmitterInterfaceInfo.forInterface(TestEvents.class).getEventTypeMatcher();
+
+    private final List<Event> receivedEvents = new ArrayList<>();
+    private final List<byte[]> transmitted = new ArrayList<>();
+
+    private final BinaryJsonEventsInChannel jsonIn = BinaryJsonEventsInChannel.using(
+            objectMapper, typeMatcher, receivedEvents::addAll);
+
+    private final EventsOutChannel jsonOut = BinaryJsonEventsOutChannel.using(objectMapper, bytes -> {
+        transmitted.add(bytes);
+        jsonIn.accept(bytes);
+    });
+
+    private final ProxyingEventBus proxyingEventBus = ProxyingEventBus.proxying(EventBus.processingWith(
+            EventBatchProcessor.loggingWith(EventLog.loggingTo(jsonOut))));
+
+    private final StreamTimestamp ts = StreamTimestamp.of("test", Instant.now().truncatedTo(ChronoUnit.MILLIS));
+
+    @Test
+    public void transmitsEventsOverBinaryJsonTransport() {
+        proxyingEventBus.dispatch(TestEvents.class, e -> {
+            e.created(ts, "id1", "Arthur Mumby", Arrays.asList("a", "b"), 42);
+            e.created(ts, "id2", "Dolly Kemp", Arrays.asList(), 0);
+        });
+
+        assertThat(receivedEvents, hasSize(2));
+        Event first = receivedEvents.get(0);
+        assertThat(first.getAggregateId(), equalTo(AggregateId.of("test", "id1")));
+        assertThat(first.getEventTimestamp(), equalTo(ts));
+        assertThat(first.getParameters().get("name"), equalTo("Arthur Mumby"));
+        assertThat(first.getParameters().get("tags"), equalTo(Arrays.asList("a", "b")));
+        assertThat(first.getParameters().get("age"), equalTo(42));
+        assertThat(receivedEvents.get(1).getParameters().get("tags"), equalTo(Arrays.asList()));
+    }
+
+    @Test
+    public void binaryFormatIsCompatibleWithStringFormat() {
+        proxyingEventBus.dispatch(TestEvents.class, e ->
+                e.created(ts, "id1", "Arthur Mumby", Arrays.asList("a"), 42));
+
+        String asString = new String(transmitted.get(0), StandardCharsets.UTF_8);
+        List<Event> fromString = EventsJson.fromString(asString, typeMatcher, objectMapper);
+        assertThat(fromString, contains(receivedEvents.get(0)));
+
+        List<Event> fromBytes = EventsJson.fromBytes(
+                EventsJson.toString(receivedEvents, objectMapper).getBytes(StandardCharsets.UTF_8),
+                typeMatcher,
+                objectMapper);
+        assertThat(fromBytes, contains(receivedEvents.get(0)));
+    }
+
+    @Test
+    public void readsFromByteBuffersInPlace() {
+        proxyingEventBus.dispatch(TestEvents.class, e ->
+                e.created(ts, "id1", "Arthur Mumby", Arrays.asList("a"), 42));
+
+        byte[] bytes = transmitted.get(0);
+        ByteBuffer heapBuffer = ByteBuffer.allocate(bytes.length + 4);
+        heapBuffer.position(2);
+        heapBuffer.put(bytes);
+        heapBuffer.position(2);
+        heapBuffer.limit(2 + bytes.length);
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes);
+        directBuffer.flip();
+
+        List<Event> fromBuffers = new ArrayList<>();
+        BinaryJsonEventsInChannel.using(objectMapper, typeMatcher, fromBuffers::addAll).forByteBuffers().accept(heapBuffer);
+        BinaryJsonEventsInChannel.using(objectMapper, typeMatcher, fromBuffers::addAll).forByteBuffers().accept(directBuffer);
+
+        assertThat(fromBuffers, contains(receivedEvents.get(0), receivedEvents.get(0)));
+    }
+}
@@ -3,6 +3,7 @@ package com.opencredo.concursus.domain.events.binding;
 import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 import com.opencredo.concursus.domain.events.sourcing.CachedEventSource;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.events.sourcing.EventReplayer;
 import com.opencredo.concursus.domain.events.sourcing.EventSource;
 import com.opencredo.concursus.domain.time.TimeRange;
@@ -33,6 +34,14 @@ public final class EventTypeBinding {
         this.eventTypeMatcher = eventTypeMatcher;
     }
 
+    /**
+     * Get the bound aggregate type.
+     * @return The bound aggregate type.
+     */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
     private AggregateId addTypeTo(String aggregateId) {
         return AggregateId.of(aggregateType, aggregateId);
     }
@@ -69,4 +78,16 @@ public final class EventTypeBinding {
     public EventReplayer replaying(CachedEventSource eventSource, String aggregateId, TimeRange timeRange) {
         return eventSource.replaying(addTypeTo(aggregateId), timeRange);
     }
+
+    /**
+     * Using the bound aggregate type and {@link EventTypeMatcher}, replay the events for the requested aggregateId which
+     * follow the given {@link EventCursor} from the supplied {@link EventSource}
+     * @param eventSource The EventSource to replay events from
+     * @param aggregateId The aggregate id to load events for
+     * @param cursor The cursor after which to replay events
+     * @return The replayer for the events following the cursor
+     */
+    public EventReplayer replayingAfter(EventSource eventSource, String aggregateId, EventCursor cursor) {
+        return eventSource.replayingAfter(eventTypeMatcher, addTypeTo(aggregateId), cursor);
+    }
 }
@@ -4,7 +4,9 @@ import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.EventCharacteristics;
 import com.opencredo.concursus.domain.events.channels.EventOutChannel;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A catalogue of "active" aggregates, i.e. those that have received an initial event, but have not yet received a terminal event.
@@ -25,6 +27,26 @@ public interface AggregateCatalogue extends EventOutChannel {
      */
     void remove(String aggregateType, String aggregateId);
 
+    /**
+     * Add several aggregates of the same type to the catalogue. Implementations backed by external storage should
+     * override this to write the ids in as few round trips as possible.
+     * @param aggregateType The type of the aggregates.
+     * @param aggregateIds The ids of the aggregates.
+     */
+    default void addAll(String aggregateType, Collection<String> aggregateIds) {
+        aggregateIds.forEach(aggregateId -> add(aggregateType, aggregateId));
+    }
+
+    /**
+     * Remove several aggregates of the same type from the catalogue. Implementations backed by external storage should
+     * override this to write the ids in as few round trips as possible.
+     * @param aggregateType The type of the aggregates.
+     * @param aggregateIds The ids of the aggregates.
+     */
+    default void removeAll(String aggregateType, Collection<String> aggregateIds) {
+        aggregateIds.forEach(aggregateId -> remove(aggregateType, aggregateId));
+    }
+
     /**
      * Obtain a {@link List} of all the aggregate Ids in the catalogue for the given type.
      * @param aggregateType The aggregate type to retrieve ids for.
@@ -32,6 +54,16 @@ public interface AggregateCatalogue extends EventOutChannel {
      */
     List<String> getAggregateIds(String aggregateType);
 
+    /**
+     * Obtain a {@link Stream} of all the aggregate Ids in the catalogue for the given type. Implementations backed by
+     * external storage should override this to read ids lazily, rather than holding the entire catalogue in memory.
+     * @param aggregateType The aggregate type to retrieve ids for.
+     * @return The {@link Stream} of retrieved ids.
+     */
+    default Stream<String> streamAggregateIds(String aggregateType) {
+        return getAggregateIds(aggregateType).stream();
+    }
+
     /**
      * If the received {@link Event} is an initial event, add the aggregate to the catalogue. If it is a terminal event, remove the aggregate from the catalogue.
      * @param event The {@link Event} to observe.
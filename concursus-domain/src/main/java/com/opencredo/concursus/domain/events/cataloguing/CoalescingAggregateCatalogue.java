@@ -0,0 +1,251 @@
+package com.opencredo.concursus.domain.events.cataloguing;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link AggregateCatalogue} decorator which coalesces updates, so that recording initial and terminal events does
+ * not cost a blocking write per event. Adds and removes are held in a pending set, in which a later update to an
+ * aggregate replaces an earlier one, and written to the underlying catalogue as grouped
+ * {@link AggregateCatalogue#addAll(String, java.util.Collection)} and
+ * {@link AggregateCatalogue#removeAll(String, java.util.Collection)} calls on a background executor. Pending updates
+ * are flushed at a fixed interval, or as soon as the pending set reaches its maximum size. Recently added aggregates
+ * are remembered, so that repeated adds cost no I/O at all. Reads from this catalogue first wait for pending updates to
+ * be flushed, so they reflect all preceding updates. Updates which fail to be written are returned to the pending set,
+ * to be retried by the next flush, and the failure is passed on to anything waiting for the flush, so a read fails
+ * rather than silently missing them.
+ *
+ * Reads and {@link #close()} block until the writes of a flush have completed. If writes are performed on the
+ * scheduling executor, reads must therefore not be made from tasks running on it, as with a single-threaded executor
+ * the read would wait for a write queued behind itself. Supply a separate write executor where that cannot be ruled
+ * out.
+ */
+public final class CoalescingAggregateCatalogue implements AggregateCatalogue, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingAggregateCatalogue.class);
+
+    private enum Update { ADD, REMOVE }
+
+    /**
+     * Create an {@link AggregateCatalogue} which coalesces updates to the supplied {@link AggregateCatalogue}.
+     * @param catalogue The {@link AggregateCatalogue} to write coalesced updates to.
+     * @param executor The {@link ScheduledExecutorService} to use to schedule and perform flushes.
+     * @param flushInterval The maximum time for which an update is held before being flushed.
+     * @param maxPendingUpdates The number of pending updates which triggers an immediate flush.
+     * @param recentlyAddedCacheSize The number of recently added aggregate ids to remember.
+     * @return The constructed {@link CoalescingAggregateCatalogue}.
+     */
+    public static CoalescingAggregateCatalogue wrapping(AggregateCatalogue catalogue,
+                                                        ScheduledExecutorService executor,
+                                                        Duration flushInterval,
+                                                        int maxPendingUpdates,
+                                                        int recentlyAddedCacheSize) {
+        return wrapping(catalogue, executor, executor, flushInterval, maxPendingUpdates, recentlyAddedCacheSize);
+    }
+
+    /**
+     * Create an {@link AggregateCatalogue} which coalesces updates to the supplied {@link AggregateCatalogue}, writing
+     * them on a separate {@link Executor} from the one which schedules flushes, so that reads may safely be made from
+     * tasks running on the scheduling executor.
+     * @param catalogue The {@link AggregateCatalogue} to write coalesced updates to.
+     * @param executor The {@link ScheduledExecutorService} to use to schedule flushes.
+     * @param writeExecutor The {@link Executor} on which to write updates to the underlying catalogue.
+     * @param flushInterval The maximum time for which an update is held before being flushed.
+     * @param maxPendingUpdates The number of pending updates which triggers an immediate flush.
+     * @param recentlyAddedCacheSize The number of recently added aggregate ids to remember.
+     * @return The constructed {@link CoalescingAggregateCatalogue}.
+     */
+    public static CoalescingAggregateCatalogue wrapping(AggregateCatalogue catalogue,
+                                                        ScheduledExecutorService executor,
+                                                        Executor writeExecutor,
+                                                        Duration flushInterval,
+                                                        int maxPendingUpdates,
+                                                        int recentlyAddedCacheSize) {
+        checkNotNull(catalogue, "catalogue must not be null");
+        checkNotNull(executor, "executor must not be null");
+        checkNotNull(writeExecutor, "writeExecutor must not be null");
+        checkNotNull(flushInterval, "flushInterval must not be null");
+        checkArgument(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval must be positive");
+        checkArgument(maxPendingUpdates > 0, "maxPendingUpdates must be positive");
+        checkArgument(recentlyAddedCacheSize >= 0, "recentlyAddedCacheSize must not be negative");
+
+        CoalescingAggregateCatalogue coalescingCatalogue = new CoalescingAggregateCatalogue(
+                catalogue, executor, writeExecutor, maxPendingUpdates, recentlyAddedCacheSize);
+
+        coalescingCatalogue.scheduledFlush = executor.scheduleWithFixedDelay(
+                coalescingCatalogue::flush,
+                flushInterval.toMillis(),
+                flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        return coalescingCatalogue;
+    }
+
+    private final AggregateCatalogue catalogue;
+    private final ScheduledExecutorService executor;
+    private final Executor writeExecutor;
+    private final int maxPendingUpdates;
+    private final Map<AggregateId, Update> pendingUpdates = new LinkedHashMap<>();
+    private final Map<AggregateId, Boolean> recentlyAdded;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    private CoalescingAggregateCatalogue(AggregateCatalogue catalogue,
+                                         ScheduledExecutorService executor,
+                                         Executor writeExecutor,
+                                         int maxPendingUpdates,
+                                         int recentlyAddedCacheSize) {
+        this.catalogue = catalogue;
+        this.executor = executor;
+        this.writeExecutor = writeExecutor;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.recentlyAdded = new LinkedHashMap<AggregateId, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AggregateId, Boolean> eldest) {
+                return size() > recentlyAddedCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public void add(String aggregateType, String aggregateId) {
+        AggregateId id = AggregateId.of(aggregateType, aggregateId);
+
+        synchronized (pendingUpdates) {
+            if (recentlyAdded.containsKey(id)) {
+                return;
+            }
+            recentlyAdded.put(id, true);
+            queue(id, Update.ADD);
+        }
+    }
+
+    @Override
+    public void remove(String aggregateType, String aggregateId) {
+        AggregateId id = AggregateId.of(aggregateType, aggregateId);
+
+        synchronized (pendingUpdates) {
+            recentlyAdded.remove(id);
+            queue(id, Update.REMOVE);
+        }
+    }
+
+    private void queue(AggregateId id, Update update) {
+        pendingUpdates.remove(id);
+        pendingUpdates.put(id, update);
+
+        if (pendingUpdates.size() >= maxPendingUpdates && flushScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Override
+    public List<String> getAggregateIds(String aggregateType) {
+        awaitFlush();
+        return catalogue.getAggregateIds(aggregateType);
+    }
+
+    @Override
+    public Stream<String> streamAggregateIds(String aggregateType) {
+        awaitFlush();
+        return catalogue.streamAggregateIds(aggregateType);
+    }
+
+    private void awaitFlush() {
+        try {
+            flush().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Write all pending updates to the underlying catalogue. Flushes are applied in order, so that a later update to an
+     * aggregate is never overtaken by an earlier one.
+     * @return A {@link CompletableFuture} which completes when all updates pending at the time of the call have been
+     * written. If any write fails, its updates are returned to the pending set, to be retried by the next flush, and the
+     * future completes exceptionally with the cause of the failure.
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (pendingUpdates) {
+            if (pendingUpdates.isEmpty()) {
+                return lastFlush;
+            }
+
+            Map<String, Map<Update, List<String>>> updatesByType = new LinkedHashMap<>();
+            pendingUpdates.forEach((id, update) -> updatesByType
+                    .computeIfAbsent(id.getType(), type -> new LinkedHashMap<>())
+                    .computeIfAbsent(update, u -> new ArrayList<>())
+                    .add(id.getId()));
+            pendingUpdates.clear();
+
+            // A failed flush has already requeued its updates, so does not prevent later flushes from being written.
+            lastFlush = lastFlush
+                    .handle((previous, e) -> null)
+                    .thenCompose(previous -> write(updatesByType));
+            return lastFlush;
+        }
+    }
+
+    private CompletableFuture<Void> write(Map<String, Map<Update, List<String>>> updatesByType) {
+        CompletableFuture<?>[] writes = updatesByType.entrySet().stream()
+                .flatMap(byType -> byType.getValue().entrySet().stream()
+                        .map(byUpdate -> write(byType.getKey(), byUpdate.getKey(), byUpdate.getValue())))
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(writes);
+    }
+
+    private CompletableFuture<Void> write(String aggregateType, Update update, List<String> aggregateIds) {
+        return CompletableFuture.runAsync(() -> {
+            if (update == Update.ADD) {
+                catalogue.addAll(aggregateType, aggregateIds);
+            } else {
+                catalogue.removeAll(aggregateType, aggregateIds);
+            }
+        }, writeExecutor).whenComplete((written, e) -> {
+            if (e != null) {
+                LOGGER.error("Failed to {} {} aggregate(s) of type {} in catalogue", update, aggregateIds.size(), aggregateType, e);
+                requeue(aggregateType, update, aggregateIds);
+            }
+        });
+    }
+
+    // Any update queued since the failed flush supersedes the failed one, so is left in place.
+    private void requeue(String aggregateType, Update update, List<String> aggregateIds) {
+        synchronized (pendingUpdates) {
+            aggregateIds.forEach(aggregateId -> pendingUpdates.putIfAbsent(AggregateId.of(aggregateType, aggregateId), update));
+        }
+    }
+
+    /**
+     * Stop scheduled flushing, and flush any pending updates.
+     */
+    @Override
+    public void close() {
+        scheduledFlush.cancel(false);
+        awaitFlush();
+    }
+}
@@ -0,0 +1,44 @@
+package com.opencredo.concursus.domain.events.logging;
+
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.persisting.AsyncEventPersister;
+import com.opencredo.concursus.domain.time.TimeUUID;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Assigns processing ids to {@link Event}s and writes them with an {@link AsyncEventPersister}, returning a
+ * {@link CompletableFuture} which completes with the collection of logged events once the write has been acknowledged.
+ */
+@FunctionalInterface
+public interface AsyncEventLog extends Function<Collection<Event>, CompletableFuture<Collection<Event>>> {
+
+    /**
+     * Creates an {@link AsyncEventLog} that assigns processing ids to {@link Event}s, then writes them with an
+     * {@link AsyncEventPersister}.
+     * @param eventPersister The {@link AsyncEventPersister} to write {@link Event}s with.
+     * @return The constructed {@link AsyncEventLog}
+     */
+    static AsyncEventLog loggingTo(AsyncEventPersister eventPersister) {
+        return events -> {
+            Collection<Event> withProcessingIds = events.stream()
+                    .map(event -> event.processed(TimeUUID.timeBased()))
+                    .collect(toList());
+
+            return eventPersister.apply(withProcessingIds).thenApply(written -> withProcessingIds);
+        };
+    }
+
+    /**
+     * Convert into an {@link EventLog} which blocks until the logged events have been written.
+     * @return The constructed {@link EventLog}.
+     */
+    default EventLog blocking() {
+        return events -> apply(events).join();
+    }
+
+}
@@ -3,5 +3,9 @@
  * that will assign a processing id to each {@link com.opencredo.concursus.domain.events.Event} in a collection of
  * events, write them to persistent storage and then return a list of processed events (from which duplicates may have
  * been removed).
+ * <p>
+ *     The {@link com.opencredo.concursus.domain.events.logging.AsyncEventLog} interface performs the same operations
+ *     asynchronously, returning a future which completes with the processed events once they have been written.
+ * </p>
  */
 package com.opencredo.concursus.domain.events.logging;
\ No newline at end of file
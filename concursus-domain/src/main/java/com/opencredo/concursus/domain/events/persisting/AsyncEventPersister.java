@@ -0,0 +1,33 @@
+package com.opencredo.concursus.domain.events.persisting;
+
+import com.opencredo.concursus.domain.events.Event;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Writes {@link Event}s into a persistent store without blocking the calling thread, returning a
+ * {@link CompletableFuture} which completes when the write has been acknowledged.
+ */
+@FunctionalInterface
+public interface AsyncEventPersister extends Function<Collection<Event>, CompletableFuture<Void>> {
+
+    /**
+     * Write the supplied {@link Event}s into the persistent store.
+     * @param events The {@link Event}s to write.
+     * @return A {@link CompletableFuture} which completes when the write has been acknowledged, or completes
+     * exceptionally if the write fails.
+     */
+    @Override
+    CompletableFuture<Void> apply(Collection<Event> events);
+
+    /**
+     * Convert into an {@link EventPersister} which blocks until each write has been acknowledged.
+     * @return The constructed {@link EventPersister}.
+     */
+    default EventPersister blocking() {
+        return events -> apply(events).join();
+    }
+
+}
@@ -1,5 +1,7 @@
 /**
  * Provides the {@link com.opencredo.concursus.domain.events.persisting.EventPersister} interface for an object that
- * writes events to a persistent store.
+ * writes events to a persistent store, and the
+ * {@link com.opencredo.concursus.domain.events.persisting.AsyncEventPersister} interface for an object that does so
+ * without blocking the calling thread.
  */
 package com.opencredo.concursus.domain.events.persisting;
\ No newline at end of file
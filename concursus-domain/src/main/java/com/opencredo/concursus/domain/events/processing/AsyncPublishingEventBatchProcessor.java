@@ -0,0 +1,122 @@
+package com.opencredo.concursus.domain.events.processing;
+
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.logging.AsyncEventLog;
+import com.opencredo.concursus.domain.events.publishing.EventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * On {@link com.opencredo.concursus.domain.events.batching.EventBatch} completion, writes the {@link Event}s in the
+ * batch to an {@link AsyncEventLog}, then publishes the logged events to an {@link EventPublisher} once the write has
+ * been acknowledged. The completing thread is not blocked while the write is in flight.
+ *
+ * Batch completion is fire-and-forget: {@link #accept(Collection)} returns before the write completes, so a command
+ * completing the batch does not see a failed write. Failures are passed to a failure handler, which by default logs
+ * them. Callers which need the outcome of each write should call {@link #process(Collection)} and use the returned
+ * {@link CompletableFuture}.
+ */
+public final class AsyncPublishingEventBatchProcessor implements EventBatchProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPublishingEventBatchProcessor.class);
+
+    private static final BiConsumer<Collection<Event>, Throwable> LOG_FAILURE = (events, e) ->
+            LOGGER.error("Failed to log and publish events {}", events, e);
+
+    /**
+     * Create an {@link EventBatchProcessor} that writes the {@link Event}s in an
+     * {@link com.opencredo.concursus.domain.events.batching.EventBatch} to an {@link AsyncEventLog}, then publishes the
+     * logged events to an {@link EventPublisher} when the write completes.
+     * @param eventLog The {@link AsyncEventLog} to write the events to.
+     * @param eventPublisher The {@link EventPublisher} to publish the events to.
+     * @return The constructed {@link EventBatchProcessor}
+     */
+    public static AsyncPublishingEventBatchProcessor using(AsyncEventLog eventLog, EventPublisher eventPublisher) {
+        return using(eventLog, eventPublisher, Runnable::run);
+    }
+
+    /**
+     * Create an {@link EventBatchProcessor} that writes the {@link Event}s in an
+     * {@link com.opencredo.concursus.domain.events.batching.EventBatch} to an {@link AsyncEventLog}, then publishes the
+     * logged events to an {@link EventPublisher} using the supplied {@link Executor} when the write completes. Use this
+     * when event handlers may block, so that they do not run on the thread which completes the write (e.g. a database
+     * driver's I/O thread).
+     * @param eventLog The {@link AsyncEventLog} to write the events to.
+     * @param eventPublisher The {@link EventPublisher} to publish the events to.
+     * @param publishingExecutor The {@link Executor} on which to publish the events.
+     * @return The constructed {@link EventBatchProcessor}
+     */
+    public static AsyncPublishingEventBatchProcessor using(AsyncEventLog eventLog, EventPublisher eventPublisher, Executor publishingExecutor) {
+        return using(eventLog, eventPublisher, publishingExecutor, LOG_FAILURE);
+    }
+
+    /**
+     * Create an {@link EventBatchProcessor} that writes the {@link Event}s in an
+     * {@link com.opencredo.concursus.domain.events.batching.EventBatch} to an {@link AsyncEventLog}, then publishes the
+     * logged events to an {@link EventPublisher} using the supplied {@link Executor} when the write completes. If
+     * writing or publishing the events of a completed batch fails, the events and the cause of the failure are passed
+     * to the supplied failure handler.
+     * @param eventLog The {@link AsyncEventLog} to write the events to.
+     * @param eventPublisher The {@link EventPublisher} to publish the events to.
+     * @param publishingExecutor The {@link Executor} on which to publish the events.
+     * @param failureHandler Receives the events of each completed batch which could not be logged and published,
+     *                       together with the cause of the failure.
+     * @return The constructed {@link EventBatchProcessor}
+     */
+    public static AsyncPublishingEventBatchProcessor using(AsyncEventLog eventLog, EventPublisher eventPublisher, Executor publishingExecutor, BiConsumer<Collection<Event>, Throwable> failureHandler) {
+        checkNotNull(eventLog, "eventLog must not be null");
+        checkNotNull(eventPublisher, "eventPublisher must not be null");
+        checkNotNull(publishingExecutor, "publishingExecutor must not be null");
+        checkNotNull(failureHandler, "failureHandler must not be null");
+
+        return new AsyncPublishingEventBatchProcessor(eventLog, eventPublisher, publishingExecutor, failureHandler);
+    }
+
+    private final AsyncEventLog eventLog;
+    private final EventPublisher eventPublisher;
+    private final Executor publishingExecutor;
+    private final BiConsumer<Collection<Event>, Throwable> failureHandler;
+
+    private AsyncPublishingEventBatchProcessor(AsyncEventLog eventLog, EventPublisher eventPublisher, Executor publishingExecutor, BiConsumer<Collection<Event>, Throwable> failureHandler) {
+        this.eventLog = eventLog;
+        this.eventPublisher = eventPublisher;
+        this.publishingExecutor = publishingExecutor;
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Write the supplied {@link Event}s to the {@link AsyncEventLog}, and publish them once they have been written.
+     * @param events The {@link Event}s to process.
+     * @return A {@link CompletableFuture} which completes with the published events, or completes exceptionally if
+     * either writing or publishing fails. No events are published if the write fails.
+     */
+    public CompletableFuture<Collection<Event>> process(Collection<Event> events) {
+        return eventLog.apply(events).thenApplyAsync(logged -> {
+            logged.forEach(eventPublisher);
+            return logged;
+        }, publishingExecutor);
+    }
+
+    /**
+     * Write the supplied {@link Event}s to the {@link AsyncEventLog} and publish them once they have been written,
+     * without waiting for either to complete. Failures are passed to the failure handler rather than to the caller; use
+     * {@link #process(Collection)} to observe them directly.
+     * @param events The {@link Event}s to process.
+     */
+    @Override
+    public void accept(Collection<Event> events) {
+        process(events).whenComplete((published, e) -> {
+            if (e != null) {
+                failureHandler.accept(events, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+}
@@ -5,7 +5,10 @@
  *     This package also provides a
  *     {@link com.opencredo.concursus.domain.events.processing.PublishingEventBatchProcessor}, which combines the
  *     operations of writing events to an {@link com.opencredo.concursus.domain.events.logging.EventLog} and then
- *     forwarding them to an {@link com.opencredo.concursus.domain.events.publishing.EventPublisher}.
+ *     forwarding them to an {@link com.opencredo.concursus.domain.events.publishing.EventPublisher}, and an
+ *     {@link com.opencredo.concursus.domain.events.processing.AsyncPublishingEventBatchProcessor}, which does the
+ *     same with an {@link com.opencredo.concursus.domain.events.logging.AsyncEventLog}, publishing events only once
+ *     the write has completed.
  * </p>
  */
 package com.opencredo.concursus.domain.events.processing;
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SnapshotStore} which holds each aggregate's snapshots in memory, ordered by the timestamp of the last event
+ * they cover.
+ */
+public final class InMemorySnapshotStore implements SnapshotStore {
+
+    public static InMemorySnapshotStore empty() {
+        return new InMemorySnapshotStore(new ConcurrentHashMap<>());
+    }
+
+    private final ConcurrentMap<AggregateId, ConcurrentNavigableMap<StreamTimestamp, StateSnapshot>> snapshots;
+
+    private InMemorySnapshotStore(ConcurrentMap<AggregateId, ConcurrentNavigableMap<StreamTimestamp, StateSnapshot>> snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public void put(StateSnapshot snapshot) {
+        checkNotNull(snapshot, "snapshot must not be null");
+
+        snapshots.computeIfAbsent(snapshot.getAggregateId(), id -> new ConcurrentSkipListMap<>())
+                .put(snapshot.getCursor().getEventTimestamp(), snapshot);
+    }
+
+    @Override
+    public Optional<StateSnapshot> getLatest(AggregateId aggregateId, Instant upTo) {
+        ConcurrentNavigableMap<StreamTimestamp, StateSnapshot> snapshotsForId = snapshots.get(aggregateId);
+        if (snapshotsForId == null) {
+            return Optional.empty();
+        }
+
+        // The empty stream id orders first, so this selects snapshots whose last event occurred strictly before upTo.
+        return Optional.ofNullable(snapshotsForId.lowerEntry(StreamTimestamp.of("", upTo))).map(Map.Entry::getValue);
+    }
+}
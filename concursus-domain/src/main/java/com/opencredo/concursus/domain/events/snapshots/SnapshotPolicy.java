@@ -0,0 +1,67 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.opencredo.concursus.domain.events.Event;
+
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.opencredo.concursus.domain.events.EventCharacteristics.IS_TERMINAL;
+
+/**
+ * Decides, after an aggregate's state has been built, whether a new snapshot of it should be taken.
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+
+    /**
+     * Snapshot whenever at least the given number of events have been replayed since the last snapshot.
+     * @param eventCount The number of events after which to snapshot.
+     * @return The constructed {@link SnapshotPolicy}.
+     */
+    static SnapshotPolicy afterEvents(int eventCount) {
+        checkArgument(eventCount > 0, "eventCount must be positive");
+
+        return (eventsSinceSnapshot, lastEvent) -> eventsSinceSnapshot >= eventCount;
+    }
+
+    /**
+     * Snapshot whenever the last event replayed matches the given predicate.
+     * @param predicate The predicate to test the last event with.
+     * @return The constructed {@link SnapshotPolicy}.
+     */
+    static SnapshotPolicy onEvent(Predicate<Event> predicate) {
+        checkNotNull(predicate, "predicate must not be null");
+
+        return (eventsSinceSnapshot, lastEvent) -> predicate.test(lastEvent);
+    }
+
+    /**
+     * Snapshot whenever the last event replayed is a terminal event, after which the aggregate's state cannot change.
+     * @return The constructed {@link SnapshotPolicy}.
+     */
+    static SnapshotPolicy onTerminalEvent() {
+        return onEvent(event -> event.hasCharacteristic(IS_TERMINAL));
+    }
+
+    /**
+     * Test whether a snapshot should be taken.
+     * @param eventsSinceSnapshot The number of events replayed since the last snapshot, or from the start of the
+     *                            aggregate's history if it has none. Always positive.
+     * @param lastEvent The last event replayed.
+     * @return True if a snapshot should be taken, false otherwise.
+     */
+    boolean shouldSnapshot(int eventsSinceSnapshot, Event lastEvent);
+
+    /**
+     * Combine this policy with another, so that a snapshot is taken if either policy requires it.
+     * @param other The other {@link SnapshotPolicy}.
+     * @return The combined {@link SnapshotPolicy}.
+     */
+    default SnapshotPolicy or(SnapshotPolicy other) {
+        checkNotNull(other, "other must not be null");
+
+        return (eventsSinceSnapshot, lastEvent) -> shouldSnapshot(eventsSinceSnapshot, lastEvent)
+                || other.shouldSnapshot(eventsSinceSnapshot, lastEvent);
+    }
+}
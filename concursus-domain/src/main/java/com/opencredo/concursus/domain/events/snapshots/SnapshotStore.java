@@ -0,0 +1,43 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A store of {@link StateSnapshot}s, from which the latest snapshot of an aggregate's state at a given moment in time can
+ * be retrieved.
+ */
+public interface SnapshotStore {
+
+    /**
+     * Store a snapshot.
+     * @param snapshot The {@link StateSnapshot} to store.
+     */
+    void put(StateSnapshot snapshot);
+
+    /**
+     * Retrieve the latest snapshot of an aggregate's state covering only events which occurred before the given moment.
+     * @param aggregateId The {@link AggregateId} of the aggregate.
+     * @param upTo The moment in time (exclusive) before which the snapshot's last event must have occurred.
+     * @return The latest such snapshot, or {@link Optional}::empty if there is none.
+     */
+    Optional<StateSnapshot> getLatest(AggregateId aggregateId, Instant upTo);
+
+    /**
+     * Retrieve the latest snapshots of several aggregates' states covering only events which occurred before the given
+     * moment. Stores which can retrieve several snapshots in a single round-trip should override this method.
+     * @param aggregateIds The {@link AggregateId}s of the aggregates.
+     * @param upTo The moment in time (exclusive) before which each snapshot's last event must have occurred.
+     * @return The latest such snapshots, mapped by {@link AggregateId}. Aggregates with no such snapshot are omitted.
+     */
+    default Map<AggregateId, StateSnapshot> getLatest(Collection<AggregateId> aggregateIds, Instant upTo) {
+        Map<AggregateId, StateSnapshot> latest = new HashMap<>();
+        aggregateIds.forEach(aggregateId -> getLatest(aggregateId, upTo).ifPresent(snapshot -> latest.put(aggregateId, snapshot)));
+        return latest;
+    }
+}
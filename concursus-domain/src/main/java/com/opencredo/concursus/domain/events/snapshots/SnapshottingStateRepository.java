@@ -0,0 +1,184 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.binding.EventTypeBinding;
+import com.opencredo.concursus.domain.events.sourcing.CachedEventSource;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.events.sourcing.EventReplayer;
+import com.opencredo.concursus.domain.events.sourcing.EventSource;
+import com.opencredo.concursus.domain.events.state.StateBuilder;
+import com.opencredo.concursus.domain.events.state.StateRepository;
+import com.opencredo.concursus.domain.time.TimeRange;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StateRepository} which builds each aggregate's state from its latest {@link StateSnapshot}, replaying only the
+ * events which follow it, rather than from the start of the aggregate's history. Where an aggregate has no snapshot
+ * covering the requested moment, its whole history up to that moment is replayed.
+ *
+ * After each state is built, the {@link SnapshotPolicy} is consulted with the number of events replayed and the last of
+ * them, and if it requires a snapshot then the state is serialised and stored, positioned at the latest event replayed.
+ * Events written with timestamps earlier than an existing snapshot's position will not be applied to states built from
+ * that snapshot.
+ * @param <T> The type of the state objects built by this repository.
+ */
+public final class SnapshottingStateRepository<T> implements StateRepository<T> {
+
+    private static final Comparator<Event> timestampOrder = Comparator.comparing(Event::getEventTimestamp);
+
+    /**
+     * Create a {@link StateRepository} which builds states from snapshots.
+     * @param stateSupplier Supplies a new {@link StateBuilder} for an aggregate with no snapshot.
+     * @param resumingStateSupplier Supplies a {@link StateBuilder} which continues building a state restored from a
+     *                              snapshot.
+     * @param eventSource The {@link EventSource} to retrieve events from.
+     * @param typeBinding The {@link EventTypeBinding} for the aggregate type.
+     * @param causalOrdering The order in which each aggregate's events are replayed.
+     * @param snapshotStore The {@link SnapshotStore} to retrieve and store snapshots with.
+     * @param stateSerialiser The {@link StateSerialiser} to serialise and deserialise states with.
+     * @param snapshotPolicy The {@link SnapshotPolicy} deciding when to take snapshots.
+     * @param <T> The type of the state objects to build.
+     * @return The constructed {@link SnapshottingStateRepository}.
+     */
+    public static <T> SnapshottingStateRepository<T> using(Supplier<StateBuilder<T>> stateSupplier, Function<T, StateBuilder<T>> resumingStateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering, SnapshotStore snapshotStore, StateSerialiser<T> stateSerialiser, SnapshotPolicy snapshotPolicy) {
+        checkNotNull(stateSupplier, "stateSupplier must not be null");
+        checkNotNull(resumingStateSupplier, "resumingStateSupplier must not be null");
+        checkNotNull(eventSource, "eventSource must not be null");
+        checkNotNull(typeBinding, "typeBinding must not be null");
+        checkNotNull(causalOrdering, "causalOrdering must not be null");
+        checkNotNull(snapshotStore, "snapshotStore must not be null");
+        checkNotNull(stateSerialiser, "stateSerialiser must not be null");
+        checkNotNull(snapshotPolicy, "snapshotPolicy must not be null");
+
+        return new SnapshottingStateRepository<>(stateSupplier, resumingStateSupplier, eventSource, typeBinding, causalOrdering, snapshotStore, stateSerialiser, snapshotPolicy);
+    }
+
+    private static final class ReplayTracker implements Consumer<Event> {
+        private int eventCount;
+        private Event lastEvent;
+        private Event latestEvent;
+
+        @Override
+        public void accept(Event event) {
+            eventCount++;
+            lastEvent = event;
+            if (latestEvent == null || timestampOrder.compare(latestEvent, event) < 0) {
+                latestEvent = event;
+            }
+        }
+    }
+
+    private final Supplier<StateBuilder<T>> stateSupplier;
+    private final Function<T, StateBuilder<T>> resumingStateSupplier;
+    private final EventSource eventSource;
+    private final EventTypeBinding typeBinding;
+    private final Comparator<Event> causalOrdering;
+    private final SnapshotStore snapshotStore;
+    private final StateSerialiser<T> stateSerialiser;
+    private final SnapshotPolicy snapshotPolicy;
+
+    private SnapshottingStateRepository(Supplier<StateBuilder<T>> stateSupplier, Function<T, StateBuilder<T>> resumingStateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering, SnapshotStore snapshotStore, StateSerialiser<T> stateSerialiser, SnapshotPolicy snapshotPolicy) {
+        this.stateSupplier = stateSupplier;
+        this.resumingStateSupplier = resumingStateSupplier;
+        this.eventSource = eventSource;
+        this.typeBinding = typeBinding;
+        this.causalOrdering = causalOrdering;
+        this.snapshotStore = snapshotStore;
+        this.stateSerialiser = stateSerialiser;
+        this.snapshotPolicy = snapshotPolicy;
+    }
+
+    @Override
+    public Optional<T> getState(String aggregateId, Instant upTo) {
+        AggregateId typedId = AggregateId.of(typeBinding.getAggregateType(), aggregateId);
+        Optional<StateSnapshot> snapshot = snapshotStore.getLatest(typedId, upTo);
+
+        EventReplayer replayer = snapshot
+                .map(s -> typeBinding.replayingAfter(eventSource, aggregateId, s.getCursor())
+                        .filter(event -> event.getEventTimestamp().getTimestamp().isBefore(upTo)))
+                .orElseGet(() -> typeBinding.replaying(eventSource, aggregateId, TimeRange.fromUnbounded().toExclusive(upTo)));
+
+        return buildState(typedId, snapshot, replayer);
+    }
+
+    /**
+     * Fetch the states of the aggregates with the requested ids, building each from its own latest snapshot. The
+     * snapshots of all of the aggregates are retrieved together, and the events following them are then preloaded
+     * together: those of aggregates with no snapshot from the start of their histories, and those of the remaining
+     * aggregates from the earliest of their snapshots' positions onwards.
+     * @param aggregateIds The aggregate ids to retrieve states for.
+     * @param upTo The moment in time (exclusive) at which to obtain the aggregates' state.
+     * @return The aggregates' states, mapped by aggregate id.
+     */
+    @Override
+    public Map<String, T> getStates(Collection<String> aggregateIds, Instant upTo) {
+        Map<String, AggregateId> typedIds = new LinkedHashMap<>();
+        aggregateIds.forEach(id -> typedIds.put(id, AggregateId.of(typeBinding.getAggregateType(), id)));
+        Map<AggregateId, StateSnapshot> snapshots = snapshotStore.getLatest(typedIds.values(), upTo);
+
+        List<String> unsnapshottedIds = typedIds.entrySet().stream()
+                .filter(entry -> !snapshots.containsKey(entry.getValue()))
+                .map(Entry::getKey)
+                .collect(Collectors.toList());
+        List<String> snapshottedIds = typedIds.entrySet().stream()
+                .filter(entry -> snapshots.containsKey(entry.getValue()))
+                .map(Entry::getKey)
+                .collect(Collectors.toList());
+
+        Map<String, T> states = new HashMap<>();
+
+        if (!unsnapshottedIds.isEmpty()) {
+            CachedEventSource preloaded = typeBinding.preload(eventSource, unsnapshottedIds, TimeRange.fromUnbounded().toExclusive(upTo));
+            unsnapshottedIds.forEach(id ->
+                    buildState(typedIds.get(id), Optional.empty(), typeBinding.replaying(preloaded, id, TimeRange.unbounded()))
+                            .ifPresent(state -> states.put(id, state)));
+        }
+
+        if (!snapshottedIds.isEmpty()) {
+            Instant earliestCursor = snapshots.values().stream()
+                    .map(snapshot -> snapshot.getCursor().getEventTimestamp().getTimestamp())
+                    .min(Comparator.naturalOrder())
+                    .get();
+            CachedEventSource preloaded = typeBinding.preload(eventSource, snapshottedIds, TimeRange.fromInclusive(earliestCursor).toExclusive(upTo));
+            snapshottedIds.forEach(id -> {
+                StateSnapshot snapshot = snapshots.get(typedIds.get(id));
+                buildState(typedIds.get(id), Optional.of(snapshot),
+                        typeBinding.replaying(preloaded, id, TimeRange.unbounded()).filter(snapshot.getCursor()::precedes))
+                        .ifPresent(state -> states.put(id, state));
+            });
+        }
+
+        return states;
+    }
+
+    private Optional<T> buildState(AggregateId typedId, Optional<StateSnapshot> snapshot, EventReplayer replayer) {
+        StateBuilder<T> state = snapshot
+                .map(s -> resumingStateSupplier.apply(stateSerialiser.deserialise(s.getState())))
+                .orElseGet(stateSupplier);
+
+        ReplayTracker tracker = new ReplayTracker();
+        replayer.inAscendingOrder(causalOrdering).replayAll(tracker.andThen(state));
+
+        Optional<T> result = state.get();
+        if (result.isPresent() && tracker.eventCount > 0 && snapshotPolicy.shouldSnapshot(tracker.eventCount, tracker.lastEvent)) {
+            snapshotStore.put(StateSnapshot.of(typedId, EventCursor.at(tracker.latestEvent), stateSerialiser.serialise(result.get())));
+        }
+        return result;
+    }
+}
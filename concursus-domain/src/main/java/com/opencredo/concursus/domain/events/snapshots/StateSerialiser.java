@@ -0,0 +1,50 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Converts state objects to and from the serialised form held in a {@link StateSnapshot}.
+ * @param <T> The type of the state objects.
+ */
+public interface StateSerialiser<T> {
+
+    /**
+     * Create a {@link StateSerialiser} from a pair of functions.
+     * @param serialiser The function to serialise state objects with.
+     * @param deserialiser The function to deserialise state objects with.
+     * @param <T> The type of the state objects.
+     * @return The constructed {@link StateSerialiser}.
+     */
+    static <T> StateSerialiser<T> of(Function<T, String> serialiser, Function<String, T> deserialiser) {
+        checkNotNull(serialiser, "serialiser must not be null");
+        checkNotNull(deserialiser, "deserialiser must not be null");
+
+        return new StateSerialiser<T>() {
+            @Override
+            public String serialise(T state) {
+                return serialiser.apply(state);
+            }
+
+            @Override
+            public T deserialise(String serialised) {
+                return deserialiser.apply(serialised);
+            }
+        };
+    }
+
+    /**
+     * Serialise a state object.
+     * @param state The state object to serialise.
+     * @return The serialised state.
+     */
+    String serialise(T state);
+
+    /**
+     * Deserialise a state object. Each call must return a new object, as the state may be updated by further events.
+     * @param serialised The serialised state.
+     * @return The deserialised state object.
+     */
+    T deserialise(String serialised);
+}
@@ -0,0 +1,83 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The serialised state of an aggregate, built from the events in its history up to and including the position
+ * identified by an {@link EventCursor}.
+ */
+public final class StateSnapshot {
+
+    /**
+     * Create a snapshot of an aggregate's state.
+     * @param aggregateId The {@link AggregateId} of the aggregate.
+     * @param cursor The {@link EventCursor} of the last event applied to the state.
+     * @param state The serialised state.
+     * @return The constructed {@link StateSnapshot}.
+     */
+    public static StateSnapshot of(AggregateId aggregateId, EventCursor cursor, String state) {
+        checkNotNull(aggregateId, "aggregateId must not be null");
+        checkNotNull(cursor, "cursor must not be null");
+        checkNotNull(state, "state must not be null");
+
+        return new StateSnapshot(aggregateId, cursor, state);
+    }
+
+    private final AggregateId aggregateId;
+    private final EventCursor cursor;
+    private final String state;
+
+    private StateSnapshot(AggregateId aggregateId, EventCursor cursor, String state) {
+        this.aggregateId = aggregateId;
+        this.cursor = cursor;
+        this.state = state;
+    }
+
+    /**
+     * Get the id of the aggregate whose state was snapshotted.
+     * @return The {@link AggregateId} of the aggregate.
+     */
+    public AggregateId getAggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * Get the position in the aggregate's history covered by the snapshot.
+     * @return The {@link EventCursor} of the last event applied to the state.
+     */
+    public EventCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Get the serialised state.
+     * @return The serialised state.
+     */
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || (o instanceof StateSnapshot
+                    && ((StateSnapshot) o).aggregateId.equals(aggregateId)
+                    && ((StateSnapshot) o).cursor.equals(cursor)
+                    && ((StateSnapshot) o).state.equals(state));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(aggregateId, cursor, state);
+    }
+
+    @Override
+    public String toString() {
+        return aggregateId + "@" + cursor + ": " + state;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Provides the {@link com.opencredo.concursus.domain.events.snapshots.SnapshotStore} interface, for stores of
+ * serialised aggregate states, and the {@link com.opencredo.concursus.domain.events.snapshots.SnapshottingStateRepository},
+ * which builds states from their latest snapshots so that only the events following each snapshot need be replayed.
+ * <p>
+ *     When snapshots are taken is decided by a {@link com.opencredo.concursus.domain.events.snapshots.SnapshotPolicy},
+ *     for example after every <i>n</i> events, or on an aggregate's terminal event. An
+ *     {@link com.opencredo.concursus.domain.events.snapshots.InMemorySnapshotStore} is provided here; the Cassandra and
+ *     Redis modules provide persistent implementations.
+ * </p>
+ */
+package com.opencredo.concursus.domain.events.snapshots;
@@ -0,0 +1,271 @@
+package com.opencredo.concursus.domain.events.sourcing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.filtering.publisher.EventPublisherPostFilter;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.time.TimeRange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.opencredo.concursus.domain.events.selection.EventSelection.inRange;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A read-through cache of aggregate event histories, decorating an {@link EventRetriever}. On a cache miss the
+ * aggregate's complete history is retrieved, and subsequent requests for any time range are answered from memory.
+ * Histories are cached separately for each {@link EventTypeMatcher} with which they are requested, since the matcher
+ * determines which events are retrieved and how their parameters are deserialised. Matchers are compared by identity,
+ * so callers must reuse the same matcher instance (for example, the one held by an
+ * {@link com.opencredo.concursus.domain.events.binding.EventTypeBinding}) for repeated requests to hit the cache.
+ *
+ * The cache is bounded by a total weight, measured either in events or by an estimate of each event's size, and evicts
+ * the least recently used aggregates first. To keep cached histories current, newly published events should be passed
+ * to {@link #update(Event)}, for example by applying {@link #toPublisherFilter()} to the system's
+ * {@link com.opencredo.concursus.domain.events.publishing.EventPublisher}. Depending on the {@link UpdatePolicy}, each
+ * published event is either appended to the cached histories of its aggregate, or causes them to be discarded.
+ */
+public final class CachingEventRetriever implements EventRetriever {
+
+    /**
+     * What to do with an aggregate's cached histories when a new event is published for it.
+     */
+    public enum UpdatePolicy {
+        /**
+         * Append the event to every cached history whose {@link EventTypeMatcher} matches it. The published event's
+         * parameters must be as the matcher would deserialise them.
+         */
+        APPEND,
+
+        /**
+         * Discard the aggregate's cached histories, so that they are retrieved afresh on the next request.
+         */
+        INVALIDATE
+    }
+
+    private static final Comparator<Event> reverseTimestampOrder = Comparator.comparing(Event::getEventTimestamp)
+            .reversed();
+    private static final int GENERATION_STRIPES = 64;
+
+    /**
+     * Create a cache holding at most the given number of events.
+     * @param eventRetriever The {@link EventRetriever} to retrieve uncached histories with.
+     * @param maxEvents The maximum total number of events to cache.
+     * @param updatePolicy The {@link UpdatePolicy} to apply to published events.
+     * @return The constructed {@link CachingEventRetriever}.
+     */
+    public static CachingEventRetriever withMaxEvents(EventRetriever eventRetriever, long maxEvents, UpdatePolicy updatePolicy) {
+        return withMaxWeight(eventRetriever, maxEvents, event -> 1, updatePolicy);
+    }
+
+    /**
+     * Create a cache holding events up to the given total weight, e.g. an estimate of their size in bytes.
+     * @param eventRetriever The {@link EventRetriever} to retrieve uncached histories with.
+     * @param maxWeight The maximum total weight of events to cache.
+     * @param eventWeigher The function used to weigh each event.
+     * @param updatePolicy The {@link UpdatePolicy} to apply to published events.
+     * @return The constructed {@link CachingEventRetriever}.
+     */
+    public static CachingEventRetriever withMaxWeight(EventRetriever eventRetriever, long maxWeight, ToLongFunction<Event> eventWeigher, UpdatePolicy updatePolicy) {
+        checkNotNull(eventRetriever, "eventRetriever must not be null");
+        checkArgument(maxWeight > 0, "maxWeight must be positive");
+        checkNotNull(eventWeigher, "eventWeigher must not be null");
+        checkNotNull(updatePolicy, "updatePolicy must not be null");
+
+        Cache<AggregateId, CachedHistories> cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .<AggregateId, CachedHistories>weigher((aggregateId, histories) ->
+                        (int) Math.min(Integer.MAX_VALUE, histories.weigh(eventWeigher)))
+                .build();
+
+        return new CachingEventRetriever(eventRetriever, cache, updatePolicy);
+    }
+
+    private static final class CachedHistories {
+
+        private static final CachedHistories EMPTY = new CachedHistories(Collections.emptyMap());
+
+        private final Map<EventTypeMatcher, List<Event>> historiesByMatcher;
+
+        private CachedHistories(Map<EventTypeMatcher, List<Event>> historiesByMatcher) {
+            this.historiesByMatcher = historiesByMatcher;
+        }
+
+        private List<Event> get(EventTypeMatcher matcher) {
+            return historiesByMatcher.get(matcher);
+        }
+
+        private CachedHistories with(EventTypeMatcher matcher, List<Event> history) {
+            Map<EventTypeMatcher, List<Event>> updated = new HashMap<>(historiesByMatcher);
+            updated.put(matcher, history);
+            return new CachedHistories(updated);
+        }
+
+        private CachedHistories appending(Event event) {
+            Map<EventTypeMatcher, List<Event>> updated = new HashMap<>(historiesByMatcher.size());
+            historiesByMatcher.forEach((matcher, history) ->
+                    updated.put(matcher, matcher.match(event.getType()).isPresent() ? insert(history, event) : history));
+            return new CachedHistories(updated);
+        }
+
+        private static List<Event> insert(List<Event> history, Event event) {
+            int index = Collections.binarySearch(history, event, reverseTimestampOrder);
+            if (index >= 0) {
+                return history;
+            }
+
+            List<Event> updated = new ArrayList<>(history.size() + 1);
+            updated.addAll(history);
+            updated.add(-index - 1, event);
+            return Collections.unmodifiableList(updated);
+        }
+
+        private long weigh(ToLongFunction<Event> eventWeigher) {
+            return historiesByMatcher.values().stream()
+                    .flatMap(List::stream)
+                    .mapToLong(eventWeigher)
+                    .sum();
+        }
+    }
+
+    private final EventRetriever eventRetriever;
+    private final Cache<AggregateId, CachedHistories> cache;
+    private final UpdatePolicy updatePolicy;
+
+    // Incremented for an aggregate's stripe whenever an event is published for it, so that histories retrieved
+    // concurrently with a publication (which may not include the published event) are not cached.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private CachingEventRetriever(EventRetriever eventRetriever, Cache<AggregateId, CachedHistories> cache, UpdatePolicy updatePolicy) {
+        this.eventRetriever = eventRetriever;
+        this.cache = cache;
+        this.updatePolicy = updatePolicy;
+    }
+
+    @Override
+    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        List<Event> history = getCached(matcher, aggregateId);
+
+        if (history == null) {
+            long generation = getGeneration(aggregateId);
+            history = eventRetriever.getEvents(matcher, aggregateId, TimeRange.unbounded());
+            cache(matcher, aggregateId, history, generation);
+        }
+
+        return select(history, timeRange);
+    }
+
+    @Override
+    public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+        Map<AggregateId, List<Event>> result = new HashMap<>();
+        Map<AggregateId, Long> missGenerations = new HashMap<>();
+
+        aggregateIds.forEach(id -> {
+            AggregateId aggregateId = AggregateId.of(aggregateType, id);
+            List<Event> history = getCached(matcher, aggregateId);
+            if (history == null) {
+                missGenerations.put(aggregateId, getGeneration(aggregateId));
+            } else {
+                result.put(aggregateId, select(history, timeRange));
+            }
+        });
+
+        if (!missGenerations.isEmpty()) {
+            Map<AggregateId, List<Event>> retrieved = eventRetriever.getEvents(
+                    matcher,
+                    aggregateType,
+                    missGenerations.keySet().stream().map(AggregateId::getId).collect(toList()),
+                    TimeRange.unbounded());
+
+            missGenerations.forEach((aggregateId, generation) -> {
+                List<Event> history = retrieved.getOrDefault(aggregateId, Collections.emptyList());
+                cache(matcher, aggregateId, history, generation);
+                result.put(aggregateId, select(history, timeRange));
+            });
+        }
+
+        return result;
+    }
+
+    private List<Event> getCached(EventTypeMatcher matcher, AggregateId aggregateId) {
+        CachedHistories histories = cache.getIfPresent(aggregateId);
+        return histories == null ? null : histories.get(matcher);
+    }
+
+    private void cache(EventTypeMatcher matcher, AggregateId aggregateId, List<Event> history, long generation) {
+        if (getGeneration(aggregateId) != generation) {
+            return;
+        }
+
+        List<Event> sorted = new ArrayList<>(history);
+        sorted.sort(reverseTimestampOrder);
+        List<Event> immutableHistory = Collections.unmodifiableList(sorted);
+
+        cache.asMap().merge(aggregateId, CachedHistories.EMPTY.with(matcher, immutableHistory),
+                (existing, added) -> existing.with(matcher, immutableHistory));
+
+        // An event published while the history was being cached may have been missed.
+        if (getGeneration(aggregateId) != generation) {
+            cache.invalidate(aggregateId);
+        }
+    }
+
+    private static List<Event> select(List<Event> history, TimeRange timeRange) {
+        return timeRange.isUnbounded()
+                ? history
+                : history.stream().filter(inRange(timeRange)).collect(toList());
+    }
+
+    /**
+     * Update the cached histories of an event's aggregate, according to this cache's {@link UpdatePolicy}.
+     * @param event The newly published {@link Event}.
+     */
+    public void update(Event event) {
+        AggregateId aggregateId = event.getAggregateId();
+        generations.incrementAndGet(getStripe(aggregateId));
+
+        if (updatePolicy == UpdatePolicy.APPEND) {
+            cache.asMap().computeIfPresent(aggregateId, (id, histories) -> histories.appending(event));
+        } else {
+            cache.invalidate(aggregateId);
+        }
+    }
+
+    /**
+     * Discard all cached histories for an aggregate.
+     * @param aggregateId The {@link AggregateId} of the aggregate.
+     */
+    public void invalidate(AggregateId aggregateId) {
+        generations.incrementAndGet(getStripe(aggregateId));
+        cache.invalidate(aggregateId);
+    }
+
+    /**
+     * Create an {@link EventPublisherPostFilter} which updates this cache with each {@link Event} after it has been
+     * published.
+     * @return The constructed {@link EventPublisherPostFilter}.
+     */
+    public EventPublisherPostFilter toPublisherFilter() {
+        return (eventPublisher, event) -> update(event);
+    }
+
+    private long getGeneration(AggregateId aggregateId) {
+        return generations.get(getStripe(aggregateId));
+    }
+
+    private static int getStripe(AggregateId aggregateId) {
+        return Math.abs(aggregateId.hashCode() % GENERATION_STRIPES);
+    }
+}
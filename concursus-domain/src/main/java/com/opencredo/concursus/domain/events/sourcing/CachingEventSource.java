@@ -42,4 +42,24 @@ final class CachingEventSource implements EventSource {
 
         return eventRetriever.getEvents(matcher, aggregateId, timeRange);
     }
+
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        checkNotNull(matcher, "matcher must not be null");
+        checkNotNull(aggregateId, "aggregateId must not be null");
+        checkNotNull(cursor, "cursor must not be null");
+
+        return eventRetriever.getEventsAfter(matcher, aggregateId, cursor);
+    }
+
+    @Override
+    public EventReplayer replaying(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        checkNotNull(matcher, "matcher must not be null");
+        checkNotNull(aggregateId, "aggregateId must not be null");
+        checkNotNull(timeRange, "timeRange must not be null");
+
+        return EventReplayer.streaming(
+                () -> eventRetriever.streamEvents(matcher, aggregateId, timeRange),
+                () -> eventRetriever.streamEventsAscending(matcher, aggregateId, timeRange));
+    }
 }
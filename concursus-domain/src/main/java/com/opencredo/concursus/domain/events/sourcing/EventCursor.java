@@ -0,0 +1,118 @@
+package com.opencredo.concursus.domain.events.sourcing;
+
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A position within an aggregate's event history, identified by the {@link StreamTimestamp} and processing id of the
+ * last event a caller has seen. Events are ordered by stream timestamp, and then by processing id, with unprocessed
+ * events first and time-based processing ids in order of processing time. Unlike a {@link TimeRange} lower bound, a
+ * cursor distinguishes between events occurring at the same instant in different streams.
+ */
+public final class EventCursor {
+
+    private static final Comparator<Optional<UUID>> processingIdOrder = (left, right) ->
+            !left.isPresent() || !right.isPresent()
+                    ? Boolean.compare(left.isPresent(), right.isPresent())
+                    : compareProcessingIds(left.get(), right.get());
+
+    /**
+     * Create a cursor positioned at the given event, so that only events following it are retrieved.
+     * @param event The last {@link Event} seen.
+     * @return The constructed {@link EventCursor}.
+     */
+    public static EventCursor at(Event event) {
+        checkNotNull(event, "event must not be null");
+
+        return of(event.getEventTimestamp(), event.getProcessingId());
+    }
+
+    /**
+     * Create a cursor positioned at the given stream timestamp and processing id.
+     * @param eventTimestamp The {@link StreamTimestamp} of the last event seen.
+     * @param processingId The processing id of the last event seen, if it had one.
+     * @return The constructed {@link EventCursor}.
+     */
+    public static EventCursor of(StreamTimestamp eventTimestamp, Optional<UUID> processingId) {
+        checkNotNull(eventTimestamp, "eventTimestamp must not be null");
+        checkNotNull(processingId, "processingId must not be null");
+
+        return new EventCursor(eventTimestamp, processingId);
+    }
+
+    private final StreamTimestamp eventTimestamp;
+    private final Optional<UUID> processingId;
+
+    private EventCursor(StreamTimestamp eventTimestamp, Optional<UUID> processingId) {
+        this.eventTimestamp = eventTimestamp;
+        this.processingId = processingId;
+    }
+
+    /**
+     * Get the stream timestamp of the cursor.
+     * @return The {@link StreamTimestamp} of the cursor.
+     */
+    public StreamTimestamp getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    /**
+     * Get the processing id of the cursor.
+     * @return The processing id of the cursor, or {@link Optional}::empty if it has none.
+     */
+    public Optional<UUID> getProcessingId() {
+        return processingId;
+    }
+
+    /**
+     * Test whether an event follows this cursor.
+     * @param event The {@link Event} to test.
+     * @return True if the event is strictly after this cursor, false otherwise.
+     */
+    public boolean precedes(Event event) {
+        int comparison = StreamTimestamp.COMPARATOR.compare(event.getEventTimestamp(), eventTimestamp);
+        return comparison > 0
+                || (comparison == 0 && processingIdOrder.compare(event.getProcessingId(), processingId) > 0);
+    }
+
+    /**
+     * The narrowest {@link TimeRange} containing every event which follows this cursor. Events in the range must still
+     * be tested with {@link #precedes(Event)}, as it includes events occurring at the cursor's instant.
+     * @return The {@link TimeRange} from the cursor's instant, inclusive, onwards.
+     */
+    public TimeRange toTimeRange() {
+        return TimeRange.fromInclusive(eventTimestamp.getTimestamp()).toUnbounded();
+    }
+
+    private static int compareProcessingIds(UUID left, UUID right) {
+        return left.version() == 1 && right.version() == 1 && left.timestamp() != right.timestamp()
+                ? Long.compare(left.timestamp(), right.timestamp())
+                : left.compareTo(right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || (o instanceof EventCursor
+                    && ((EventCursor) o).eventTimestamp.equals(eventTimestamp)
+                    && ((EventCursor) o).processingId.equals(processingId));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventTimestamp, processingId);
+    }
+
+    @Override
+    public String toString() {
+        return eventTimestamp + processingId.map(id -> "/" + id).orElse("");
+    }
+}
@@ -7,6 +7,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -18,38 +19,57 @@ public final class EventReplayer {
 
     /**
      * Create an {@link EventReplayer} replaying the supplied {@link Event}s.
-     * @param events The {@link Event}s to replay.
+     * @param events The {@link Event}s to replay, in time-descending order.
      * @return The constructed {@link EventReplayer}.
      */
     public static EventReplayer of(List<Event> events) {
-        return new EventReplayer(events, List::stream, Optional.empty());
+        return streaming(events::stream, () -> StreamSupport.stream(ReverseListSpliterator.over(events), false));
     }
 
-    private final List<Event> events;
-    private final Function<List<Event>, Stream<Event>> orderedStreamer;
+    /**
+     * Create an {@link EventReplayer} replaying {@link Event}s obtained from the supplied {@link Stream} sources. A new
+     * stream is requested each time events are replayed or collected, so that events can be retrieved lazily rather
+     * than held in memory.
+     * @param descending A source of {@link Stream}s of the events to replay, in time-descending order.
+     * @param ascending A source of {@link Stream}s of the events to replay, in time-ascending order.
+     * @return The constructed {@link EventReplayer}.
+     */
+    public static EventReplayer streaming(Supplier<Stream<Event>> descending, Supplier<Stream<Event>> ascending) {
+        return new EventReplayer(descending, ascending, descending, Optional.empty());
+    }
+
+    private final Supplier<Stream<Event>> descending;
+    private final Supplier<Stream<Event>> ascending;
+    private final Supplier<Stream<Event>> orderedStreamer;
     private final Optional<Predicate<Event>> filter;
 
-    private EventReplayer(List<Event> events, Function<List<Event>, Stream<Event>> orderedStreamer, Optional<Predicate<Event>> filter) {
-        this.events = events;
+    private EventReplayer(Supplier<Stream<Event>> descending, Supplier<Stream<Event>> ascending, Supplier<Stream<Event>> orderedStreamer, Optional<Predicate<Event>> filter) {
+        this.descending = descending;
+        this.ascending = ascending;
         this.orderedStreamer = orderedStreamer;
         this.filter = filter;
     }
 
+    private EventReplayer inOrder(Supplier<Stream<Event>> orderedStreamer) {
+        return new EventReplayer(descending, ascending, orderedStreamer, filter);
+    }
+
     /**
      * Set the order to ascending.
      * @return An {@link EventReplayer} replaying events in time-ascending order.
      */
     public EventReplayer inAscendingOrder() {
-        return new EventReplayer(events, this::reverseStream, filter);
+        return inOrder(ascending);
     }
 
     /**
-     * Set the order to ascending, sorted by the supplied {@link Comparator}.
+     * Set the order to ascending, sorted by the supplied {@link Comparator}. Note that sorting requires all events to
+     * be held in memory.
      * @param comparator The {@link Comparator} comparator to use to sort events.
      * @return An {@link EventReplayer} replaying events in time-ascending order.
      */
     public EventReplayer inAscendingOrder(Comparator<Event> comparator) {
-        return new EventReplayer(events, eventList -> reverseStream(eventList).sorted(comparator), filter);
+        return inOrder(() -> ascending.get().sorted(comparator));
     }
 
     /**
@@ -57,20 +77,17 @@ public final class EventReplayer {
      * @return An {@link EventReplayer} replaying events in time-descending order.
      */
     public EventReplayer inDescendingOrder() {
-        return new EventReplayer(events, List::stream, filter);
+        return inOrder(descending);
     }
 
     /**
-     * Set the order to descending, sorted by the supplied {@link Comparator}.
+     * Set the order to descending, sorted by the supplied {@link Comparator}. Note that sorting requires all events to
+     * be held in memory.
      * @param comparator The {@link Comparator} comparator to use to sort events.
      * @return An {@link EventReplayer} replaying events in time-descending order.
      */
     public EventReplayer inDescendingOrder(Comparator<Event> comparator) {
-        return new EventReplayer(events, eventList -> eventList.stream().sorted(comparator.reversed()), filter);
-    }
-
-    private Stream<Event> reverseStream(List<Event> eventList) {
-        return StreamSupport.stream(ReverseListSpliterator.over(eventList), false);
+        return inOrder(() -> descending.get().sorted(comparator.reversed()));
     }
 
     /**
@@ -79,7 +96,7 @@ public final class EventReplayer {
      * @return An {@link EventReplayer} replaying events which match the filter.
      */
     public EventReplayer filter(Predicate<Event> predicate) {
-        return new EventReplayer(events, orderedStreamer, Optional.of(predicate));
+        return new EventReplayer(descending, ascending, orderedStreamer, Optional.of(predicate));
     }
 
     /**
@@ -91,8 +108,8 @@ public final class EventReplayer {
     }
 
     private Stream<Event> stream() {
-        return filter.map(orderedStreamer.apply(events)::filter)
-                .orElseGet(() -> orderedStreamer.apply(events));
+        Stream<Event> ordered = orderedStreamer.get();
+        return filter.map(ordered::filter).orElse(ordered);
     }
 
     /**
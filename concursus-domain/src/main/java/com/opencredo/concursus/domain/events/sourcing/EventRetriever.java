@@ -8,6 +8,9 @@ import com.opencredo.concursus.domain.time.TimeRange;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A means of retrieving {@link Event}s for a given aggregate or group of aggregates.
@@ -23,6 +26,44 @@ public interface EventRetriever {
      */
     List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange);
 
+    /**
+     * Stream the {@link Event}s in the event history for the given {@link AggregateId} that are matched by the supplied {@link EventTypeMatcher} and fall within the given {@link TimeRange}, in time-descending order.
+     * Implementations may retrieve events lazily as the stream is consumed; the default implementation streams over the result of {@link #getEvents(EventTypeMatcher, AggregateId, TimeRange)}.
+     * @param matcher An {@link EventTypeMatcher} that provides {@link com.opencredo.concursus.data.tuples.TupleSchema}s for {@link com.opencredo.concursus.domain.events.EventType}s. Only events matched by this matcher will be returned.
+     * @param aggregateId The {@link AggregateId} to retrieve events for.
+     * @param timeRange The {@link TimeRange} to restrict returned events to.
+     * @return A {@link Stream} of the retrieved events, in time-descending order.
+     */
+    default Stream<Event> streamEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return getEvents(matcher, aggregateId, timeRange).stream();
+    }
+
+    /**
+     * Stream the {@link Event}s in the event history for the given {@link AggregateId} that are matched by the supplied {@link EventTypeMatcher} and fall within the given {@link TimeRange}, in time-ascending order.
+     * Implementations may retrieve events lazily as the stream is consumed; the default implementation streams in reverse over the result of {@link #getEvents(EventTypeMatcher, AggregateId, TimeRange)}.
+     * @param matcher An {@link EventTypeMatcher} that provides {@link com.opencredo.concursus.data.tuples.TupleSchema}s for {@link com.opencredo.concursus.domain.events.EventType}s. Only events matched by this matcher will be returned.
+     * @param aggregateId The {@link AggregateId} to retrieve events for.
+     * @param timeRange The {@link TimeRange} to restrict returned events to.
+     * @return A {@link Stream} of the retrieved events, in time-ascending order.
+     */
+    default Stream<Event> streamEventsAscending(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return StreamSupport.stream(ReverseListSpliterator.over(getEvents(matcher, aggregateId, timeRange)), false);
+    }
+
+    /**
+     * Fetch the {@link Event}s in the event history for the given {@link AggregateId} that are matched by the supplied {@link EventTypeMatcher} and follow the given {@link EventCursor}, in time-descending order.
+     * The default implementation retrieves events from the cursor's instant onwards, and discards those which do not strictly follow the cursor.
+     * @param matcher An {@link EventTypeMatcher} that provides {@link com.opencredo.concursus.data.tuples.TupleSchema}s for {@link com.opencredo.concursus.domain.events.EventType}s. Only events matched by this matcher will be returned.
+     * @param aggregateId The {@link AggregateId} to retrieve events for.
+     * @param cursor The {@link EventCursor} after which to retrieve events.
+     * @return The retrieved events, in time-descending order.
+     */
+    default List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return getEvents(matcher, aggregateId, cursor.toTimeRange()).stream()
+                .filter(cursor::precedes)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Fetch all of the {@link Event}s in the event histories for the given aggregate ids that are matched by the supplied {@link EventTypeMatcher} and fall within the given {@link TimeRange}.
      * @param matcher An {@link EventTypeMatcher} that provides {@link com.opencredo.concursus.data.tuples.TupleSchema}s for {@link com.opencredo.concursus.domain.events.EventType}s. Only events matched by this matcher will be returned.
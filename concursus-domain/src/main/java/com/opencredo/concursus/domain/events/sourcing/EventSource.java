@@ -7,6 +7,7 @@ import com.opencredo.concursus.domain.time.TimeRange;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * A source of {@link Event}s, which can be retrieved, replayed or pre-loaded.
@@ -33,6 +34,31 @@ public interface EventSource {
         return EventReplayer.of(getEvents(matcher, aggregateId, timeRange));
     }
 
+    /**
+     * Retrieve the events for an aggregate which follow the given {@link EventCursor}, in time-descending order, e.g.
+     * to bring up to date a state already built from the events up to the cursor.
+     * @param matcher The {@link EventTypeMatcher} to use to match and deserialise events.
+     * @param aggregateId The {@link AggregateId} of the aggregate.
+     * @param cursor The {@link EventCursor} after which to retrieve events.
+     * @return The retrieved events, in time-descending order.
+     */
+    default List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return getEvents(matcher, aggregateId, cursor.toTimeRange()).stream()
+                .filter(cursor::precedes)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replay the events for an aggregate which follow the given {@link EventCursor}.
+     * @param matcher The {@link EventTypeMatcher} to use to match and deserialise events.
+     * @param aggregateId The {@link AggregateId} of the aggregate.
+     * @param cursor The {@link EventCursor} after which to replay events.
+     * @return An {@link EventReplayer} over the events following the cursor.
+     */
+    default EventReplayer replayingAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return EventReplayer.of(getEventsAfter(matcher, aggregateId, cursor));
+    }
+
     default EventReplayer replaying(EventTypeMatcher matcher, AggregateId aggregateId) {
         return replaying(matcher, aggregateId, TimeRange.unbounded());
     }
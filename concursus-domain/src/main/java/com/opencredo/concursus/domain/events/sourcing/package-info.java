@@ -9,5 +9,10 @@
  * retrieve events for a group of aggregates in a single query, then replay the event history of each aggregate in the
  * group separately from memory.
  * </p>
+ * <p>
+ * For aggregates which are read repeatedly, a {@link com.opencredo.concursus.domain.events.sourcing.CachingEventRetriever}
+ * can be placed in front of the event retriever to keep their histories in a bounded read-through cache, which is kept
+ * current with newly published events.
+ * </p>
  */
 package com.opencredo.concursus.domain.events.sourcing;
\ No newline at end of file
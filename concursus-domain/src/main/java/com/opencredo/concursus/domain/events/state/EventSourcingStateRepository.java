@@ -1,5 +1,6 @@
 package com.opencredo.concursus.domain.events.state;
 
+import com.google.common.collect.Lists;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.binding.EventTypeBinding;
 import com.opencredo.concursus.domain.events.sourcing.CachedEventSource;
@@ -11,26 +12,67 @@ import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StateRepository} which builds each aggregate's state by replaying its event history into a fresh
+ * {@link StateBuilder}.
+ *
+ * By default, the states requested by {@link #getStates(Collection, Instant)} are built one after another, once the
+ * events for all of the requested aggregates have been preloaded. A repository created with an {@link Executor} instead
+ * preloads the requested aggregates in batches, and replays each aggregate's history as a separate task on the executor
+ * as soon as its batch has been retrieved, so that replay proceeds in parallel and overlaps with the retrieval of later
+ * batches.
+ * @param <T> The type of the state objects built by this repository.
+ */
 public final class EventSourcingStateRepository<T> implements StateRepository<T> {
 
     public static <T> EventSourcingStateRepository<T> using(Supplier<StateBuilder<T>> stateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering) {
-        return new EventSourcingStateRepository<T>(stateSupplier, eventSource, typeBinding, causalOrdering);
+        return new EventSourcingStateRepository<T>(stateSupplier, eventSource, typeBinding, causalOrdering, Optional.empty(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a repository which builds the states requested together in parallel on the supplied {@link Executor}, for
+     * example a {@link java.util.concurrent.ForkJoinPool}.
+     * @param stateSupplier Supplies a new {@link StateBuilder} for each aggregate.
+     * @param eventSource The {@link EventSource} to retrieve events from.
+     * @param typeBinding The {@link EventTypeBinding} for the aggregate type.
+     * @param causalOrdering The order in which each aggregate's events are replayed.
+     * @param executor The {@link Executor} on which to retrieve batches of events and replay each aggregate's history.
+     * @param batchSize The maximum number of aggregates whose events are retrieved together.
+     * @param <T> The type of the state objects to build.
+     * @return The constructed {@link EventSourcingStateRepository}.
+     */
+    public static <T> EventSourcingStateRepository<T> using(Supplier<StateBuilder<T>> stateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering, Executor executor, int batchSize) {
+        checkNotNull(executor, "executor must not be null");
+        checkArgument(batchSize > 0, "batchSize must be positive");
+
+        return new EventSourcingStateRepository<T>(stateSupplier, eventSource, typeBinding, causalOrdering, Optional.of(executor), batchSize);
     }
 
     private final Supplier<StateBuilder<T>> stateSupplier;
     private final EventSource eventSource;
     private final EventTypeBinding typeBinding;
     private final Comparator<Event> causalOrdering;
+    private final Optional<Executor> executor;
+    private final int batchSize;
 
-    private EventSourcingStateRepository(Supplier<StateBuilder<T>> stateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering) {
+    private EventSourcingStateRepository(Supplier<StateBuilder<T>> stateSupplier, EventSource eventSource, EventTypeBinding typeBinding, Comparator<Event> causalOrdering, Optional<Executor> executor, int batchSize) {
         this.stateSupplier = stateSupplier;
         this.eventSource = eventSource;
         this.typeBinding = typeBinding;
         this.causalOrdering = causalOrdering;
+        this.executor = executor;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -46,10 +88,44 @@ public final class EventSourcingStateRepository<T> implements StateRepository<T>
 
     @Override
     public Map<String, T> getStates(Collection<String> aggregateIds, Instant upTo) {
-        final CachedEventSource preloaded = typeBinding.preload(eventSource, aggregateIds, TimeRange.fromUnbounded().toExclusive(upTo));
+        TimeRange timeRange = TimeRange.fromUnbounded().toExclusive(upTo);
+        return executor.map(e -> getStatesInParallel(aggregateIds, timeRange, e))
+                .orElseGet(() -> getStatesSequentially(aggregateIds, timeRange));
+    }
+
+    private Map<String, T> getStatesSequentially(Collection<String> aggregateIds, TimeRange timeRange) {
+        final CachedEventSource preloaded = typeBinding.preload(eventSource, aggregateIds, timeRange);
         return aggregateIds.stream().flatMap(id ->
                 getState(typeBinding.replaying(preloaded, id, TimeRange.unbounded()))
                         .map(s -> Stream.of(new SimpleEntry<>(id, s))).orElseGet(Stream::empty))
             .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
     }
+
+    private Map<String, T> getStatesInParallel(Collection<String> aggregateIds, TimeRange timeRange, Executor executor) {
+        Map<String, T> states = new ConcurrentHashMap<>();
+        List<String> distinctIds = aggregateIds.stream().distinct().collect(Collectors.toList());
+
+        CompletableFuture<?>[] batches = Lists.partition(distinctIds, batchSize).stream()
+                .map(batch -> CompletableFuture
+                        .supplyAsync(() -> typeBinding.preload(eventSource, batch, timeRange), executor)
+                        .thenCompose(preloaded -> replayAll(preloaded, batch, states, executor)))
+                .toArray(CompletableFuture<?>[]::new);
+
+        try {
+            CompletableFuture.allOf(batches).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        return states;
+    }
+
+    private CompletableFuture<Void> replayAll(CachedEventSource preloaded, List<String> batch, Map<String, T> states, Executor executor) {
+        return CompletableFuture.allOf(batch.stream()
+                .map(id -> CompletableFuture.runAsync(() ->
+                        getState(typeBinding.replaying(preloaded, id, TimeRange.unbounded()))
+                                .ifPresent(state -> states.put(id, state)),
+                        executor))
+                .toArray(CompletableFuture<?>[]::new));
+    }
 }
@@ -0,0 +1,118 @@
+package com.opencredo.concursus.domain.events.storage;
+
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.time.TimeRange;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The events stored for a single aggregate, held in an array in ascending timestamp order. Writers are serialised by
+ * locking the log; readers take no lock, but read an immutable snapshot of the array and its size, published through a
+ * volatile field. Events arriving in timestamp order are appended in place, into array slots beyond the size of any
+ * published snapshot; only out-of-order events cause the array to be copied. Events having the same timestamp as an
+ * event already in the log are ignored, so an {@link EventCursor} can be located by binary search.
+ */
+final class AggregateEventLog {
+
+    private static final Comparator<Event> timestampOrder = Comparator.comparing(Event::getEventTimestamp);
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final class Snapshot {
+        private final Event[] events;
+        private final int size;
+
+        private Snapshot(Event[] events, int size) {
+            this.events = events;
+            this.size = size;
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new Event[INITIAL_CAPACITY], 0);
+
+    synchronized void append(Collection<Event> newEvents) {
+        Event[] events = snapshot.events;
+        int size = snapshot.size;
+
+        for (Event event : newEvents) {
+            if (size == 0 || timestampOrder.compare(events[size - 1], event) < 0) {
+                if (size == events.length) {
+                    events = Arrays.copyOf(events, size * 2);
+                }
+                events[size++] = event;
+                continue;
+            }
+
+            int index = Arrays.binarySearch(events, 0, size, event, timestampOrder);
+            if (index >= 0) {
+                continue;
+            }
+
+            // Slots below the published size may be being read, so out-of-order events are inserted into a copy.
+            int insertionPoint = -index - 1;
+            Event[] copy = new Event[size == events.length ? size * 2 : events.length];
+            System.arraycopy(events, 0, copy, 0, insertionPoint);
+            copy[insertionPoint] = event;
+            System.arraycopy(events, insertionPoint, copy, insertionPoint + 1, size - insertionPoint);
+            events = copy;
+            size++;
+        }
+
+        snapshot = new Snapshot(events, size);
+    }
+
+    List<Event> getEvents(EventTypeMatcher matcher, TimeRange timeRange) {
+        Snapshot current = snapshot;
+
+        int from = timeRange.getLowerBound()
+                .map(lower -> firstIndexWhere(current, event -> lower.containsLower(timestampOf(event))))
+                .orElse(0);
+        int to = timeRange.getUpperBound()
+                .map(upper -> firstIndexWhere(current, event -> !upper.containsUpper(timestampOf(event))))
+                .orElse(current.size);
+
+        return select(current, matcher, from, to);
+    }
+
+    List<Event> getEventsAfter(EventTypeMatcher matcher, EventCursor cursor) {
+        Snapshot current = snapshot;
+        return select(current, matcher, firstIndexWhere(current, cursor::precedes), current.size);
+    }
+
+    private static List<Event> select(Snapshot snapshot, EventTypeMatcher matcher, int from, int to) {
+        List<Event> selected = new ArrayList<>(Math.max(0, to - from));
+        for (int i = to - 1; i >= from; i--) {
+            Event event = snapshot.events[i];
+            if (matcher.match(event.getType()).isPresent()) {
+                selected.add(event);
+            }
+        }
+        return selected;
+    }
+
+    private static Instant timestampOf(Event event) {
+        return event.getEventTimestamp().getTimestamp();
+    }
+
+    // Binary search for the first event whose timestamp satisfies a predicate which is monotonic over the log.
+    private static int firstIndexWhere(Snapshot snapshot, Predicate<Event> predicate) {
+        int low = 0;
+        int high = snapshot.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(snapshot.events[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
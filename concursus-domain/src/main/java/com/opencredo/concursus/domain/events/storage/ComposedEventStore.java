@@ -4,12 +4,14 @@ import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 import com.opencredo.concursus.domain.events.persisting.EventPersister;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
 import com.opencredo.concursus.domain.time.TimeRange;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * An {@link EventStore} composed of an {@link EventPersister} and an {@link EventRetriever}.
@@ -39,6 +41,21 @@ public final class ComposedEventStore implements EventStore {
         return eventRetriever.getEvents(matcher, aggregateId, timeRange);
     }
 
+    @Override
+    public Stream<Event> streamEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return eventRetriever.streamEvents(matcher, aggregateId, timeRange);
+    }
+
+    @Override
+    public Stream<Event> streamEventsAscending(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return eventRetriever.streamEventsAscending(matcher, aggregateId, timeRange);
+    }
+
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return eventRetriever.getEventsAfter(matcher, aggregateId, cursor);
+    }
+
     @Override
     public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
         return eventRetriever.getEvents(matcher, aggregateType, aggregateIds, timeRange);
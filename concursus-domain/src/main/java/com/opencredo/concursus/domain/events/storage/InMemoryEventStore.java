@@ -3,22 +3,23 @@ package com.opencredo.concursus.domain.events.storage;
 import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.time.TimeRange;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import static com.opencredo.concursus.domain.events.selection.EventSelection.*;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 /**
- * An in-memory {@link EventStore}, primarily for testing purposes.
+ * An in-memory {@link EventStore}. Each aggregate's events are held in an append-optimised array, ordered by timestamp,
+ * which writers to that aggregate lock and readers access without locking through a safely-published snapshot.
+ * Time-range queries locate their bounds by binary search.
  */
 public final class InMemoryEventStore implements EventStore {
 
-    private static final Comparator<Event> reverseTimestampOrder = Comparator.comparing(Event::getEventTimestamp)
-            .reversed();
-
     public static InMemoryEventStore empty() {
         return new InMemoryEventStore(new ConcurrentHashMap<>());
     }
@@ -29,33 +30,51 @@ public final class InMemoryEventStore implements EventStore {
         return eventStore;
     }
 
-    private final ConcurrentMap<AggregateId, Set<Event>> events;
+    private final ConcurrentMap<AggregateId, AggregateEventLog> events;
 
-    private InMemoryEventStore(ConcurrentMap<AggregateId, Set<Event>> events) {
+    private InMemoryEventStore(ConcurrentMap<AggregateId, AggregateEventLog> events) {
         this.events = events;
     }
 
     @Override
     public void accept(Collection<Event> events) {
-        events.forEach(this::store);
+        if (events.size() == 1) {
+            Event event = events.iterator().next();
+            getLog(event.getAggregateId()).append(events);
+            return;
+        }
+
+        events.stream()
+                .collect(groupingBy(Event::getAggregateId, LinkedHashMap::new, toList()))
+                .forEach((aggregateId, eventsForAggregate) -> getLog(aggregateId).append(eventsForAggregate));
     }
 
-    private void store(Event event) {
-        events.compute(event.getAggregateId(),
-                (id, events) -> {
-                    Set<Event> updatedEvents = events == null ? new TreeSet<>(reverseTimestampOrder) : events;
-                    updatedEvents.add(event);
-                    return updatedEvents;
-                });
+    private AggregateEventLog getLog(AggregateId aggregateId) {
+        return events.computeIfAbsent(aggregateId, id -> new AggregateEventLog());
     }
 
     @Override
     public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
-        return selectEvents(events, inRange(timeRange).and(matchedBy(matcher)), aggregateId);
+        AggregateEventLog log = events.get(aggregateId);
+        return log == null ? Collections.emptyList() : log.getEvents(matcher, timeRange);
+    }
+
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        AggregateEventLog log = events.get(aggregateId);
+        return log == null ? Collections.emptyList() : log.getEventsAfter(matcher, cursor);
     }
 
     @Override
     public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
-        return selectEvents(events, matchedBy(matcher).and(inRange(timeRange)), aggregateType, aggregateIds);
+        Map<AggregateId, List<Event>> result = new HashMap<>();
+        aggregateIds.forEach(id -> {
+            AggregateId aggregateId = AggregateId.of(aggregateType, id);
+            AggregateEventLog log = events.get(aggregateId);
+            if (log != null) {
+                result.put(aggregateId, log.getEvents(matcher, timeRange));
+            }
+        });
+        return result;
     }
 }
@@ -9,6 +9,7 @@ import com.opencredo.concursus.domain.events.dispatching.EventBus;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
 import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
 import com.opencredo.concursus.domain.events.sourcing.CachedEventSource;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
 import com.opencredo.concursus.domain.events.sourcing.EventSource;
 import com.opencredo.concursus.domain.events.storage.InMemoryEventStore;
 import com.opencredo.concursus.domain.time.StreamTimestamp;
@@ -18,12 +19,18 @@ import org.junit.Test;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
 public class InMemoryEventStoreTest {
@@ -87,6 +94,91 @@ public class InMemoryEventStoreTest {
                 update2, update1);
     }
 
+    @Test
+    public void mergesOutOfOrderEventsAcrossBatches() {
+        AggregateId aggregateId = AggregateId.of("test", "id1");
+
+        Event created = Event.of(aggregateId, timestamp.apply(10), VersionedName.of("created"), empty);
+        Event update1 = Event.of(aggregateId, timestamp.apply(20), VersionedName.of("updated"), empty);
+        Event update2 = Event.of(aggregateId, timestamp.apply(30), VersionedName.of("updated"), empty);
+        Event update3 = Event.of(aggregateId, timestamp.apply(40), VersionedName.of("updated"), empty);
+        Event update4 = Event.of(aggregateId, timestamp.apply(50), VersionedName.of("updated"), empty);
+
+        bus.dispatch(batch -> {
+            batch.accept(created);
+            batch.accept(update2);
+        });
+        bus.dispatch(batch -> {
+            batch.accept(update4);
+            batch.accept(update1);
+            batch.accept(update2);
+        });
+        bus.dispatch(batch -> batch.accept(update3));
+
+        assertRetrieved(eventSource.getEvents(eventTypeMatcher, aggregateId), update4, update3, update2, update1, created);
+
+        assertRetrieved(eventStore.getEvents(eventTypeMatcher, aggregateId, TimeRange.fromExclusive(startTime.plusMillis(20)).toInclusive(startTime.plusMillis(40))),
+                update3, update2);
+    }
+
+    @Test
+    public void retrievesEventsStrictlyAfterCursor() {
+        AggregateId aggregateId = AggregateId.of("test", "id1");
+        Instant sameInstant = startTime.plusMillis(20);
+
+        Event created = Event.of(aggregateId, timestamp.apply(10), VersionedName.of("created"), empty);
+        Event updateA = Event.of(aggregateId, StreamTimestamp.of("a", sameInstant), VersionedName.of("updated"), empty);
+        Event updateB = Event.of(aggregateId, StreamTimestamp.of("b", sameInstant), VersionedName.of("updated"), empty);
+        Event update2 = Event.of(aggregateId, timestamp.apply(30), VersionedName.of("updated"), empty);
+
+        bus.dispatch(batch -> {
+            batch.accept(created);
+            batch.accept(updateA);
+            batch.accept(updateB);
+            batch.accept(update2);
+        });
+
+        List<Event> stored = eventStore.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+        Event lastSeen = stored.get(2);
+        assertRetrieved(Arrays.asList(lastSeen), updateA);
+
+        assertRetrieved(eventSource.getEventsAfter(eventTypeMatcher, aggregateId, EventCursor.at(lastSeen)),
+                update2, updateB);
+        assertRetrieved(eventStore.getEventsAfter(eventTypeMatcher, aggregateId, EventCursor.of(updateB.getEventTimestamp(), Optional.empty())),
+                update2);
+        assertThat(eventStore.getEventsAfter(eventTypeMatcher, aggregateId, EventCursor.at(stored.get(0))), hasSize(0));
+    }
+
+    @Test
+    public void readersSeeCompleteOrderedHistoriesWhileWritersAppend() throws Exception {
+        AggregateId aggregateId = AggregateId.of("test", "id1");
+        int eventCount = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            Future<?> evenWriter = executor.submit(() -> IntStream.range(0, eventCount).filter(i -> i % 2 == 0).forEach(i ->
+                    eventStore.accept(Arrays.asList(Event.of(aggregateId, timestamp.apply(i), VersionedName.of("updated"), empty)))));
+            Future<?> oddWriter = executor.submit(() -> IntStream.range(0, eventCount).filter(i -> i % 2 == 1).forEach(i ->
+                    eventStore.accept(Arrays.asList(Event.of(aggregateId, timestamp.apply(i), VersionedName.of("updated"), empty)))));
+            Future<?> reader = executor.submit(() -> {
+                while (!evenWriter.isDone() || !oddWriter.isDone()) {
+                    List<Event> events = eventStore.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+                    for (int i = 1; i < events.size(); i++) {
+                        assertThat(events.get(i - 1).getEventTimestamp().isAfter(events.get(i).getEventTimestamp()), equalTo(true));
+                    }
+                }
+            });
+
+            evenWriter.get();
+            oddWriter.get();
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(eventStore.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded()), hasSize(eventCount));
+    }
+
     private Collection<Event> stripProcessingTimes(Collection<Event> events) {
         return events.stream().map(event ->
                 Event.of(event.getAggregateId(), event.getEventTimestamp(), event.getEventName(), event.getParameters()))
@@ -0,0 +1,183 @@
+package com.opencredo.concursus.domain.events.cataloguing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CoalescingAggregateCatalogueTest {
+
+    private final InMemoryAggregateCatalogue inMemoryCatalogue = new InMemoryAggregateCatalogue();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    private final AtomicBoolean failWrites = new AtomicBoolean(false);
+
+    private final AggregateCatalogue countingCatalogue = new AggregateCatalogue() {
+        @Override
+        public void add(String aggregateType, String aggregateId) {
+            writeCount.incrementAndGet();
+            inMemoryCatalogue.add(aggregateType, aggregateId);
+        }
+
+        @Override
+        public void remove(String aggregateType, String aggregateId) {
+            writeCount.incrementAndGet();
+            inMemoryCatalogue.remove(aggregateType, aggregateId);
+        }
+
+        @Override
+        public void addAll(String aggregateType, Collection<String> aggregateIds) {
+            if (failWrites.get()) {
+                throw new IllegalStateException("catalogue unavailable");
+            }
+            writeCount.incrementAndGet();
+            inMemoryCatalogue.addAll(aggregateType, aggregateIds);
+        }
+
+        @Override
+        public void removeAll(String aggregateType, Collection<String> aggregateIds) {
+            writeCount.incrementAndGet();
+            inMemoryCatalogue.removeAll(aggregateType, aggregateIds);
+        }
+
+        @Override
+        public List<String> getAggregateIds(String aggregateType) {
+            return inMemoryCatalogue.getAggregateIds(aggregateType);
+        }
+    };
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+    private final CoalescingAggregateCatalogue catalogue = CoalescingAggregateCatalogue.wrapping(
+            countingCatalogue, executor, Duration.ofHours(1), 1000, 100);
+
+    @After
+    public void shutDown() {
+        catalogue.close();
+        executor.shutdown();
+    }
+
+    @Test
+    public void coalescesUpdatesIntoGroupedWrites() {
+        catalogue.add("person", "id1");
+        catalogue.add("person", "id2");
+        catalogue.add("person", "id3");
+        catalogue.remove("person", "id2");
+        catalogue.add("person", "id1");
+
+        assertThat(writeCount.get(), equalTo(0));
+
+        catalogue.flush().join();
+
+        assertThat(inMemoryCatalogue.getAggregateIds("person"), containsInAnyOrder("id1", "id3"));
+        assertThat(writeCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void repeatedAddsCostNoWrites() {
+        catalogue.add("person", "id1");
+        catalogue.flush().join();
+        int writesAfterFirstAdd = writeCount.get();
+
+        catalogue.add("person", "id1");
+        catalogue.flush().join();
+
+        assertThat(writeCount.get(), equalTo(writesAfterFirstAdd));
+    }
+
+    @Test
+    public void aggregateCanBeAddedAgainAfterRemoval() {
+        catalogue.add("person", "id1");
+        catalogue.flush().join();
+        catalogue.remove("person", "id1");
+        catalogue.flush().join();
+        catalogue.add("person", "id1");
+
+        assertThat(catalogue.getAggregateIds("person"), contains("id1"));
+    }
+
+    @Test
+    public void readsReflectPendingUpdates() {
+        catalogue.add("person", "id1");
+        catalogue.add("group", "id2");
+
+        assertThat(catalogue.getAggregateIds("person"), contains("id1"));
+        assertThat(catalogue.getAggregateIds("group"), contains("id2"));
+    }
+
+    private RuntimeException readFailure() {
+        try {
+            catalogue.getAggregateIds("person");
+        } catch (RuntimeException e) {
+            return e;
+        }
+        throw new AssertionError("Expected read to fail");
+    }
+
+    @Test
+    public void failedUpdatesAreRetriedByNextFlush() {
+        failWrites.set(true);
+        catalogue.add("person", "id1");
+
+        assertThat(awaitFailure(catalogue.flush()), equalTo(true));
+        assertThat(readFailure().getMessage(), equalTo("catalogue unavailable"));
+        assertThat(inMemoryCatalogue.getAggregateIds("person"), hasSize(0));
+
+        failWrites.set(false);
+        catalogue.flush().join();
+
+        assertThat(inMemoryCatalogue.getAggregateIds("person"), contains("id1"));
+    }
+
+    @Test
+    public void laterUpdatesSupersedeFailedUpdates() {
+        failWrites.set(true);
+        catalogue.add("person", "id1");
+        catalogue.remove("person", "id1");
+        catalogue.add("person", "id2");
+        CompletableFuture<Void> failedFlush = catalogue.flush();
+        catalogue.remove("person", "id2");
+        assertThat(awaitFailure(failedFlush), equalTo(true));
+
+        failWrites.set(false);
+
+        assertThat(catalogue.getAggregateIds("person"), hasSize(0));
+    }
+
+    @Test
+    public void readsMayBeMadeFromSchedulingExecutorWithSeparateWriteExecutor() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+        try (CoalescingAggregateCatalogue separatelyWritten = CoalescingAggregateCatalogue.wrapping(
+                countingCatalogue, scheduler, writeExecutor, Duration.ofHours(1), 1000, 100)) {
+            separatelyWritten.add("person", "id1");
+
+            assertThat(scheduler.submit(() -> separatelyWritten.getAggregateIds("person")).get(5, TimeUnit.SECONDS),
+                    contains("id1"));
+        } finally {
+            scheduler.shutdown();
+            writeExecutor.shutdown();
+        }
+    }
+
+    private static boolean awaitFailure(CompletableFuture<Void> flush) {
+        try {
+            flush.join();
+            return false;
+        } catch (CompletionException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.opencredo.concursus.domain.events.processing;
+
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AsyncPublishingEventBatchProcessorTest {
+
+    private final Collection<Event> events = Collections.singletonList(Event.of(
+            AggregateId.of("user", "user1"),
+            StreamTimestamp.of("test", Instant.now()),
+            VersionedName.of("created"),
+            TupleSchema.of("test").makeWith()));
+
+    private final List<Event> published = new ArrayList<>();
+    private final List<Collection<Event>> failedEvents = new ArrayList<>();
+    private final List<Throwable> failures = new ArrayList<>();
+
+    @Test
+    public void publishesEventsOnceWritten() {
+        AsyncPublishingEventBatchProcessor processor = AsyncPublishingEventBatchProcessor.using(
+                CompletableFuture::completedFuture, published::add, Runnable::run,
+                (failed, cause) -> failedEvents.add(failed));
+
+        processor.accept(events);
+
+        assertThat(published, equalTo(events));
+        assertThat(failedEvents, hasSize(0));
+    }
+
+    @Test
+    public void passesFailedWritesToFailureHandler() {
+        IllegalStateException writeFailure = new IllegalStateException("write failed");
+        CompletableFuture<Collection<Event>> failedWrite = new CompletableFuture<>();
+        failedWrite.completeExceptionally(writeFailure);
+
+        AsyncPublishingEventBatchProcessor processor = AsyncPublishingEventBatchProcessor.using(
+                written -> failedWrite, published::add, Runnable::run,
+                (failed, cause) -> {
+                    failedEvents.add(failed);
+                    failures.add(cause);
+                });
+
+        processor.accept(events);
+
+        assertThat(published, hasSize(0));
+        assertThat(failedEvents, contains(sameInstance(events)));
+        assertThat(failures, contains(sameInstance((Throwable) writeFailure)));
+        assertThat(processor.process(events).isCompletedExceptionally(), equalTo(true));
+    }
+}
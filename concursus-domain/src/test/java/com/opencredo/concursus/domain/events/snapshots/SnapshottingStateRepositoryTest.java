@@ -0,0 +1,134 @@
+package com.opencredo.concursus.domain.events.snapshots;
+
+import com.google.common.collect.ImmutableMap;
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.EventCharacteristics;
+import com.opencredo.concursus.domain.events.binding.EventTypeBinding;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.events.sourcing.EventSource;
+import com.opencredo.concursus.domain.events.state.StateBuilder;
+import com.opencredo.concursus.domain.events.state.StateRepository;
+import com.opencredo.concursus.domain.events.storage.InMemoryEventStore;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SnapshottingStateRepositoryTest {
+
+    private final Instant startTime = Instant.now().minusSeconds(60);
+    private final Function<Integer, StreamTimestamp> timestamp = i -> StreamTimestamp.of("test", startTime.plusMillis(i));
+    private final TupleSchema emptySchema = TupleSchema.of("empty");
+    private final Tuple empty = emptySchema.makeWith();
+    private final EventTypeMatcher eventTypeMatcher = et -> Optional.of(emptySchema);
+
+    private final AggregateId aggregateId = AggregateId.of("test", "id1");
+    private final AggregateId otherAggregateId = AggregateId.of("test", "id2");
+
+    private final InMemoryEventStore eventStore = InMemoryEventStore.empty();
+    private final InMemorySnapshotStore snapshotStore = InMemorySnapshotStore.empty();
+
+    // The state is the number of events applied to it, so replaying events already covered by a snapshot is detectable.
+    private static final class CountingStateBuilder implements StateBuilder<Integer> {
+        private Optional<Integer> count;
+
+        private CountingStateBuilder(Optional<Integer> count) {
+            this.count = count;
+        }
+
+        @Override
+        public void accept(Event event) {
+            count = Optional.of(count.orElse(0) + 1);
+        }
+
+        @Override
+        public Optional<Integer> get() {
+            return count;
+        }
+    }
+
+    private StateRepository<Integer> repository(SnapshotPolicy snapshotPolicy) {
+        return SnapshottingStateRepository.using(
+                () -> new CountingStateBuilder(Optional.empty()),
+                count -> new CountingStateBuilder(Optional.of(count)),
+                EventSource.retrievingWith(eventStore),
+                EventTypeBinding.of("test", eventTypeMatcher),
+                Comparator.comparing(Event::getEventTimestamp),
+                snapshotStore,
+                StateSerialiser.of(Object::toString, Integer::valueOf),
+                snapshotPolicy);
+    }
+
+    private void writeEvents(int from, int to, int...characteristics) {
+        writeEvents(aggregateId, from, to, characteristics);
+    }
+
+    private void writeEvents(AggregateId id, int from, int to, int...characteristics) {
+        IntStream.range(from, to).forEach(i -> eventStore.accept(Collections.singletonList(
+                Event.of(id, timestamp.apply(i), VersionedName.of("updated"), empty, characteristics))));
+    }
+
+    @Test
+    public void replaysOnlyEventsFollowingLatestSnapshot() {
+        StateRepository<Integer> repository = repository(SnapshotPolicy.afterEvents(3));
+
+        writeEvents(0, 5);
+        assertThat(repository.getState("id1"), equalTo(Optional.of(5)));
+        assertThat(snapshotStore.getLatest(aggregateId, Instant.now()).map(StateSnapshot::getCursor),
+                equalTo(Optional.of(EventCursor.of(timestamp.apply(4), Optional.empty()))));
+
+        Event sameInstant = Event.of(aggregateId, StreamTimestamp.of("test2", startTime.plusMillis(4)), VersionedName.of("updated"), empty);
+        eventStore.accept(Collections.singletonList(sameInstant));
+        writeEvents(5, 7);
+
+        assertThat(repository.getState("id1"), equalTo(Optional.of(8)));
+        assertThat(repository.getState("id1", startTime.plusMillis(3)), equalTo(Optional.of(3)));
+    }
+
+    @Test
+    public void snapshotsOnlyWhenPolicyRequires() {
+        StateRepository<Integer> repository = repository(SnapshotPolicy.onTerminalEvent());
+
+        writeEvents(0, 5);
+        assertThat(repository.getState("id1"), equalTo(Optional.of(5)));
+        assertThat(snapshotStore.getLatest(aggregateId, Instant.now()), equalTo(Optional.empty()));
+
+        writeEvents(5, 6, EventCharacteristics.IS_TERMINAL);
+        assertThat(repository.getState("id1"), equalTo(Optional.of(6)));
+        assertThat(snapshotStore.getLatest(aggregateId, Instant.now()).map(StateSnapshot::getState), equalTo(Optional.of("6")));
+        assertThat(repository.getStates("id1", "id2").get("id1"), equalTo(6));
+    }
+
+    @Test
+    public void getStatesResumesEachAggregateFromItsOwnSnapshot() {
+        StateRepository<Integer> repository = repository(SnapshotPolicy.afterEvents(100));
+
+        writeEvents(0, 5);
+        writeEvents(otherAggregateId, 0, 3);
+        // A snapshot whose state disagrees with the event count shows that id1 is resumed rather than replayed in full.
+        snapshotStore.put(StateSnapshot.of(aggregateId, EventCursor.of(timestamp.apply(2), Optional.empty()), "100"));
+
+        Map<String, Integer> states = repository.getStates("id1", "id2", "id3");
+        assertThat(states.get("id1"), equalTo(102));
+        assertThat(states.get("id2"), equalTo(3));
+        assertThat(states.containsKey("id3"), equalTo(false));
+
+        assertThat(repository.getStates(Arrays.asList("id1", "id2"), startTime.plusMillis(2)),
+                equalTo(ImmutableMap.of("id1", 2, "id2", 2)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.opencredo.concursus.domain.events.sourcing;
+
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.storage.InMemoryEventStore;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CachingEventRetrieverTest {
+
+    private final Instant startTime = Instant.now();
+    private final Function<Integer, StreamTimestamp> timestamp = i -> StreamTimestamp.of("test", startTime.plusMillis(i));
+    private final TupleSchema emptySchema = TupleSchema.of("empty");
+    private final Tuple empty = emptySchema.makeWith();
+    private final EventTypeMatcher eventTypeMatcher = et -> Optional.of(emptySchema);
+
+    private final AggregateId aggregateId = AggregateId.of("test", "id1");
+    private final Event created = Event.of(aggregateId, timestamp.apply(10), VersionedName.of("created"), empty);
+    private final Event updated = Event.of(aggregateId, timestamp.apply(20), VersionedName.of("updated"), empty);
+    private final Event deleted = Event.of(aggregateId, timestamp.apply(30), VersionedName.of("deleted"), empty);
+
+    private final InMemoryEventStore eventStore = InMemoryEventStore.empty();
+    private final AtomicInteger retrievals = new AtomicInteger();
+
+    private final EventRetriever countingRetriever = new EventRetriever() {
+        @Override
+        public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+            retrievals.incrementAndGet();
+            return eventStore.getEvents(matcher, aggregateId, timeRange);
+        }
+
+        @Override
+        public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+            retrievals.incrementAndGet();
+            return eventStore.getEvents(matcher, aggregateType, aggregateIds, timeRange);
+        }
+    };
+
+    @Test
+    public void answersRepeatedReadsFromCache() {
+        eventStore.accept(Arrays.asList(created, updated, deleted));
+        CachingEventRetriever cachingRetriever = CachingEventRetriever.withMaxEvents(
+                countingRetriever, 100, CachingEventRetriever.UpdatePolicy.APPEND);
+
+        assertThat(cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded()),
+                contains(deleted, updated, created));
+        assertThat(cachingRetriever.getEvents(eventTypeMatcher, aggregateId,
+                TimeRange.fromInclusive(startTime.plusMillis(20)).toUnbounded()),
+                contains(deleted, updated));
+        assertThat(cachingRetriever.getEvents(eventTypeMatcher, "test", Arrays.asList("id1"), TimeRange.unbounded())
+                .get(aggregateId), contains(deleted, updated, created));
+
+        assertThat(retrievals.get(), equalTo(1));
+    }
+
+    @Test
+    public void appendsPublishedEvents() {
+        eventStore.accept(Arrays.asList(created, updated));
+        CachingEventRetriever cachingRetriever = CachingEventRetriever.withMaxEvents(
+                countingRetriever, 100, CachingEventRetriever.UpdatePolicy.APPEND);
+
+        cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+        cachingRetriever.toPublisherFilter().apply(event -> {}).accept(deleted);
+
+        assertThat(cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded()),
+                contains(deleted, updated, created));
+        assertThat(retrievals.get(), equalTo(1));
+    }
+
+    @Test
+    public void invalidatesOnPublishedEvents() {
+        eventStore.accept(Arrays.asList(created, updated));
+        CachingEventRetriever cachingRetriever = CachingEventRetriever.withMaxEvents(
+                countingRetriever, 100, CachingEventRetriever.UpdatePolicy.INVALIDATE);
+
+        cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+        eventStore.accept(Arrays.asList(deleted));
+        cachingRetriever.update(deleted);
+
+        assertThat(cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded()),
+                contains(deleted, updated, created));
+        assertThat(retrievals.get(), equalTo(2));
+    }
+
+    @Test
+    public void evictsWhenMaximumEventCountIsExceeded() {
+        AggregateId otherId = AggregateId.of("test", "id2");
+        eventStore.accept(Arrays.asList(created, updated,
+                Event.of(otherId, timestamp.apply(10), VersionedName.of("created"), empty),
+                Event.of(otherId, timestamp.apply(20), VersionedName.of("updated"), empty)));
+        CachingEventRetriever cachingRetriever = CachingEventRetriever.withMaxEvents(
+                countingRetriever, 3, CachingEventRetriever.UpdatePolicy.APPEND);
+
+        cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+        cachingRetriever.getEvents(eventTypeMatcher, otherId, TimeRange.unbounded());
+        cachingRetriever.getEvents(eventTypeMatcher, aggregateId, TimeRange.unbounded());
+
+        assertThat(retrievals.get(), equalTo(3));
+    }
+}
@@ -0,0 +1,22 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.List;
+
+/**
+ * Receives a batch of record values which has failed to be processed on every permitted attempt, so that it can be
+ * recorded elsewhere (for example, written to a dead-letter topic) before consumption moves past it.
+ */
+@FunctionalInterface
+public interface FailedBatchHandler {
+
+    /**
+     * Handle a batch of record values which is about to be skipped.
+     * @param partition The partition from which the records were read.
+     * @param values The record values, in offset order.
+     * @param cause The exception thrown by the final attempt to process the batch.
+     */
+    void accept(TopicPartition partition, List<String> values, Throwable cause);
+
+}
@@ -0,0 +1,235 @@
+package com.opencredo.concursus.kafka;
+
+import com.opencredo.concursus.domain.events.channels.EventsInChannel;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Consumes records from Kafka in batches, handing the values polled from each partition to an {@link EventsInChannel}
+ * as a single list. Partitions are processed concurrently on a worker {@link Executor}, while records within a
+ * partition are always delivered in order. Offsets are committed synchronously once every partition in a poll has been
+ * handled, so a crash never skips unprocessed records; a partition whose batch fails is rewound and retried on the next
+ * poll, and its offset is not committed.
+ *
+ * A batch is attempted at most a fixed number of times. Once a batch from a partition has failed on every attempt, it
+ * is passed to a {@link FailedBatchHandler} and skipped, so that a single poison record cannot stall its partition
+ * forever. By default a batch is attempted five times, and skipped batches are only logged.
+ *
+ * The supplied {@link Consumer} must be configured with <code>enable.auto.commit=false</code>. Because a Kafka
+ * 0.9 consumer only heartbeats while polling, each poll's batches must complete within the consumer's session timeout;
+ * <code>max.partition.fetch.bytes</code> can be lowered to keep batches small enough.
+ *
+ * Alternatively, offsets can be stored by the projection itself, atomically with its state, by supplying an
+ * {@link OffsetTrackingEventsInChannel} and an {@link OffsetStore}. Kafka's committed offsets are then not used: when
+ * partitions are assigned, the listener seeks each of them to the offset read from the {@link OffsetStore}, or to the
+ * beginning of the partition if the store has no offset for it.
+ */
+public final class KafkaBatchEventListener implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaBatchEventListener.class);
+
+    static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final FailedBatchHandler LOG_SKIPPED_BATCH = (partition, values, cause) ->
+            LOGGER.error("Skipping batch of {} record(s) from {} after repeated failures", values.size(), partition, cause);
+
+    public static KafkaBatchEventListener using(EventsInChannel<List<String>> inChannel, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics) {
+        return using(inChannel, kafkaConsumer, workers, timeout, topics, DEFAULT_MAX_ATTEMPTS, LOG_SKIPPED_BATCH);
+    }
+
+    /**
+     * Create a listener which commits processed offsets to Kafka.
+     * @param inChannel The {@link EventsInChannel} which processes each batch.
+     * @param kafkaConsumer The {@link Consumer} to poll for records.
+     * @param workers The {@link Executor} on which to process partition batches.
+     * @param timeout The poll timeout, in milliseconds.
+     * @param topics The topics to subscribe to.
+     * @param maxAttempts The number of times a batch is attempted before it is skipped.
+     * @param failedBatchHandler The {@link FailedBatchHandler} to pass skipped batches to.
+     * @return The constructed {@link KafkaBatchEventListener}.
+     */
+    public static KafkaBatchEventListener using(EventsInChannel<List<String>> inChannel, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics, int maxAttempts, FailedBatchHandler failedBatchHandler) {
+        checkNotNull(inChannel, "inChannel must not be null");
+        return create(
+                (partition, values, nextOffset) -> inChannel.accept(values),
+                Optional.empty(),
+                kafkaConsumer, workers, timeout, topics, maxAttempts, failedBatchHandler);
+    }
+
+    public static KafkaBatchEventListener using(OffsetTrackingEventsInChannel inChannel, OffsetStore offsetStore, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics) {
+        return using(inChannel, offsetStore, kafkaConsumer, workers, timeout, topics, DEFAULT_MAX_ATTEMPTS, LOG_SKIPPED_BATCH);
+    }
+
+    /**
+     * Create a listener which resumes from offsets stored with projection state, rather than committed to Kafka.
+     * @param inChannel The {@link OffsetTrackingEventsInChannel} which processes each batch and stores its offset.
+     * @param offsetStore The {@link OffsetStore} from which stored offsets are read when partitions are assigned.
+     * @param kafkaConsumer The {@link Consumer} to poll for records.
+     * @param workers The {@link Executor} on which to process partition batches.
+     * @param timeout The poll timeout, in milliseconds.
+     * @param topics The topics to subscribe to.
+     * @param maxAttempts The number of times a batch is attempted before it is skipped.
+     * @param failedBatchHandler The {@link FailedBatchHandler} to pass skipped batches to.
+     * @return The constructed {@link KafkaBatchEventListener}.
+     */
+    public static KafkaBatchEventListener using(OffsetTrackingEventsInChannel inChannel, OffsetStore offsetStore, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics, int maxAttempts, FailedBatchHandler failedBatchHandler) {
+        checkNotNull(inChannel, "inChannel must not be null");
+        checkNotNull(offsetStore, "offsetStore must not be null");
+        return create(inChannel, Optional.of(offsetStore), kafkaConsumer, workers, timeout, topics, maxAttempts, failedBatchHandler);
+    }
+
+    private static KafkaBatchEventListener create(OffsetTrackingEventsInChannel inChannel, Optional<OffsetStore> offsetStore, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics, int maxAttempts, FailedBatchHandler failedBatchHandler) {
+        checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        checkNotNull(failedBatchHandler, "failedBatchHandler must not be null");
+        return new KafkaBatchEventListener(inChannel, offsetStore, kafkaConsumer, workers, timeout, topics, maxAttempts, failedBatchHandler);
+    }
+
+    // The first offset of the batch currently failing on a partition, and the number of attempts made at it.
+    private static final class FailedAttempts {
+        private final long offset;
+        private final int count;
+
+        private FailedAttempts(long offset, int count) {
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Map<TopicPartition, FailedAttempts> failedAttempts = new HashMap<>();
+    private final OffsetTrackingEventsInChannel inChannel;
+    private final Optional<OffsetStore> offsetStore;
+    private final Consumer<String, String> kafkaConsumer;
+    private final Executor workers;
+    private final long timeout;
+    private final List<String> topics;
+    private final int maxAttempts;
+    private final FailedBatchHandler failedBatchHandler;
+
+    private KafkaBatchEventListener(OffsetTrackingEventsInChannel inChannel, Optional<OffsetStore> offsetStore, Consumer<String, String> kafkaConsumer, Executor workers, long timeout, List<String> topics, int maxAttempts, FailedBatchHandler failedBatchHandler) {
+        this.inChannel = inChannel;
+        this.offsetStore = offsetStore;
+        this.kafkaConsumer = kafkaConsumer;
+        this.workers = workers;
+        this.timeout = timeout;
+        this.topics = topics;
+        this.maxAttempts = maxAttempts;
+        this.failedBatchHandler = failedBatchHandler;
+    }
+
+    @Override
+    public void run() {
+        try {
+            kafkaConsumer.subscribe(topics, new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    partitions.forEach(failedAttempts::remove);
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    offsetStore.ifPresent(store -> seekToStoredOffsets(store, partitions));
+                }
+            });
+            while (!closed.get()) {
+                ConsumerRecords<String, String> records = kafkaConsumer.poll(timeout);
+                if (!records.isEmpty()) {
+                    processBatch(records);
+                }
+            }
+        } catch (WakeupException e) {
+            if (!closed.get()) throw e;
+        } finally {
+            kafkaConsumer.close();
+        }
+    }
+
+    // Partitions without a stored offset are read from the beginning, ignoring any offsets committed by the group.
+    private void seekToStoredOffsets(OffsetStore store, Collection<TopicPartition> partitions) {
+        partitions.forEach(partition -> {
+            Optional<Long> offset = store.getNextOffset(partition);
+            if (offset.isPresent()) {
+                LOGGER.info("Resuming {} from stored offset {}", partition, offset.get());
+                kafkaConsumer.seek(partition, offset.get());
+            } else {
+                LOGGER.info("No stored offset for {}, reading from the beginning", partition);
+                kafkaConsumer.seekToBeginning(partition);
+            }
+        });
+    }
+
+    private void processBatch(ConsumerRecords<String, String> records) {
+        Map<TopicPartition, List<String>> partitionValues = new LinkedHashMap<>();
+        Map<TopicPartition, CompletableFuture<Void>> partitionBatches = new LinkedHashMap<>();
+        records.partitions().forEach(partition -> {
+            List<ConsumerRecord<String, String>> partitionRecords = records.records(partition);
+            List<String> values = partitionRecords.stream().map(ConsumerRecord::value).collect(toList());
+            long nextOffset = partitionRecords.get(partitionRecords.size() - 1).offset() + 1;
+            partitionValues.put(partition, values);
+            partitionBatches.put(partition, CompletableFuture.runAsync(
+                    () -> inChannel.accept(partition, values, nextOffset), workers));
+        });
+
+        Map<TopicPartition, OffsetAndMetadata> processedOffsets = new HashMap<>();
+        partitionBatches.forEach((partition, batch) -> {
+            List<ConsumerRecord<String, String>> partitionRecords = records.records(partition);
+            long firstOffset = partitionRecords.get(0).offset();
+            OffsetAndMetadata nextOffset = new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1);
+            try {
+                batch.join();
+                failedAttempts.remove(partition);
+                processedOffsets.put(partition, nextOffset);
+            } catch (CompletionException e) {
+                int attempts = recordFailedAttempt(partition, firstOffset);
+                if (attempts < maxAttempts) {
+                    LOGGER.error("Exception processing batch from {} (attempt {} of {}), will retry from offset {}",
+                            partition, attempts, maxAttempts, firstOffset, e.getCause());
+                    kafkaConsumer.seek(partition, firstOffset);
+                } else {
+                    failedAttempts.remove(partition);
+                    failedBatchHandler.accept(partition, partitionValues.get(partition), e.getCause());
+                    processedOffsets.put(partition, nextOffset);
+                }
+            }
+        });
+
+        if (!offsetStore.isPresent() && !processedOffsets.isEmpty()) {
+            kafkaConsumer.commitSync(processedOffsets);
+        }
+    }
+
+    private int recordFailedAttempt(TopicPartition partition, long firstOffset) {
+        FailedAttempts previous = failedAttempts.get(partition);
+        int attempts = previous != null && previous.offset == firstOffset ? previous.count + 1 : 1;
+        failedAttempts.put(partition, new FailedAttempts(firstOffset, attempts));
+        return attempts;
+    }
+
+    public void shutdown() {
+        closed.set(true);
+        kafkaConsumer.wakeup();
+    }
+
+}
@@ -1,34 +1,77 @@
 package com.opencredo.concursus.kafka;
 
 import com.opencredo.concursus.domain.events.channels.EventsInChannel;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Polls Kafka for records, passing the value of each record to an {@link EventsInChannel}.
+ *
+ * If the channel hands records off to a queue for asynchronous processing (for example, via an
+ * {@link com.opencredo.concursus.domain.events.filtering.channel.AsyncEventOutChannelFilter}), the listener can be
+ * given the depth of that queue. Once the depth reaches the configured maximum, the listener pauses all of its
+ * assigned partitions, continuing to poll (so that the consumer stays in its group) without fetching further records;
+ * it resumes them once the queue has drained to half the maximum. The queue may therefore exceed the maximum by at
+ * most the records returned by a single poll.
+ */
 public class KafkaEventListener implements Runnable {
 
-    public static KafkaEventListener using(EventsInChannel<String> inChannel, KafkaConsumer<String, String> kafkaConsumer, long timeout, List<String> topics) {
-        return new KafkaEventListener(inChannel, kafkaConsumer, timeout, topics);
+    public static KafkaEventListener using(EventsInChannel<String> inChannel, Consumer<String, String> kafkaConsumer, long timeout, List<String> topics) {
+        return new KafkaEventListener(inChannel, kafkaConsumer, timeout, topics, () -> 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a listener which pauses consumption while downstream processing is saturated.
+     * @param inChannel The {@link EventsInChannel} to pass record values to.
+     * @param kafkaConsumer The {@link Consumer} to poll for records.
+     * @param timeout The poll timeout, in milliseconds.
+     * @param topics The topics to subscribe to.
+     * @param queueDepth Supplies the number of records awaiting downstream processing, e.g.
+     *                   <code>() -&gt; executor.getQueue().size()</code> for a {@link java.util.concurrent.ThreadPoolExecutor}.
+     * @param maxQueueDepth The queue depth at which consumption is paused.
+     * @return The constructed {@link KafkaEventListener}.
+     */
+    public static KafkaEventListener using(EventsInChannel<String> inChannel, Consumer<String, String> kafkaConsumer, long timeout, List<String> topics, IntSupplier queueDepth, int maxQueueDepth) {
+        checkNotNull(queueDepth, "queueDepth must not be null");
+        checkArgument(maxQueueDepth > 0, "maxQueueDepth must be positive");
+        return new KafkaEventListener(inChannel, kafkaConsumer, timeout, topics, queueDepth, maxQueueDepth);
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaEventListener.class);
+    private static final String MAX_LAG_METRIC = "records-lag-max";
 
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final EventsInChannel<String> inChannel;
-    private final KafkaConsumer<String, String> kafkaConsumer;
+    private final Consumer<String, String> kafkaConsumer;
     private final long timeout;
     private final List<String> topics;
+    private final IntSupplier queueDepth;
+    private final int maxQueueDepth;
+    private volatile boolean paused = false;
+    private volatile long maxLag = 0;
+    private MetricName maxLagMetricName;
 
-    private KafkaEventListener(EventsInChannel<String> inChannel, KafkaConsumer<String, String> kafkaConsumer, long timeout, List<String> topics) {
+    private KafkaEventListener(EventsInChannel<String> inChannel, Consumer<String, String> kafkaConsumer, long timeout, List<String> topics, IntSupplier queueDepth, int maxQueueDepth) {
         this.inChannel = inChannel;
         this.kafkaConsumer = kafkaConsumer;
         this.timeout = timeout;
         this.topics = topics;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
     }
 
     @Override
@@ -36,7 +79,9 @@ public class KafkaEventListener implements Runnable {
         try {
             kafkaConsumer.subscribe(topics);
             while (!closed.get()) {
+                applyBackpressure();
                 kafkaConsumer.poll(timeout).forEach(this::processRecord);
+                updateLag();
             }
         } catch (WakeupException e) {
             if (!closed.get()) throw e;
@@ -53,6 +98,68 @@ public class KafkaEventListener implements Runnable {
         }
     }
 
+    private void applyBackpressure() {
+        int depth = queueDepth.getAsInt();
+        if (!paused && depth >= maxQueueDepth) {
+            LOGGER.info("Downstream queue depth {} has reached {}, pausing consumption", depth, maxQueueDepth);
+            paused = true;
+        } else if (paused && depth <= maxQueueDepth / 2) {
+            LOGGER.info("Downstream queue depth {} has drained, resuming consumption", depth);
+            paused = false;
+            Set<TopicPartition> assignment = kafkaConsumer.assignment();
+            kafkaConsumer.resume(assignment.toArray(new TopicPartition[assignment.size()]));
+        }
+
+        // Re-applied on every poll while paused, so that partitions assigned by a rebalance are also paused.
+        if (paused) {
+            Set<TopicPartition> assignment = kafkaConsumer.assignment();
+            kafkaConsumer.pause(assignment.toArray(new TopicPartition[assignment.size()]));
+        }
+    }
+
+    private void updateLag() {
+        // The consumer's metrics are only scanned until the lag metric's name has been found.
+        if (maxLagMetricName == null) {
+            maxLagMetricName = kafkaConsumer.metrics().keySet().stream()
+                    .filter(name -> name.name().equals(MAX_LAG_METRIC))
+                    .findFirst()
+                    .orElse(null);
+            if (maxLagMetricName == null) {
+                return;
+            }
+        }
+
+        Metric metric = kafkaConsumer.metrics().get(maxLagMetricName);
+        if (metric != null) {
+            maxLag = Math.max(0, (long) metric.value());
+        }
+    }
+
+    /**
+     * Get the number of records currently awaiting downstream processing.
+     * @return The downstream queue depth.
+     */
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    /**
+     * Get the maximum number of records by which any assigned partition was behind the end of its log, as measured
+     * by the consumer over its recent fetches.
+     * @return The maximum consumer lag.
+     */
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * Whether consumption is currently paused because downstream processing is saturated.
+     * @return True if consumption is paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
     public void shutdown() {
         closed.set(true);
         kafkaConsumer.wakeup();
@@ -0,0 +1,49 @@
+package com.opencredo.concursus.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.persisting.AsyncEventPersister;
+import org.apache.kafka.clients.producer.Producer;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link AsyncEventPersister} which uses a Kafka topic as the persistent store, so that events can be written once
+ * and both retrieved (with a {@link KafkaEventRetriever}) and consumed (with a {@link KafkaEventListener}) from the
+ * same topic. Use with {@link com.opencredo.concursus.domain.events.logging.AsyncEventLog#loggingTo(AsyncEventPersister)}
+ * to create an event log.
+ *
+ * Each aggregate's events within a batch are written as a single record keyed by the aggregate id, so they are stored
+ * atomically. A batch spanning several aggregates is not atomic, as this Kafka client offers no transactions; the
+ * returned future completes exceptionally if any record fails to be written. The producer should be configured with
+ * <code>acks=all</code>, and with <code>max.in.flight.requests.per.connection=1</code> if retries are enabled, so that
+ * retried records cannot be reordered.
+ *
+ * The topic must retain records indefinitely, using <code>cleanup.policy=delete</code> with unlimited retention: log
+ * compaction would discard all but the latest record for each aggregate.
+ */
+public final class KafkaEventPersister implements AsyncEventPersister {
+
+    /**
+     * Create an {@link AsyncEventPersister} which writes events to a Kafka topic as JSON.
+     * @param producer The {@link Producer} to send records with.
+     * @param topic The topic to write events to.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise events.
+     * @return The constructed {@link KafkaEventPersister}.
+     */
+    public static KafkaEventPersister create(Producer<String, String> producer, String topic, ObjectMapper objectMapper) {
+        return new KafkaEventPersister(KafkaEventsOutChannel.using(producer, topic, objectMapper));
+    }
+
+    private final KafkaEventsOutChannel outChannel;
+
+    private KafkaEventPersister(KafkaEventsOutChannel outChannel) {
+        this.outChannel = outChannel;
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(Collection<Event> events) {
+        return outChannel.send(events).thenApply(sent -> null);
+    }
+}
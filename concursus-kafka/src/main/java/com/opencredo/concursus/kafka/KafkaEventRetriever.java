@@ -0,0 +1,252 @@
+package com.opencredo.concursus.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
+import com.opencredo.concursus.domain.json.events.EventsJson;
+import com.opencredo.concursus.domain.time.TimeRange;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * An {@link EventRetriever} which reads events from a Kafka topic written by a {@link KafkaEventPersister}.
+ *
+ * The retriever keeps a local index of the offsets of every record written for each aggregate. Before a retrieval,
+ * the index is brought up to date by reading any records appended to the topic since it was last updated; the
+ * retriever then seeks directly to the indexed offsets of the requested aggregates' records, rather than scanning the
+ * topic. By default the index is updated before every retrieval, so that retrieval always sees every record written
+ * before it began; a maximum index age can be given to skip updates, at the cost of retrieving slightly stale
+ * histories. The topic's partition list is only re-read every five minutes, so records on newly added partitions may
+ * be missed for up to that long. If a poll made while updating the index returns no records before the index has
+ * reached the end of the topic, retrieval fails with an {@link IllegalStateException} rather than waiting indefinitely.
+ *
+ * The index is held in memory, so it is rebuilt from the start of the topic when the retriever is created. It is
+ * deliberately unbounded: it holds one small entry for every record in the topic, and evicting any entry would make
+ * the record it locates unreachable, as Kafka offers no other way to find an aggregate's records. Its size therefore
+ * grows with the topic, which must fit in memory for this retriever to be suitable.
+ *
+ * The supplied {@link Consumer} is used exclusively by this retriever, with manually assigned partitions: it should
+ * not be subscribed to any topic, and should be configured with <code>enable.auto.commit=false</code>. Retrieval is
+ * serialised, as Kafka consumers are not thread-safe.
+ */
+public final class KafkaEventRetriever implements EventRetriever, AutoCloseable {
+
+    private static final long DEFAULT_POLL_TIMEOUT = 1000L;
+    private static final long PARTITION_REFRESH_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Create an {@link EventRetriever} which reads JSON-serialised events from a Kafka topic.
+     * @param consumer The {@link Consumer} to read records with.
+     * @param topic The topic to read events from.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise events.
+     * @return The constructed {@link KafkaEventRetriever}.
+     */
+    public static KafkaEventRetriever create(Consumer<String, String> consumer, String topic, ObjectMapper objectMapper) {
+        return create(consumer, topic, objectMapper, DEFAULT_POLL_TIMEOUT);
+    }
+
+    /**
+     * Create an {@link EventRetriever} which reads JSON-serialised events from a Kafka topic.
+     * @param consumer The {@link Consumer} to read records with.
+     * @param topic The topic to read events from.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise events.
+     * @param pollTimeout The time in milliseconds to wait for records when updating the index or reading an indexed
+     *                    offset, after which retrieval fails.
+     * @return The constructed {@link KafkaEventRetriever}.
+     */
+    public static KafkaEventRetriever create(Consumer<String, String> consumer, String topic, ObjectMapper objectMapper, long pollTimeout) {
+        return create(consumer, topic, objectMapper, pollTimeout, Duration.ZERO);
+    }
+
+    /**
+     * Create an {@link EventRetriever} which reads JSON-serialised events from a Kafka topic, updating its index of the
+     * topic at most once in the given interval.
+     * @param consumer The {@link Consumer} to read records with.
+     * @param topic The topic to read events from.
+     * @param objectMapper The {@link ObjectMapper} to use to deserialise events.
+     * @param pollTimeout The time in milliseconds to wait for records when updating the index or reading an indexed
+     *                    offset, after which retrieval fails.
+     * @param maxIndexAge The time for which the index is used without being updated. Records written within this time
+     *                    before a retrieval may not be retrieved.
+     * @return The constructed {@link KafkaEventRetriever}.
+     */
+    public static KafkaEventRetriever create(Consumer<String, String> consumer, String topic, ObjectMapper objectMapper, long pollTimeout, Duration maxIndexAge) {
+        checkNotNull(consumer, "consumer must not be null");
+        checkNotNull(topic, "topic must not be null");
+        checkNotNull(objectMapper, "objectMapper must not be null");
+        checkArgument(pollTimeout > 0, "pollTimeout must be positive");
+        checkNotNull(maxIndexAge, "maxIndexAge must not be null");
+        checkArgument(!maxIndexAge.isNegative(), "maxIndexAge must not be negative");
+
+        return new KafkaEventRetriever(consumer, topic, objectMapper, pollTimeout, maxIndexAge.toNanos());
+    }
+
+    private static final class RecordPosition {
+        private final int partition;
+        private final long offset;
+
+        private RecordPosition(int partition, long offset) {
+            this.partition = partition;
+            this.offset = offset;
+        }
+    }
+
+    private final Consumer<String, String> consumer;
+    private final String topic;
+    private final ObjectMapper objectMapper;
+    private final long pollTimeout;
+    private final long maxIndexAgeNanos;
+    private final Map<String, List<RecordPosition>> index = new HashMap<>();
+    private final Map<TopicPartition, Long> indexedPositions = new HashMap<>();
+    private List<TopicPartition> partitions = Collections.emptyList();
+    private long partitionsReadAt;
+    private Optional<Long> indexUpdatedAt = Optional.empty();
+
+    private KafkaEventRetriever(Consumer<String, String> consumer, String topic, ObjectMapper objectMapper, long pollTimeout, long maxIndexAgeNanos) {
+        this.consumer = consumer;
+        this.topic = topic;
+        this.objectMapper = objectMapper;
+        this.pollTimeout = pollTimeout;
+        this.maxIndexAgeNanos = maxIndexAgeNanos;
+    }
+
+    @Override
+    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return getEvents(matcher, aggregateId.getType(), Collections.singletonList(aggregateId.getId()), timeRange)
+                .getOrDefault(aggregateId, Collections.emptyList());
+    }
+
+    @Override
+    public synchronized Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+        updateIndex();
+
+        Set<AggregateId> requestedIds = aggregateIds.stream()
+                .map(id -> AggregateId.of(aggregateType, id))
+                .collect(toSet());
+
+        List<RecordPosition> positions = requestedIds.stream()
+                .flatMap(id -> index.getOrDefault(id.toString(), Collections.emptyList()).stream())
+                .collect(toList());
+
+        return readRecords(positions).stream()
+                .flatMap(value -> EventsJson.fromString(value, matcher, objectMapper).stream())
+                .filter(event -> requestedIds.contains(event.getAggregateId()))
+                .filter(event -> timeRange.contains(event.getEventTimestamp().getTimestamp()))
+                .sorted(comparing(Event::getEventTimestamp).reversed())
+                .collect(groupingBy(Event::getAggregateId, toList()));
+    }
+
+    private void updateIndex() {
+        long now = System.nanoTime();
+        if (indexUpdatedAt.isPresent() && now - indexUpdatedAt.get() < maxIndexAgeNanos) {
+            return;
+        }
+
+        if (partitions.isEmpty() || now - partitionsReadAt >= PARTITION_REFRESH_INTERVAL_NANOS) {
+            partitions = consumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .collect(toList());
+            partitionsReadAt = now;
+        }
+
+        consumer.assign(partitions);
+        consumer.seekToEnd(partitions.toArray(new TopicPartition[partitions.size()]));
+        Map<TopicPartition, Long> endPositions = new HashMap<>();
+        partitions.forEach(partition -> endPositions.put(partition, consumer.position(partition)));
+
+        partitions.forEach(partition -> {
+            Long indexedPosition = indexedPositions.get(partition);
+            if (indexedPosition == null) {
+                consumer.seekToBeginning(partition);
+            } else {
+                consumer.seek(partition, indexedPosition);
+            }
+        });
+
+        while (partitions.stream().anyMatch(partition -> consumer.position(partition) < endPositions.get(partition))) {
+            ConsumerRecords<String, String> records = consumer.poll(pollTimeout);
+            if (records.isEmpty()) {
+                // Keep the records indexed so far, so that the next update resumes from them rather than re-indexing them.
+                recordIndexedPositions();
+                throw new IllegalStateException("Timed out updating index of " + topic + " to end offsets " + endPositions);
+            }
+
+            for (ConsumerRecord<String, String> record : records) {
+                index.computeIfAbsent(record.key(), key -> new ArrayList<>())
+                        .add(new RecordPosition(record.partition(), record.offset()));
+            }
+        }
+
+        recordIndexedPositions();
+        indexUpdatedAt = Optional.of(now);
+    }
+
+    private void recordIndexedPositions() {
+        partitions.forEach(partition -> indexedPositions.put(partition, consumer.position(partition)));
+    }
+
+    private List<String> readRecords(List<RecordPosition> positions) {
+        Map<Integer, TreeSet<Long>> offsetsByPartition = new TreeMap<>();
+        positions.forEach(position -> offsetsByPartition
+                .computeIfAbsent(position.partition, partition -> new TreeSet<>())
+                .add(position.offset));
+
+        List<String> values = new ArrayList<>();
+        offsetsByPartition.forEach((partition, offsets) ->
+                readRecords(new TopicPartition(topic, partition), offsets, values));
+        return values;
+    }
+
+    private void readRecords(TopicPartition partition, TreeSet<Long> remainingOffsets, List<String> values) {
+        consumer.assign(Collections.singletonList(partition));
+
+        while (!remainingOffsets.isEmpty()) {
+            long nextOffset = remainingOffsets.first();
+            consumer.seek(partition, nextOffset);
+
+            ConsumerRecords<String, String> records = consumer.poll(pollTimeout);
+            if (records.isEmpty()) {
+                throw new IllegalStateException("Timed out reading offset " + nextOffset + " of " + partition);
+            }
+
+            for (ConsumerRecord<String, String> record : records.records(partition)) {
+                if (remainingOffsets.remove(record.offset())) {
+                    values.add(record.value());
+                }
+            }
+
+            // Offsets skipped over by the fetch no longer exist in the log, so cannot be read.
+            long lastOffset = consumer.position(partition) - 1;
+            remainingOffsets.headSet(lastOffset, true).clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        consumer.close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.opencredo.concursus.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.filtering.publisher.EventPublisherPostFilter;
+import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
+import com.opencredo.concursus.domain.json.events.EventsJson;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.apache.kafka.clients.producer.ProducerConfig.*;
+
+/**
+ * An {@link EventBatchProcessor} which publishes {@link Event}s to a Kafka topic. The events in each batch are grouped
+ * by {@link AggregateId}, and each group is sent as a single record keyed by the aggregate id, so that all of an
+ * aggregate's events go to the same partition and are consumed in the order they were written. Records are serialised
+ * in the format read by {@link KafkaEventListener} and {@link KafkaBatchEventListener}.
+ *
+ * Sends are asynchronous: the producer accumulates records into batches according to its <code>linger.ms</code> and
+ * <code>batch.size</code> settings (see {@link #producerProperties(String, long, int)}), and {@link #send(Collection)}
+ * returns a future which completes once every record in the batch has been acknowledged. {@link #accept(Collection)},
+ * used when the channel is attached to a publisher, does not wait for that future and only logs failures.
+ */
+public final class KafkaEventsOutChannel implements EventBatchProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaEventsOutChannel.class);
+
+    /**
+     * Create an {@link EventBatchProcessor} which publishes events to a Kafka topic as JSON.
+     * @param producer The {@link Producer} to send records with.
+     * @param topic The topic to send records to.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise events.
+     * @return The constructed {@link KafkaEventsOutChannel}.
+     */
+    public static KafkaEventsOutChannel using(Producer<String, String> producer, String topic, ObjectMapper objectMapper) {
+        checkNotNull(objectMapper, "objectMapper must not be null");
+        return using(producer, topic, events -> EventsJson.toString(events, objectMapper));
+    }
+
+    /**
+     * Create an {@link EventBatchProcessor} which publishes events to a Kafka topic.
+     * @param producer The {@link Producer} to send records with.
+     * @param topic The topic to send records to.
+     * @param serialiser The {@link Function} to use to serialise each aggregate's events into a record value.
+     * @return The constructed {@link KafkaEventsOutChannel}.
+     */
+    public static KafkaEventsOutChannel using(Producer<String, String> producer, String topic, Function<Collection<Event>, String> serialiser) {
+        checkNotNull(producer, "producer must not be null");
+        checkNotNull(topic, "topic must not be null");
+        checkNotNull(serialiser, "serialiser must not be null");
+        return new KafkaEventsOutChannel(producer, topic, serialiser);
+    }
+
+    /**
+     * Create configuration for a {@link org.apache.kafka.clients.producer.KafkaProducer} suitable for use with this
+     * channel: string keys and values, and acknowledgement from all in-sync replicas.
+     * @param bootstrapServers The Kafka servers to connect to.
+     * @param lingerMs The time for which the producer waits for further records to add to a batch before sending it.
+     * @param batchSize The maximum size in bytes of a batch of records sent to a single partition.
+     * @return The producer configuration.
+     */
+    public static Properties producerProperties(String bootstrapServers, long lingerMs, int batchSize) {
+        checkArgument(lingerMs >= 0, "lingerMs must not be negative");
+        checkArgument(batchSize > 0, "batchSize must be positive");
+
+        Properties props = new Properties();
+        props.put(BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ACKS_CONFIG, "all");
+        props.put(LINGER_MS_CONFIG, Long.toString(lingerMs));
+        props.put(BATCH_SIZE_CONFIG, Integer.toString(batchSize));
+        props.put(KEY_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+        props.put(VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+        return props;
+    }
+
+    private final Producer<String, String> producer;
+    private final String topic;
+    private final Function<Collection<Event>, String> serialiser;
+
+    private KafkaEventsOutChannel(Producer<String, String> producer, String topic, Function<Collection<Event>, String> serialiser) {
+        this.producer = producer;
+        this.topic = topic;
+        this.serialiser = serialiser;
+    }
+
+    /**
+     * Send the supplied {@link Event}s to Kafka, one record per aggregate.
+     * @param events The {@link Event}s to send.
+     * @return A {@link CompletableFuture} which completes with the sent events once all records have been acknowledged,
+     * or completes exceptionally if any send fails.
+     */
+    public CompletableFuture<Collection<Event>> send(Collection<Event> events) {
+        Map<AggregateId, List<Event>> eventsById = events.stream()
+                .collect(groupingBy(Event::getAggregateId, LinkedHashMap::new, toList()));
+
+        CompletableFuture<?>[] sends = eventsById.entrySet().stream()
+                .map(entry -> send(entry.getKey(), entry.getValue()))
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(sends).thenApply(v -> events);
+    }
+
+    private CompletableFuture<Void> send(AggregateId aggregateId, List<Event> events) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        producer.send(
+                new ProducerRecord<>(topic, aggregateId.toString(), serialiser.apply(events)),
+                (metadata, exception) -> {
+                    if (exception == null) {
+                        result.complete(null);
+                    } else {
+                        result.completeExceptionally(exception);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Send the supplied {@link Event}s to Kafka, without waiting for them to be acknowledged. This is fire-and-forget:
+     * a failed send is logged, but is not reported to the caller. Callers which must know whether their events were
+     * published should use {@link #send(Collection)} instead.
+     * @param events The {@link Event}s to send.
+     */
+    @Override
+    public void accept(Collection<Event> events) {
+        send(events).whenComplete((sent, e) -> {
+            if (e != null) {
+                LOGGER.error("Failed to send {} event(s) to topic {}: {}", events.size(), topic, events, e);
+            }
+        });
+    }
+
+    /**
+     * Create an {@link EventPublisherPostFilter} which sends each {@link Event} to Kafka after it has been published
+     * locally.
+     * @return The constructed {@link EventPublisherPostFilter}.
+     */
+    public EventPublisherPostFilter toPublisherFilter() {
+        return (eventPublisher, event) -> accept(Collections.singletonList(event));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Optional;
+
+/**
+ * Reads the consumer offsets which a projection has stored alongside its own state. Because each offset is written in
+ * the same transaction as the state derived from the records before it (see {@link OffsetTrackingEventsInChannel}),
+ * resuming consumption from the stored offset neither skips nor re-applies any record, without needing per-event
+ * duplicate detection.
+ */
+@FunctionalInterface
+public interface OffsetStore {
+
+    /**
+     * Get the offset of the next record to consume from the given partition.
+     * @param partition The partition to get the offset for.
+     * @return The stored offset, or {@link Optional#empty()} if no records from the partition have been processed, in
+     * which case consumption starts from the beginning of the partition. Neither offsets committed to Kafka by the
+     * consumer group nor the consumer's <code>auto.offset.reset</code> policy are consulted.
+     */
+    Optional<Long> getNextOffset(TopicPartition partition);
+
+}
@@ -0,0 +1,23 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.List;
+
+/**
+ * Receives batches of record values from a single partition, together with the offset from which consumption should
+ * resume once the batch has been processed. Implementations should store that offset atomically with the state they
+ * derive from the batch, so that it can be read back through an {@link OffsetStore} on restart.
+ */
+@FunctionalInterface
+public interface OffsetTrackingEventsInChannel {
+
+    /**
+     * Process a batch of record values.
+     * @param partition The partition from which the records were read.
+     * @param values The record values, in offset order.
+     * @param nextOffset The offset of the record following the last record in the batch.
+     */
+    void accept(TopicPartition partition, List<String> values, long nextOffset);
+
+}
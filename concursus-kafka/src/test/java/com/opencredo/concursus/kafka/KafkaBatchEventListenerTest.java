@@ -0,0 +1,196 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class KafkaBatchEventListenerTest {
+
+    private static final String TOPIC = "events";
+
+    private final TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+    private final TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+
+    // MockConsumer does not notify the rebalance listener itself when partitions are reassigned.
+    private static final class RebalancingConsumer extends MockConsumer<String, String> {
+        private ConsumerRebalanceListener listener;
+
+        private RebalancingConsumer() {
+            super(OffsetResetStrategy.LATEST);
+        }
+
+        @Override
+        public void subscribe(List<String> topics, ConsumerRebalanceListener listener) {
+            super.subscribe(topics, listener);
+            this.listener = listener;
+        }
+
+        @Override
+        public void rebalance(Collection<TopicPartition> newAssignment) {
+            listener.onPartitionsRevoked(assignment());
+            super.rebalance(newAssignment);
+            listener.onPartitionsAssigned(newAssignment);
+        }
+    }
+
+    private final RebalancingConsumer consumer = new RebalancingConsumer();
+    private final List<List<String>> processed = new ArrayList<>();
+    private final Map<TopicPartition, Long> committedAtShutdown = new HashMap<>();
+
+    private void assignPartitions() {
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        beginningOffsets.put(partition0, 0L);
+        beginningOffsets.put(partition1, 0L);
+        consumer.updateBeginningOffsets(beginningOffsets);
+
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        endOffsets.put(partition0, 10L);
+        endOffsets.put(partition1, 10L);
+        consumer.updateEndOffsets(endOffsets);
+
+        consumer.rebalance(Arrays.asList(partition0, partition1));
+    }
+
+    private void deliver(TopicPartition partition, long firstOffset, String...values) {
+        for (int i = 0; i < values.length; i++) {
+            consumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), firstOffset + i, null, values[i]));
+        }
+    }
+
+    private void shutdownAfterRecordingCommits(KafkaBatchEventListener listener) {
+        consumer.schedulePollTask(() -> {
+            Arrays.asList(partition0, partition1).forEach(partition -> {
+                OffsetAndMetadata committed = consumer.committed(partition);
+                if (committed != null) {
+                    committedAtShutdown.put(partition, committed.offset());
+                }
+            });
+            listener.shutdown();
+        });
+    }
+
+    @Test
+    public void deliversEachPartitionAsABatchAndCommitsOffsets() {
+        KafkaBatchEventListener listener = KafkaBatchEventListener.using(
+                processed::add, consumer, Runnable::run, 10, Collections.singletonList(TOPIC));
+
+        consumer.schedulePollTask(() -> {
+            assignPartitions();
+            deliver(partition0, 0, "a", "b");
+            deliver(partition1, 0, "c");
+        });
+        shutdownAfterRecordingCommits(listener);
+
+        listener.run();
+
+        assertThat(new HashSet<>(processed), equalTo(new HashSet<>(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")))));
+        assertThat(committedAtShutdown.get(partition0), equalTo(2L));
+        assertThat(committedAtShutdown.get(partition1), equalTo(1L));
+        assertThat(consumer.closed(), equalTo(true));
+    }
+
+    @Test
+    public void rewindsFailedBatchWithoutCommittingIt() {
+        AtomicInteger attempts = new AtomicInteger();
+        KafkaBatchEventListener listener = KafkaBatchEventListener.using(
+                values -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("projection unavailable");
+                    }
+                    processed.add(values);
+                },
+                consumer, Runnable::run, 10, Collections.singletonList(TOPIC));
+
+        consumer.schedulePollTask(() -> {
+            assignPartitions();
+            deliver(partition0, 0, "a", "b");
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(consumer.position(partition0), equalTo(0L));
+            assertThat(consumer.committed(partition0), nullValue());
+            deliver(partition0, 0, "a", "b");
+        });
+        shutdownAfterRecordingCommits(listener);
+
+        listener.run();
+
+        assertThat(attempts.get(), equalTo(2));
+        assertThat(processed, equalTo(Collections.singletonList(Arrays.asList("a", "b"))));
+        assertThat(committedAtShutdown.get(partition0), equalTo(2L));
+    }
+
+    @Test
+    public void skipsBatchWhichFailsOnEveryAttempt() {
+        List<List<String>> skipped = new ArrayList<>();
+        KafkaBatchEventListener listener = KafkaBatchEventListener.using(
+                values -> { throw new IllegalStateException("poison record"); },
+                consumer, Runnable::run, 10, Collections.singletonList(TOPIC),
+                2, (partition, values, cause) -> skipped.add(values));
+
+        consumer.schedulePollTask(() -> {
+            assignPartitions();
+            deliver(partition0, 0, "a", "b");
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(skipped, hasSize(0));
+            deliver(partition0, 0, "a", "b");
+        });
+        shutdownAfterRecordingCommits(listener);
+
+        listener.run();
+
+        assertThat(skipped, equalTo(Collections.singletonList(Arrays.asList("a", "b"))));
+        assertThat(committedAtShutdown.get(partition0), equalTo(2L));
+    }
+
+    @Test
+    public void seeksToStoredOffsetsWhenPartitionsAreAssigned() {
+        Map<TopicPartition, Long> storedOffsets = new HashMap<>();
+        storedOffsets.put(partition0, 5L);
+        List<Long> partition0Positions = new ArrayList<>();
+        List<Long> partition1Positions = new ArrayList<>();
+
+        KafkaBatchEventListener listener = KafkaBatchEventListener.using(
+                (partition, values, nextOffset) -> storedOffsets.put(partition, nextOffset),
+                partition -> Optional.ofNullable(storedOffsets.get(partition)),
+                consumer, Runnable::run, 10, Collections.singletonList(TOPIC));
+
+        // The consumer's reset policy would start from the end of each partition, so a position of 0 shows that a
+        // partition with no stored offset was explicitly rewound to its beginning.
+        consumer.schedulePollTask(() -> {
+            assignPartitions();
+            partition0Positions.add(consumer.position(partition0));
+            partition1Positions.add(consumer.position(partition1));
+            deliver(partition1, 0, "a");
+        });
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Collections.singletonList(partition1));
+            partition1Positions.add(consumer.position(partition1));
+            listener.shutdown();
+        });
+
+        listener.run();
+
+        assertThat(partition0Positions, contains(5L));
+        assertThat(partition1Positions, contains(0L, 1L));
+        assertThat(storedOffsets.get(partition1), equalTo(1L));
+    }
+}
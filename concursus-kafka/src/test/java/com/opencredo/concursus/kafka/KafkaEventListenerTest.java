@@ -0,0 +1,98 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class KafkaEventListenerTest {
+
+    private static final String TOPIC = "events";
+    private static final int MAX_QUEUE_DEPTH = 4;
+
+    private final TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+    private final TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+
+    // Like a KafkaConsumer, and unlike MockConsumer, forgets which partitions were paused when they are reassigned.
+    private static final class PauseTrackingConsumer extends MockConsumer<String, String> {
+        private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+
+        private PauseTrackingConsumer(TopicPartition...partitions) {
+            super(OffsetResetStrategy.EARLIEST);
+
+            Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+            Arrays.asList(partitions).forEach(partition -> beginningOffsets.put(partition, 0L));
+            updateBeginningOffsets(beginningOffsets);
+        }
+
+        @Override
+        public void pause(TopicPartition... partitions) {
+            super.pause(partitions);
+            pausedPartitions.addAll(Arrays.asList(partitions));
+        }
+
+        @Override
+        public void resume(TopicPartition... partitions) {
+            super.resume(partitions);
+            pausedPartitions.removeAll(Arrays.asList(partitions));
+        }
+
+        @Override
+        public void rebalance(Collection<TopicPartition> newAssignment) {
+            pausedPartitions.clear();
+            super.rebalance(newAssignment);
+        }
+    }
+
+    private final PauseTrackingConsumer consumer = new PauseTrackingConsumer(partition0, partition1);
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final KafkaEventListener listener = KafkaEventListener.using(
+            value -> { }, consumer, 10, Collections.singletonList(TOPIC), queueDepth::get, MAX_QUEUE_DEPTH);
+
+    private Set<TopicPartition> partitions(TopicPartition...partitions) {
+        return new HashSet<>(Arrays.asList(partitions));
+    }
+
+    @Test
+    public void pausesConsumptionWhileQueueIsSaturated() {
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Collections.singletonList(partition0));
+            queueDepth.set(MAX_QUEUE_DEPTH);
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(listener.isPaused(), equalTo(true));
+            assertThat(consumer.pausedPartitions, equalTo(partitions(partition0)));
+            consumer.rebalance(Arrays.asList(partition0, partition1));
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(consumer.pausedPartitions, equalTo(partitions(partition0, partition1)));
+            queueDepth.set(MAX_QUEUE_DEPTH / 2 + 1);
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(listener.isPaused(), equalTo(true));
+            assertThat(consumer.pausedPartitions, equalTo(partitions(partition0, partition1)));
+            queueDepth.set(MAX_QUEUE_DEPTH / 2);
+        });
+        consumer.schedulePollTask(() -> {
+            assertThat(listener.isPaused(), equalTo(false));
+            assertThat(consumer.pausedPartitions, equalTo(partitions()));
+            listener.shutdown();
+        });
+
+        listener.run();
+
+        assertThat(consumer.closed(), equalTo(true));
+    }
+}
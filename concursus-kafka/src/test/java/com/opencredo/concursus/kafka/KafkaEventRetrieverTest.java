@@ -0,0 +1,156 @@
+package com.opencredo.concursus.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.data.tuples.TupleSlot;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.EventType;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
+import com.opencredo.concursus.domain.time.TimeUUID;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class KafkaEventRetrieverTest {
+
+    private static final String TOPIC = "events";
+    private static final VersionedName CREATED = VersionedName.of("created");
+    private static final VersionedName UPDATED = VersionedName.of("updated");
+
+    private final TupleSchema schema = TupleSchema.of("person", TupleSlot.of("name", String.class));
+    private final Map<EventType, TupleSchema> schemas = new HashMap<>();
+    {
+        schemas.put(EventType.of("person", CREATED), schema);
+        schemas.put(EventType.of("person", UPDATED), schema);
+    }
+    private final EventTypeMatcher matcher = EventTypeMatcher.matchingAgainst(schemas);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AggregateId id1 = AggregateId.of("person", "id1");
+    private final AggregateId id2 = AggregateId.of("person", "id2");
+    private final Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    private final MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+    private final KafkaEventPersister persister = KafkaEventPersister.create(producer, TOPIC, objectMapper);
+    private final LogBackedConsumer consumer = new LogBackedConsumer(TOPIC, 2);
+
+    private Event event(AggregateId aggregateId, int millis, VersionedName name, String value) {
+        return Event.of(aggregateId, StreamTimestamp.of("test", start.plusMillis(millis)), name, schema.makeWith(value))
+                .processed(TimeUUID.timeBased());
+    }
+
+    // Copies the records sent by the persister into the consumer's log, placing each aggregate on its own partition.
+    private void persist(Event...events) {
+        persister.apply(Arrays.asList(events)).join();
+        for (ProducerRecord<String, String> record : producer.history()) {
+            consumer.append(record.key().equals(id1.toString()) ? 0 : 1, record.key(), record.value());
+        }
+        producer.clear();
+    }
+
+    private List<Event> retrieve(KafkaEventRetriever retriever, AggregateId aggregateId) {
+        return retriever.getEvents(matcher, aggregateId, TimeRange.unbounded());
+    }
+
+    @Test
+    public void groupsEventsByAggregateAcrossPartitions() {
+        Event id1Created = event(id1, 0, CREATED, "Arthur Putey");
+        Event id2Created = event(id2, 1, CREATED, "Dolly Kemp");
+        Event id1Updated = event(id1, 2, UPDATED, "Arthur Mumby");
+        persist(id1Created, id2Created);
+        persist(id1Updated);
+
+        KafkaEventRetriever retriever = KafkaEventRetriever.create(consumer, TOPIC, objectMapper);
+        Map<AggregateId, List<Event>> events = retriever.getEvents(matcher, "person", Arrays.asList("id1", "id2"), TimeRange.unbounded());
+
+        assertThat(events.get(id1), contains(id1Updated, id1Created));
+        assertThat(events.get(id2), contains(id2Created));
+    }
+
+    @Test
+    public void readsOnlyTheIndexedRecordsWithinTheTimeRange() {
+        Event id1Created = event(id1, 0, CREATED, "Arthur Putey");
+        Event id1Updated = event(id1, 2, UPDATED, "Arthur Mumby");
+        persist(id1Created);
+        persist(event(id2, 1, CREATED, "Dolly Kemp"));
+        persist(id1Updated);
+
+        KafkaEventRetriever retriever = KafkaEventRetriever.create(consumer, TOPIC, objectMapper);
+
+        assertThat(retriever.getEvents(matcher, id1, TimeRange.fromInclusive(start.plusMillis(1)).toExclusive(start.plusMillis(3))),
+                contains(id1Updated));
+        assertThat(retriever.getEvents(matcher, "person", Collections.singletonList("id3"), TimeRange.unbounded()).entrySet(),
+                hasSize(0));
+    }
+
+    @Test
+    public void catchesUpWithRecordsWrittenSinceLastRetrieval() {
+        KafkaEventRetriever retriever = KafkaEventRetriever.create(consumer, TOPIC, objectMapper);
+        Event id1Created = event(id1, 0, CREATED, "Arthur Putey");
+        persist(id1Created);
+
+        assertThat(retrieve(retriever, id1), contains(id1Created));
+
+        Event id1Updated = event(id1, 1, UPDATED, "Arthur Mumby");
+        persist(id1Updated);
+
+        assertThat(retrieve(retriever, id1), contains(id1Updated, id1Created));
+        assertThat(consumer.getPartitionsForCalls(), equalTo(1));
+    }
+
+    @Test
+    public void skipsIndexUpdatesWithinMaxIndexAge() {
+        KafkaEventRetriever retriever = KafkaEventRetriever.create(consumer, TOPIC, objectMapper, 1000L, Duration.ofHours(1));
+        Event id1Created = event(id1, 0, CREATED, "Arthur Putey");
+        persist(id1Created);
+
+        assertThat(retrieve(retriever, id1), contains(id1Created));
+
+        persist(event(id1, 1, UPDATED, "Arthur Mumby"));
+
+        assertThat(retrieve(retriever, id1), contains(id1Created));
+    }
+
+    @Test
+    public void failsRatherThanWaitingForUnreachableEndOffsets() {
+        KafkaEventRetriever retriever = KafkaEventRetriever.create(consumer, TOPIC, objectMapper);
+        Event id1Created = event(id1, 0, CREATED, "Arthur Putey");
+        persist(id1Created);
+
+        Map<TopicPartition, Long> unreachableEndOffsets = new HashMap<>();
+        unreachableEndOffsets.put(new TopicPartition(TOPIC, 0), 2L);
+        unreachableEndOffsets.put(new TopicPartition(TOPIC, 1), 0L);
+        consumer.updateEndOffsets(unreachableEndOffsets);
+
+        try {
+            retrieve(retriever, id1);
+            throw new AssertionError("Expected retrieval to fail");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), startsWith("Timed out updating index of " + TOPIC));
+        }
+
+        // The record indexed before the failure is neither lost nor indexed twice.
+        Event id1Updated = event(id1, 1, UPDATED, "Arthur Mumby");
+        persist(id1Updated);
+
+        assertThat(retrieve(retriever, id1), contains(id1Updated, id1Created));
+    }
+}
@@ -0,0 +1,58 @@
+package com.opencredo.concursus.kafka;
+
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class KafkaEventsOutChannelTest {
+
+    private final TupleSchema emptySchema = TupleSchema.of("empty");
+    private final MockProducer<String, String> producer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+    private final KafkaEventsOutChannel outChannel = KafkaEventsOutChannel.using(producer, "events",
+            events -> events.stream().map(event -> event.getEventName().getName()).collect(Collectors.joining(",")));
+
+    private Event event(String aggregateId, String name) {
+        return Event.of(AggregateId.of("person", aggregateId), StreamTimestamp.of("test", Instant.now()), VersionedName.of(name), emptySchema.makeWith());
+    }
+
+    @Test
+    public void sendsOneRecordPerAggregate() {
+        CompletableFuture<Collection<Event>> sent = outChannel.send(Arrays.asList(
+                event("id1", "created"), event("id2", "created"), event("id1", "updated")));
+
+        assertThat(producer.history().stream().map(ProducerRecord::value).collect(Collectors.toList()),
+                contains("created,updated", "created"));
+        assertThat(sent.isDone(), equalTo(false));
+
+        producer.completeNext();
+        producer.completeNext();
+
+        assertThat(sent.join(), hasSize(3));
+    }
+
+    @Test(expected = CompletionException.class)
+    public void sendFailsIfAnyRecordFails() {
+        CompletableFuture<Collection<Event>> sent = outChannel.send(Arrays.asList(event("id1", "created"), event("id2", "created")));
+
+        producer.completeNext();
+        producer.errorNext(new IllegalStateException("broker unavailable"));
+
+        sent.join();
+    }
+}
@@ -0,0 +1,76 @@
+package com.opencredo.concursus.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A {@link MockConsumer} backed by an in-memory log per partition, so that seeking and polling behave as they would
+ * against a broker: each poll returns the records following the consumer's position in every assigned partition.
+ */
+final class LogBackedConsumer extends MockConsumer<String, String> {
+
+    private final String topic;
+    private final List<List<ConsumerRecord<String, String>>> log = new ArrayList<>();
+    private int partitionsForCalls;
+
+    LogBackedConsumer(String topic, int partitionCount) {
+        super(OffsetResetStrategy.EARLIEST);
+        this.topic = topic;
+
+        Node node = new Node(0, "localhost", 9092);
+        IntStream.range(0, partitionCount).forEach(partition -> log.add(new ArrayList<>()));
+        updatePartitions(topic, IntStream.range(0, partitionCount)
+                .mapToObj(partition -> new PartitionInfo(topic, partition, node, new Node[0], new Node[0]))
+                .collect(toList()));
+        updateBeginningOffsets(offsets(partition -> 0L));
+        updateEndOffsets(offsets(partition -> 0L));
+    }
+
+    private Map<TopicPartition, Long> offsets(IntFunction<Long> offsetForPartition) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        IntStream.range(0, log.size()).forEach(partition ->
+                offsets.put(new TopicPartition(topic, partition), offsetForPartition.apply(partition)));
+        return offsets;
+    }
+
+    void append(int partition, String key, String value) {
+        List<ConsumerRecord<String, String>> partitionLog = log.get(partition);
+        partitionLog.add(new ConsumerRecord<>(topic, partition, partitionLog.size(), key, value));
+        updateEndOffsets(offsets(p -> (long) log.get(p).size()));
+    }
+
+    int getPartitionsForCalls() {
+        return partitionsForCalls;
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        partitionsForCalls++;
+        return super.partitionsFor(topic);
+    }
+
+    @Override
+    public ConsumerRecords<String, String> poll(long timeout) {
+        assignment().forEach(partition -> {
+            long position = position(partition);
+            log.get(partition.partition()).stream()
+                    .filter(record -> record.offset() >= position)
+                    .forEach(this::addRecord);
+        });
+        return super.poll(timeout);
+    }
+}
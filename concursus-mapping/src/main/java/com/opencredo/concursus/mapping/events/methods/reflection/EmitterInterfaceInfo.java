@@ -49,23 +49,27 @@ public final class EmitterInterfaceInfo<T> {
         Map<Method, EventMethodMapping> eventMappers = EventMethodType.EMITTER.getEventMethodInfo(aggregateType, iface);
 
         Map<EventType, TupleSchema> eventTypeMatcherMap = EventMethodMapping.getEventTypeMappings(eventMappers.values());
+        EventTypeMatcher eventTypeMatcher = EventTypeMatcher.matchingAgainst(eventTypeMatcherMap);
 
         return new EmitterInterfaceInfo<>(
                 eventTypeMatcherMap,
-                EventTypeBinding.of(aggregateType, EventTypeMatcher.matchingAgainst(eventTypeMatcherMap)),
+                eventTypeMatcher,
+                EventTypeBinding.of(aggregateType, eventTypeMatcher),
                 EventMethodMapper.mappingWith(eventMappers),
                 EventDispatchers.dispatchingEventsByType(eventMappers),
                 EventMethodMapping.makeCausalOrdering(eventMappers.values()));
     }
 
     private final Map<EventType, TupleSchema> eventTypeMatcherMap;
+    private final EventTypeMatcher eventTypeMatcher;
     private final EventTypeBinding eventTypeBinding;
     private final EventMethodMapper eventMethodMapper;
     private final MultiTypeEventDispatcher<T> eventDispatcher;
     private final Comparator<Event> causalOrderComparator;
 
-    private EmitterInterfaceInfo(Map<EventType, TupleSchema> eventTypeMatcherMap, EventTypeBinding eventTypeBinding, EventMethodMapper eventMethodMapper, MultiTypeEventDispatcher<T> eventDispatcher, Comparator<Event> causalOrderComparator) {
+    private EmitterInterfaceInfo(Map<EventType, TupleSchema> eventTypeMatcherMap, EventTypeMatcher eventTypeMatcher, EventTypeBinding eventTypeBinding, EventMethodMapper eventMethodMapper, MultiTypeEventDispatcher<T> eventDispatcher, Comparator<Event> causalOrderComparator) {
         this.eventTypeMatcherMap = eventTypeMatcherMap;
+        this.eventTypeMatcher = eventTypeMatcher;
         this.eventTypeBinding = eventTypeBinding;
         this.eventMethodMapper = eventMethodMapper;
         this.eventDispatcher = eventDispatcher;
@@ -113,10 +117,11 @@ public final class EmitterInterfaceInfo<T> {
     }
 
     /**
-     * Get an {@link EventTypeMatcher} for the interface.
+     * Get an {@link EventTypeMatcher} for the interface. The same instance is returned on every call, and is the one
+     * used by the interface's {@link EventTypeBinding}, so it can serve as a key for caches of retrieved events.
      * @return
      */
     public EventTypeMatcher getEventTypeMatcher() {
-        return EventTypeMatcher.matchingAgainst(eventTypeMatcherMap);
+        return eventTypeMatcher;
     }
 }
@@ -71,6 +71,21 @@ public final class DispatchingStateBuilder<T> implements StateBuilder<T> {
         return new DispatchingStateBuilder<>(initialEventDispatcher, updateMethodDispatcher, Optional.empty());
     }
 
+    /**
+     * Create a {@link StateBuilder} that dispatches events using the supplied {@link InitialEventDispatcher} and
+     * {@link EventDispatcher}, continuing from an existing state instance.
+     * @param initialEventDispatcher The dispatcher to use to dispatch initial events.
+     * @param updateMethodDispatcher The dispatcher to use to dispatch update events.
+     * @param stateInstance The state instance to apply update events to.
+     * @param <T> The type of the state object to build.
+     * @return The constructed {@link StateBuilder}
+     */
+    public static <T> StateBuilder<T> dispatching(InitialEventDispatcher<T> initialEventDispatcher, EventDispatcher<T> updateMethodDispatcher, T stateInstance) {
+        checkNotNull(stateInstance, "stateInstance must not be null");
+
+        return new DispatchingStateBuilder<>(initialEventDispatcher, updateMethodDispatcher, Optional.of(stateInstance));
+    }
+
     private Optional<T> state;
 
     private final InitialEventDispatcher<T> initialEventDispatcher;
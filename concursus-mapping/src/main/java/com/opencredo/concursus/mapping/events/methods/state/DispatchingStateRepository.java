@@ -1,11 +1,16 @@
 package com.opencredo.concursus.mapping.events.methods.state;
 
+import com.opencredo.concursus.domain.events.snapshots.SnapshotPolicy;
+import com.opencredo.concursus.domain.events.snapshots.SnapshotStore;
+import com.opencredo.concursus.domain.events.snapshots.SnapshottingStateRepository;
+import com.opencredo.concursus.domain.events.snapshots.StateSerialiser;
 import com.opencredo.concursus.domain.events.sourcing.EventSource;
 import com.opencredo.concursus.domain.events.state.StateBuilder;
 import com.opencredo.concursus.domain.events.state.EventSourcingStateRepository;
 import com.opencredo.concursus.domain.events.state.StateRepository;
 import com.opencredo.concursus.mapping.events.methods.reflection.StateClassInfo;
 
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -28,16 +33,69 @@ public final class DispatchingStateRepository {
     public static <T> StateRepository<T> using(EventSource eventSource, Class<? extends T> stateClass) {
         StateClassInfo<T> stateClassInfo = StateClassInfo.forStateClass(stateClass);
 
-        final Supplier<StateBuilder<T>> aggregateStateBuilderSupplier = () ->
-                DispatchingStateBuilder.dispatching(
-                    stateClassInfo.getInitialEventDispatcher(),
-                    stateClassInfo.getUpdateEventDispatcher());
-
         return EventSourcingStateRepository.using(
-                aggregateStateBuilderSupplier,
+                stateBuilderSupplier(stateClassInfo),
                 eventSource,
                 stateClassInfo.getEventTypeBinding(),
                 stateClassInfo.getCausalOrder());
     }
 
+    /**
+     * Create a {@link StateRepository}, drawing on the supplied {@link EventSource}, which uses a {@link DispatchingStateBuilder}
+     * to construct state objects of the given class, building the states requested together in parallel on the
+     * supplied {@link Executor}.
+     * @param eventSource The {@link EventSource} to retrieve events from.
+     * @param stateClass The class of the state objects to construct.
+     * @param executor The {@link Executor} on which to retrieve events and build states.
+     * @param batchSize The maximum number of aggregates whose events are retrieved together.
+     * @param <T> The type of the state objects to construct.
+     * @return The constructed {@link StateRepository}.
+     */
+    public static <T> StateRepository<T> using(EventSource eventSource, Class<? extends T> stateClass, Executor executor, int batchSize) {
+        StateClassInfo<T> stateClassInfo = StateClassInfo.forStateClass(stateClass);
+
+        return EventSourcingStateRepository.using(
+                stateBuilderSupplier(stateClassInfo),
+                eventSource,
+                stateClassInfo.getEventTypeBinding(),
+                stateClassInfo.getCausalOrder(),
+                executor,
+                batchSize);
+    }
+
+    /**
+     * Create a {@link StateRepository}, drawing on the supplied {@link EventSource}, which uses a {@link DispatchingStateBuilder}
+     * to construct state objects of the given class, starting from the latest snapshot of each state held in the
+     * supplied {@link SnapshotStore}.
+     * @param eventSource The {@link EventSource} to retrieve events from.
+     * @param stateClass The class of the state objects to construct.
+     * @param snapshotStore The {@link SnapshotStore} to retrieve and store snapshots with.
+     * @param stateSerialiser The {@link StateSerialiser} to serialise and deserialise state objects with.
+     * @param snapshotPolicy The {@link SnapshotPolicy} deciding when to take snapshots.
+     * @param <T> The type of the state objects to construct.
+     * @return The constructed {@link StateRepository}.
+     */
+    public static <T> StateRepository<T> snapshotting(EventSource eventSource, Class<? extends T> stateClass, SnapshotStore snapshotStore, StateSerialiser<T> stateSerialiser, SnapshotPolicy snapshotPolicy) {
+        StateClassInfo<T> stateClassInfo = StateClassInfo.forStateClass(stateClass);
+
+        return SnapshottingStateRepository.using(
+                stateBuilderSupplier(stateClassInfo),
+                state -> DispatchingStateBuilder.dispatching(
+                        stateClassInfo.getInitialEventDispatcher(),
+                        stateClassInfo.getUpdateEventDispatcher(),
+                        state),
+                eventSource,
+                stateClassInfo.getEventTypeBinding(),
+                stateClassInfo.getCausalOrder(),
+                snapshotStore,
+                stateSerialiser,
+                snapshotPolicy);
+    }
+
+    private static <T> Supplier<StateBuilder<T>> stateBuilderSupplier(StateClassInfo<T> stateClassInfo) {
+        return () -> DispatchingStateBuilder.dispatching(
+                stateClassInfo.getInitialEventDispatcher(),
+                stateClassInfo.getUpdateEventDispatcher());
+    }
+
 }
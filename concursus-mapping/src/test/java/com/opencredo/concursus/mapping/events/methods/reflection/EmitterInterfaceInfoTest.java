@@ -0,0 +1,67 @@
+package com.opencredo.concursus.mapping.events.methods.reflection;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.dispatching.EventBus;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
+import com.opencredo.concursus.domain.events.sourcing.CachingEventRetriever;
+import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
+import com.opencredo.concursus.domain.events.storage.InMemoryEventStore;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
+import com.opencredo.concursus.mapping.events.methods.helper.PersonEvents;
+import com.opencredo.concursus.mapping.events.methods.proxying.ProxyingEventBus;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class EmitterInterfaceInfoTest {
+
+    private final InMemoryEventStore eventStore = InMemoryEventStore.empty();
+    private final AtomicInteger retrievals = new AtomicInteger();
+
+    private final EventRetriever countingRetriever = new EventRetriever() {
+        @Override
+        public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+            retrievals.incrementAndGet();
+            return eventStore.getEvents(matcher, aggregateId, timeRange);
+        }
+
+        @Override
+        public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+            retrievals.incrementAndGet();
+            return eventStore.getEvents(matcher, aggregateType, aggregateIds, timeRange);
+        }
+    };
+
+    @Test
+    public void eventTypeMatcherIsStableSoRetrievalsCanBeCached() {
+        ProxyingEventBus.proxying(EventBus.processingWith(EventBatchProcessor.forwardingTo(eventStore)))
+                .dispatch(PersonEvents.class, batch -> {
+                    batch.createdV1(StreamTimestamp.of("test", Instant.now()), "id1", "Arthur Putey");
+                    batch.nameUpdated(StreamTimestamp.of("test", Instant.now().plusMillis(1)), "id1", "Arthur Mumby");
+                });
+
+        CachingEventRetriever cachingRetriever = CachingEventRetriever.withMaxEvents(
+                countingRetriever, 100, CachingEventRetriever.UpdatePolicy.APPEND);
+        AggregateId aggregateId = AggregateId.of("person", "id1");
+
+        EventTypeMatcher first = EmitterInterfaceInfo.forInterface(PersonEvents.class).getEventTypeMatcher();
+        EventTypeMatcher second = EmitterInterfaceInfo.forInterface(PersonEvents.class).getEventTypeMatcher();
+
+        assertThat(second, sameInstance(first));
+        assertThat(cachingRetriever.getEvents(first, aggregateId, TimeRange.unbounded()), hasSize(2));
+        assertThat(cachingRetriever.getEvents(second, aggregateId, TimeRange.unbounded()), hasSize(2));
+        assertThat(retrievals.get(), equalTo(1));
+    }
+}
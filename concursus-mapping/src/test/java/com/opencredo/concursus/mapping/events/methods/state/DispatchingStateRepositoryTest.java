@@ -13,9 +13,14 @@ import com.opencredo.concursus.mapping.events.methods.proxying.ProxyingEventBus;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -103,6 +108,33 @@ public class DispatchingStateRepositoryTest {
         assertThat(states.get(id2).getName(), equalTo("Arthur, King of the Britons"));
     }
 
+    @Test
+    public void buildStatesInParallel() {
+        List<String> ids = IntStream.range(0, 100).mapToObj(i -> "id" + i).collect(Collectors.toList());
+
+        StreamTimestamp createTimestamp = nextTimestamp();
+        StreamTimestamp updateTimestamp = nextTimestamp();
+
+        eventBus.dispatch(PersonEvents.class, batch -> ids.forEach(id -> {
+            batch.createdV1(createTimestamp, id, "Arthur Dent");
+            batch.nameUpdated(updateTimestamp, id, "Arthur " + id);
+        }));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            StateRepository<PersonState> repository = DispatchingStateRepository.using(eventSource, PersonState.class, pool, 7);
+
+            List<String> requested = new ArrayList<>(ids);
+            requested.add("missing");
+            Map<String, PersonState> states = repository.getStates(requested);
+
+            assertThat(states.size(), equalTo(ids.size()));
+            ids.forEach(id -> assertThat(states.get(id).getName(), equalTo("Arthur " + id)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private StreamTimestamp nextTimestamp() {
         return StreamTimestamp.of("test", timestampStart.plusMillis(timestampOffset.getAndIncrement()));
     }
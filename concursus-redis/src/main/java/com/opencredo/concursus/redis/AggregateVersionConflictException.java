@@ -0,0 +1,39 @@
+package com.opencredo.concursus.redis;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+
+/**
+ * Thrown when an atomic write is rejected because an aggregate's stored version differs from the version the writer
+ * expected, i.e. because another writer has appended events to the aggregate in the meantime.
+ */
+public final class AggregateVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Held as strings, since AggregateId is not serialisable.
+    private final String aggregateType;
+    private final String aggregateId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    AggregateVersionConflictException(AggregateId aggregateId, long expectedVersion, long actualVersion) {
+        super(String.format("Expected %s to be at version %s, but it was at version %s",
+                aggregateId, expectedVersion, actualVersion));
+        this.aggregateType = aggregateId.getType();
+        this.aggregateId = aggregateId.getId();
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public AggregateId getAggregateId() {
+        return AggregateId.of(aggregateType, aggregateId);
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,151 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opencredo.concursus.data.tuples.Tuple;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.EventType;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes an event as the JSON array
+ * <code>[epochSecond, nano, streamId, processingId, name, version, characteristics, slotCount, parameter...]</code>,
+ * with the parameter values in the order of the event's {@link TupleSchema} slots. Parameters are only parsed if the
+ * {@link EventTypeMatcher} recognises the event's type, and an event whose slot count differs from that of the matched
+ * schema is rejected, rather than having its values assigned to the wrong slots.
+ */
+final class CompactRedisEventCodec implements RedisEventCodec {
+
+    static CompactRedisEventCodec using(ObjectMapper objectMapper) {
+        return new CompactRedisEventCodec(objectMapper);
+    }
+
+    private final ObjectMapper objectMapper;
+    // Unlike ObjectMapper.writeValue, does not flush the generator after every parameter value.
+    private final ObjectWriter valueWriter;
+
+    private CompactRedisEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public String encode(Event event) {
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            Instant timestamp = event.getEventTimestamp().getTimestamp();
+
+            generator.writeStartArray();
+            generator.writeNumber(timestamp.getEpochSecond());
+            generator.writeNumber(timestamp.getNano());
+            generator.writeString(event.getEventTimestamp().getStreamId());
+            generator.writeString(event.getProcessingId().map(UUID::toString).orElse(null));
+            generator.writeString(event.getEventName().getName());
+            generator.writeString(event.getEventName().getVersion());
+            generator.writeNumber(event.getCharacteristics());
+            generator.writeNumber(event.getParameters().getSchema().getSlotCount());
+            event.getParameters().serialiseInOrder(value -> writeValue(generator, value));
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return writer.toString();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) {
+        try {
+            valueWriter.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<Event> decode(AggregateId aggregateId, String encoded, EventTypeMatcher matcher) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(encoded)) {
+            expect(parser, JsonToken.START_ARRAY);
+
+            Instant timestamp = Instant.ofEpochSecond(nextLong(parser), nextLong(parser));
+            StreamTimestamp eventTimestamp = StreamTimestamp.of(nextString(parser), timestamp);
+            String processingId = nextString(parser);
+            VersionedName eventName = VersionedName.of(nextString(parser), nextString(parser));
+            int characteristics = (int) nextLong(parser);
+            long slotCount = nextLong(parser);
+
+            Optional<TupleSchema> schema = matcher.match(EventType.of(aggregateId.getType(), eventName));
+            if (!schema.isPresent()) {
+                return Optional.empty();
+            }
+
+            if (slotCount != schema.get().getSlotCount()) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected %s values for schema %s, but %s were encoded",
+                        schema.get().getSlotCount(), schema.get(), slotCount));
+            }
+
+            Tuple parameters = schema.get().deserialiseInOrder(type -> readValue(parser, type));
+
+            expect(parser, JsonToken.END_ARRAY);
+            JsonToken trailing = parser.nextToken();
+            if (trailing != null) {
+                throw new IllegalArgumentException(String.format("Unexpected %s after encoded event", trailing));
+            }
+
+            return Optional.of(processingId == null
+                    ? Event.of(aggregateId, eventTimestamp, eventName, parameters, characteristics)
+                    : Event.of(aggregateId, eventTimestamp, UUID.fromString(processingId), eventName, parameters, characteristics));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object readValue(JsonParser parser, Type type) {
+        try {
+            parser.nextToken();
+            return objectMapper.readValue(parser, objectMapper.constructType(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long nextLong(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.VALUE_NUMBER_INT);
+        return parser.getLongValue();
+    }
+
+    private String nextString(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException(String.format("Expected a string in encoded event, but found %s", token));
+        }
+        return parser.getText();
+    }
+
+    private void expect(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken actual = parser.nextToken();
+        if (actual != expected) {
+            throw new IllegalArgumentException(String.format("Expected %s in encoded event, but found %s", expected, actual));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.opencredo.concursus.redis;
+
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.time.TimeRange;
+import com.opencredo.concursus.domain.time.TimeRangeBound;
+
+/**
+ * Keys and scores for storing each aggregate's events in a sorted set, scored by event timestamp in epoch
+ * milliseconds. Time range bounds are widened to whole milliseconds when converted to scores, so results read by score
+ * must still be filtered against the exact {@link TimeRange}.
+ */
+final class EventSortedSets {
+
+    private static final String KEY_PREFIX = "events:";
+
+    private EventSortedSets() {
+    }
+
+    static String key(AggregateId aggregateId) {
+        return KEY_PREFIX + aggregateId;
+    }
+
+    static double score(Event event) {
+        return event.getEventTimestamp().getTimestamp().toEpochMilli();
+    }
+
+    static String scoreArgument(Event event) {
+        return Long.toString(event.getEventTimestamp().getTimestamp().toEpochMilli());
+    }
+
+    static String minScore(TimeRange timeRange) {
+        return timeRange.getLowerBound()
+                .map(TimeRangeBound::getInstant)
+                .map(instant -> Long.toString(instant.toEpochMilli()))
+                .orElse("-inf");
+    }
+
+    static String maxScore(TimeRange timeRange) {
+        return timeRange.getUpperBound()
+                .map(TimeRangeBound::getInstant)
+                .map(instant -> Long.toString(instant.toEpochMilli()))
+                .orElse("+inf");
+    }
+}
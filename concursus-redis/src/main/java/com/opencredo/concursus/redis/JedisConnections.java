@@ -0,0 +1,50 @@
+package com.opencredo.concursus.redis;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Provides {@link Jedis} connections for Redis operations. A pooled source borrows a connection from a {@link Pool} for
+ * each operation, so that operations on different threads run concurrently on separate connections. A shared source
+ * wraps a single connection, which is not thread-safe, and serialises all operations on it.
+ */
+final class JedisConnections {
+
+    static JedisConnections pooled(Pool<Jedis> pool) {
+        return new JedisConnections(pool, null);
+    }
+
+    static JedisConnections shared(Jedis jedis) {
+        return new JedisConnections(null, jedis);
+    }
+
+    private final Pool<Jedis> pool;
+    private final Jedis sharedJedis;
+
+    private JedisConnections(Pool<Jedis> pool, Jedis sharedJedis) {
+        this.pool = pool;
+        this.sharedJedis = sharedJedis;
+    }
+
+    <T> T apply(Function<Jedis, T> operation) {
+        if (pool == null) {
+            synchronized (sharedJedis) {
+                return operation.apply(sharedJedis);
+            }
+        }
+
+        try (Jedis jedis = pool.getResource()) {
+            return operation.apply(jedis);
+        }
+    }
+
+    void accept(Consumer<Jedis> operation) {
+        apply(jedis -> {
+            operation.accept(jedis);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.json.events.EventJson;
+
+import java.util.Optional;
+
+final class JsonRedisEventCodec implements RedisEventCodec {
+
+    static JsonRedisEventCodec using(ObjectMapper objectMapper) {
+        return new JsonRedisEventCodec(objectMapper);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private JsonRedisEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String encode(Event event) {
+        return EventJson.fromEvent(event, objectMapper).toJsonString(objectMapper);
+    }
+
+    @Override
+    public Optional<Event> decode(AggregateId aggregateId, String encoded, EventTypeMatcher matcher) {
+        return EventJson.fromJsonString(encoded, objectMapper).toEvent(matcher, objectMapper);
+    }
+}
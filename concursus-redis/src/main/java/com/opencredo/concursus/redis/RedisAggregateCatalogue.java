@@ -2,34 +2,54 @@ package com.opencredo.concursus.redis;
 
 import com.opencredo.concursus.domain.events.cataloguing.AggregateCatalogue;
 import redis.clients.jedis.Jedis;
+import redis.clients.util.Pool;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public final class RedisAggregateCatalogue implements AggregateCatalogue {
 
     public static RedisAggregateCatalogue create(Jedis jedis) {
-        return new RedisAggregateCatalogue(jedis);
+        return new RedisAggregateCatalogue(JedisConnections.shared(jedis));
     }
 
-    private final Jedis jedis;
+    public static RedisAggregateCatalogue create(Pool<Jedis> jedisPool) {
+        return new RedisAggregateCatalogue(JedisConnections.pooled(jedisPool));
+    }
+
+    private final JedisConnections connections;
 
-    private RedisAggregateCatalogue(Jedis jedis) {
-        this.jedis = jedis;
+    private RedisAggregateCatalogue(JedisConnections connections) {
+        this.connections = connections;
     }
 
     @Override
     public void add(String aggregateType, String aggregateId) {
-        jedis.sadd(aggregateType, aggregateId);
+        connections.accept(jedis -> jedis.sadd(aggregateType, aggregateId));
     }
 
     @Override
     public void remove(String aggregateType, String aggregateId) {
-        jedis.srem(aggregateType, aggregateId);
+        connections.accept(jedis -> jedis.srem(aggregateType, aggregateId));
+    }
+
+    @Override
+    public void addAll(String aggregateType, Collection<String> aggregateIds) {
+        if (!aggregateIds.isEmpty()) {
+            connections.accept(jedis -> jedis.sadd(aggregateType, aggregateIds.toArray(new String[aggregateIds.size()])));
+        }
+    }
+
+    @Override
+    public void removeAll(String aggregateType, Collection<String> aggregateIds) {
+        if (!aggregateIds.isEmpty()) {
+            connections.accept(jedis -> jedis.srem(aggregateType, aggregateIds.toArray(new String[aggregateIds.size()])));
+        }
     }
 
     @Override
     public List<String> getAggregateIds(String aggregateType) {
-        return jedis.smembers(aggregateType).stream().collect(Collectors.toList());
+        return connections.apply(jedis -> jedis.smembers(aggregateType)).stream().collect(Collectors.toList());
     }
 }
@@ -0,0 +1,189 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.logging.EventLog;
+import com.opencredo.concursus.domain.time.TimeUUID;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.util.Pool;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link EventLog} which appends each batch of events to the same sorted sets as {@link RedisSortedSetEventLog},
+ * but atomically, using a server-side script run with EVALSHA. Either every event in the batch is written or none is.
+ *
+ * An aggregate's version is the number of events stored for it. Writers may supply the version they expect each
+ * aggregate to be at; if any aggregate has moved on, the whole batch is rejected with an
+ * {@link AggregateVersionConflictException}, so concurrent writers to the same aggregate fail fast rather than
+ * interleaving their events.
+ *
+ * Because a script may only touch keys held on a single node, batches spanning several aggregates are only supported
+ * against a non-clustered Redis server.
+ */
+public final class RedisAtomicEventLog implements EventLog {
+
+    // KEYS: one sorted set key per aggregate.
+    // ARGV: for each aggregate, its expected version ('' for none), its event count, then a score and member per event.
+    // Returns an empty array on success, or {aggregate index, actual version} if a version check failed.
+    static final String APPEND_SCRIPT =
+            "local offset = 1\n" +
+            "for i = 1, #KEYS do\n" +
+            "  local expected = ARGV[offset]\n" +
+            "  if expected ~= '' then\n" +
+            "    local actual = redis.call('ZCARD', KEYS[i])\n" +
+            "    if actual ~= tonumber(expected) then\n" +
+            "      return {i, actual}\n" +
+            "    end\n" +
+            "  end\n" +
+            "  offset = offset + 2 + 2 * tonumber(ARGV[offset + 1])\n" +
+            "end\n" +
+            "offset = 1\n" +
+            "for i = 1, #KEYS do\n" +
+            "  local count = tonumber(ARGV[offset + 1])\n" +
+            "  local scoreMembers = {}\n" +
+            "  for j = 1, count do\n" +
+            "    scoreMembers[#scoreMembers + 1] = ARGV[offset + 2 * j]\n" +
+            "    scoreMembers[#scoreMembers + 1] = ARGV[offset + 2 * j + 1]\n" +
+            "    if #scoreMembers >= 1000 or j == count then\n" +
+            "      redis.call('ZADD', KEYS[i], unpack(scoreMembers))\n" +
+            "      scoreMembers = {}\n" +
+            "    end\n" +
+            "  end\n" +
+            "  offset = offset + 2 + 2 * count\n" +
+            "end\n" +
+            "return {}\n";
+
+    private static final String APPEND_SCRIPT_SHA = sha1(APPEND_SCRIPT);
+
+    public static RedisAtomicEventLog create(Jedis jedis, ObjectMapper objectMapper) {
+        return create(jedis, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisAtomicEventLog create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisAtomicEventLog create(Jedis jedis, RedisEventCodec codec) {
+        return new RedisAtomicEventLog(JedisConnections.shared(jedis), codec);
+    }
+
+    public static RedisAtomicEventLog create(Pool<Jedis> jedisPool, RedisEventCodec codec) {
+        return new RedisAtomicEventLog(JedisConnections.pooled(jedisPool), codec);
+    }
+
+    private final JedisConnections connections;
+    private final RedisEventCodec codec;
+
+    private RedisAtomicEventLog(JedisConnections connections, RedisEventCodec codec) {
+        this.connections = connections;
+        this.codec = codec;
+    }
+
+    /**
+     * Get the current version of an aggregate, i.e. the number of events stored for it.
+     * @param aggregateId The id of the aggregate.
+     * @return The aggregate's version, which is 0 if it has no events.
+     */
+    public long getVersion(AggregateId aggregateId) {
+        return connections.apply(jedis -> jedis.zcard(EventSortedSets.key(aggregateId)));
+    }
+
+    @Override
+    public Collection<Event> apply(Collection<Event> events) {
+        return apply(events, Collections.emptyMap());
+    }
+
+    /**
+     * Atomically append the supplied events, provided that every aggregate with an expected version is at that version.
+     * @param events The events to append.
+     * @param expectedVersions The versions at which aggregates are expected to be. Aggregates not present in the map are
+     *                         not checked.
+     * @return The appended events, with processing ids assigned.
+     * @throws AggregateVersionConflictException If any aggregate was not at its expected version, in which case no
+     * events were appended.
+     */
+    public Collection<Event> apply(Collection<Event> events, Map<AggregateId, Long> expectedVersions) {
+        if (events.isEmpty()) {
+            return events;
+        }
+
+        Map<AggregateId, List<Event>> eventsById = events.stream()
+                .map(event -> event.processed(TimeUUID.timeBased()))
+                .collect(groupingBy(Event::getAggregateId, LinkedHashMap::new, toList()));
+
+        List<AggregateId> aggregateIds = new ArrayList<>(eventsById.keySet());
+        List<String> keys = aggregateIds.stream().map(EventSortedSets::key).collect(toList());
+        List<String> args = appendScriptArguments(eventsById, expectedVersions, codec);
+
+        List<?> conflict = (List<?>) connections.apply(jedis -> evalAppendScript(jedis, keys, args));
+        if (!conflict.isEmpty()) {
+            AggregateId conflictingId = aggregateIds.get(((Long) conflict.get(0)).intValue() - 1);
+            throw new AggregateVersionConflictException(
+                    conflictingId,
+                    expectedVersions.get(conflictingId),
+                    (Long) conflict.get(1));
+        }
+
+        return eventsById.values().stream().flatMap(List::stream).collect(toList());
+    }
+
+    /**
+     * Encode the ARGV of {@link #APPEND_SCRIPT}, in the order of the supplied map's keys, which must match the order of
+     * KEYS.
+     * @param eventsById The events to append, grouped by aggregate.
+     * @param expectedVersions The versions at which aggregates are expected to be.
+     * @param codec The {@link RedisEventCodec} with which to encode each event as a sorted set member.
+     * @return The script arguments.
+     */
+    static List<String> appendScriptArguments(Map<AggregateId, List<Event>> eventsById, Map<AggregateId, Long> expectedVersions, RedisEventCodec codec) {
+        List<String> args = new ArrayList<>();
+        eventsById.forEach((id, eventsForId) -> {
+            Long expectedVersion = expectedVersions.get(id);
+            args.add(expectedVersion == null ? "" : Long.toString(expectedVersion));
+            args.add(Integer.toString(eventsForId.size()));
+            eventsForId.forEach(event -> {
+                args.add(EventSortedSets.scoreArgument(event));
+                args.add(codec.encode(event));
+            });
+        });
+        return args;
+    }
+
+    private Object evalAppendScript(Jedis jedis, List<String> keys, List<String> args) {
+        try {
+            return jedis.evalsha(APPEND_SCRIPT_SHA, keys, args);
+        } catch (JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+                throw e;
+            }
+            // The server has not seen the script yet (or has been restarted), so send it in full.
+            return jedis.evalsha(jedis.scriptLoad(APPEND_SCRIPT), keys, args);
+        }
+    }
+
+    private static String sha1(String script) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
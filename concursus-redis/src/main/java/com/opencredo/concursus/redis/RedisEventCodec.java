@@ -0,0 +1,51 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+
+import java.util.Optional;
+
+/**
+ * Encodes events as the string members stored in Redis. Events are always stored under a key identifying their
+ * aggregate, so a codec need not encode the aggregate's type and id.
+ */
+public interface RedisEventCodec {
+
+    /**
+     * Create a {@link RedisEventCodec} which stores each event as a full EventJson document.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise and deserialise events.
+     * @return The constructed {@link RedisEventCodec}.
+     */
+    static RedisEventCodec json(ObjectMapper objectMapper) {
+        return JsonRedisEventCodec.using(objectMapper);
+    }
+
+    /**
+     * Create a {@link RedisEventCodec} which stores each event as a compact positional JSON array, omitting the
+     * aggregate type and id and the names of the event's parameters, which are recovered from the key and the event's
+     * {@link com.opencredo.concursus.data.tuples.TupleSchema} respectively.
+     * @param objectMapper The {@link ObjectMapper} to use to serialise and deserialise parameter values.
+     * @return The constructed {@link RedisEventCodec}.
+     */
+    static RedisEventCodec compact(ObjectMapper objectMapper) {
+        return CompactRedisEventCodec.using(objectMapper);
+    }
+
+    /**
+     * Encode the supplied {@link Event}.
+     * @param event The {@link Event} to encode.
+     * @return The encoded event.
+     */
+    String encode(Event event);
+
+    /**
+     * Decode an event belonging to the specified aggregate.
+     * @param aggregateId The id of the aggregate under which the event was stored.
+     * @param encoded The encoded event.
+     * @param matcher The {@link EventTypeMatcher} to use to find the event's parameter schema.
+     * @return The decoded {@link Event}, iff the {@link EventTypeMatcher} matches its type.
+     */
+    Optional<Event> decode(AggregateId aggregateId, String encoded, EventTypeMatcher matcher);
+}
@@ -4,17 +4,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.logging.EventLog;
-import com.opencredo.concursus.domain.json.events.EventJson;
 import com.opencredo.concursus.domain.time.TimeUUID;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
+import redis.clients.util.Pool;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
@@ -22,15 +21,27 @@ import static java.util.stream.Collectors.toList;
 public class RedisEventLog implements EventLog {
 
     public static RedisEventLog create(Jedis jedis, ObjectMapper objectMapper) {
-        return new RedisEventLog(jedis, evt -> EventJson.fromEvent(evt, objectMapper).toJsonString(objectMapper));
+        return create(jedis, RedisEventCodec.json(objectMapper));
     }
 
-    private final Jedis jedis;
-    private final Function<Event, String> serialiser;
+    public static RedisEventLog create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisEventLog create(Jedis jedis, RedisEventCodec codec) {
+        return new RedisEventLog(JedisConnections.shared(jedis), codec);
+    }
 
-    private RedisEventLog(Jedis jedis, Function<Event, String> serialiser) {
-        this.jedis = jedis;
-        this.serialiser = serialiser;
+    public static RedisEventLog create(Pool<Jedis> jedisPool, RedisEventCodec codec) {
+        return new RedisEventLog(JedisConnections.pooled(jedisPool), codec);
+    }
+
+    private final JedisConnections connections;
+    private final RedisEventCodec codec;
+
+    private RedisEventLog(JedisConnections connections, RedisEventCodec codec) {
+        this.connections = connections;
+        this.codec = codec;
     }
 
     @Override
@@ -48,7 +59,7 @@ public class RedisEventLog implements EventLog {
 
     private Collection<Event> writeSingleEvent(Event event) {
         Event processedEvent = event.processed(TimeUUID.timeBased());
-        jedis.sadd(event.getAggregateId().toString(), serialiser.apply(processedEvent));
+        connections.accept(jedis -> jedis.sadd(event.getAggregateId().toString(), codec.encode(processedEvent)));
         return Collections.singletonList(processedEvent);
     }
 
@@ -57,16 +68,18 @@ public class RedisEventLog implements EventLog {
                 .map(event -> event.processed(TimeUUID.timeBased()))
                 .collect(groupingBy(Event::getAggregateId));
 
-        if (eventsById.size() == 1) {
-            eventsById.forEach(this::writeEventsForId);
-        } else {
-            final Pipeline pipeline = jedis.pipelined();
+        connections.accept(jedis -> {
+            if (eventsById.size() == 1) {
+                eventsById.forEach((id, eventsForId) -> writeEventsForId(jedis, id, eventsForId));
+            } else {
+                final Pipeline pipeline = jedis.pipelined();
 
-            eventsById.forEach((id, eventsForId) ->
-                    writeEventsForId(pipeline, id, eventsForId));
+                eventsById.forEach((id, eventsForId) ->
+                        writeEventsForId(pipeline, id, eventsForId));
 
-            pipeline.sync();
-        }
+                pipeline.sync();
+            }
+        });
 
         return eventsById.values().stream().flatMap(List::stream).collect(toList());
     }
@@ -75,11 +88,11 @@ public class RedisEventLog implements EventLog {
         return pipeline.sadd(id.toString(), serialiseEvents(eventsForId));
     }
 
-    private long writeEventsForId(AggregateId id, List<Event> eventsForId) {
+    private long writeEventsForId(Jedis jedis, AggregateId id, List<Event> eventsForId) {
         return jedis.sadd(id.toString(), serialiseEvents(eventsForId));
     }
 
     private String[] serialiseEvents(List<Event> eventsForId) {
-        return eventsForId.stream().map(serialiser).toArray(String[]::new);
+        return eventsForId.stream().map(codec::encode).toArray(String[]::new);
     }
 }
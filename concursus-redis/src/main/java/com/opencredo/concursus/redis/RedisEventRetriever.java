@@ -5,11 +5,11 @@ import com.opencredo.concursus.domain.common.AggregateId;
 import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
 import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
-import com.opencredo.concursus.domain.json.events.EventJson;
 import com.opencredo.concursus.domain.time.TimeRange;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
+import redis.clients.util.Pool;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -22,24 +22,34 @@ import static java.util.stream.Collectors.toMap;
 public class RedisEventRetriever implements EventRetriever {
 
     public static RedisEventRetriever create(Jedis jedis, ObjectMapper objectMapper) {
-        return new RedisEventRetriever(jedis, objectMapper);
+        return create(jedis, RedisEventCodec.json(objectMapper));
     }
 
-    private final Jedis jedis;
-    private final ObjectMapper objectMapper;
+    public static RedisEventRetriever create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisEventRetriever create(Jedis jedis, RedisEventCodec codec) {
+        return new RedisEventRetriever(JedisConnections.shared(jedis), codec);
+    }
+
+    public static RedisEventRetriever create(Pool<Jedis> jedisPool, RedisEventCodec codec) {
+        return new RedisEventRetriever(JedisConnections.pooled(jedisPool), codec);
+    }
+
+    private final JedisConnections connections;
+    private final RedisEventCodec codec;
 
-    private RedisEventRetriever(Jedis jedis, ObjectMapper objectMapper) {
-        this.jedis = jedis;
-        this.objectMapper = objectMapper;
+    private RedisEventRetriever(JedisConnections connections, RedisEventCodec codec) {
+        this.connections = connections;
+        this.codec = codec;
     }
 
     @Override
     public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
-        Function<String, Optional<Event>> deserialiser = eventJson -> EventJson
-                .fromJsonString(eventJson, objectMapper)
-                .toEvent(matcher, objectMapper);
+        Function<String, Optional<Event>> deserialiser = encoded -> codec.decode(aggregateId, encoded, matcher);
 
-        final Set<String> eventsForId = jedis.smembers(aggregateId.toString());
+        final Set<String> eventsForId = connections.apply(jedis -> jedis.smembers(aggregateId.toString()));
         return deserialiseAll(timeRange, deserialiser, eventsForId);
     }
 
@@ -55,23 +65,25 @@ public class RedisEventRetriever implements EventRetriever {
 
     @Override
     public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
-        Function<String, Optional<Event>> deserialiser = eventJson -> EventJson
-                .fromJsonString(eventJson, objectMapper)
-                .toEvent(matcher, objectMapper);
+        final Map<AggregateId, Response<Set<String>>> responses = connections.apply(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
 
-        Pipeline pipeline = jedis.pipelined();
-
-        final Map<AggregateId, Response<Set<String>>> responses = aggregateIds.stream()
-                .map(id -> AggregateId.of(aggregateType, id))
-                .collect(toMap(
-                        Function.identity(),
-                        id -> pipeline.smembers(id.toString())));
+            Map<AggregateId, Response<Set<String>>> pipelined = aggregateIds.stream()
+                    .map(id -> AggregateId.of(aggregateType, id))
+                    .collect(toMap(
+                            Function.identity(),
+                            id -> pipeline.smembers(id.toString())));
 
-        pipeline.sync();
+            pipeline.sync();
+            return pipelined;
+        });
 
         return responses.entrySet().stream()
                 .collect(toMap(
                         Entry::getKey,
-                        e -> deserialiseAll(timeRange, deserialiser, e.getValue().get())));
+                        e -> deserialiseAll(
+                                timeRange,
+                                encoded -> codec.decode(e.getKey(), encoded, matcher),
+                                e.getValue().get())));
     }
 }
@@ -0,0 +1,180 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.snapshots.SnapshotStore;
+import com.opencredo.concursus.domain.events.snapshots.StateSnapshot;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.util.Pool;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SnapshotStore} which stores each aggregate's snapshots in a Redis sorted set scored by the timestamp, in
+ * epoch milliseconds, of the last event they cover. Only the most recent snapshots of each aggregate are retained, and
+ * the snapshots of several aggregates are retrieved together in a single pipelined round-trip.
+ */
+public final class RedisSnapshotStore implements SnapshotStore {
+
+    private static final String KEY_PREFIX = "snapshots:";
+    private static final int DEFAULT_RETAINED_SNAPSHOTS = 3;
+
+    public static RedisSnapshotStore create(Jedis jedis, ObjectMapper objectMapper) {
+        return create(jedis, objectMapper, DEFAULT_RETAINED_SNAPSHOTS);
+    }
+
+    public static RedisSnapshotStore create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, objectMapper, DEFAULT_RETAINED_SNAPSHOTS);
+    }
+
+    /**
+     * Create a {@link SnapshotStore} using a single shared Redis connection.
+     * @param jedis The connection to use.
+     * @param objectMapper The {@link ObjectMapper} to encode snapshots with.
+     * @param retainedSnapshots The number of snapshots to retain for each aggregate.
+     * @return The constructed {@link RedisSnapshotStore}.
+     */
+    public static RedisSnapshotStore create(Jedis jedis, ObjectMapper objectMapper, int retainedSnapshots) {
+        return create(JedisConnections.shared(jedis), objectMapper, retainedSnapshots);
+    }
+
+    /**
+     * Create a {@link SnapshotStore} using connections from a pool.
+     * @param jedisPool The pool to borrow connections from.
+     * @param objectMapper The {@link ObjectMapper} to encode snapshots with.
+     * @param retainedSnapshots The number of snapshots to retain for each aggregate.
+     * @return The constructed {@link RedisSnapshotStore}.
+     */
+    public static RedisSnapshotStore create(Pool<Jedis> jedisPool, ObjectMapper objectMapper, int retainedSnapshots) {
+        return create(JedisConnections.pooled(jedisPool), objectMapper, retainedSnapshots);
+    }
+
+    private static RedisSnapshotStore create(JedisConnections connections, ObjectMapper objectMapper, int retainedSnapshots) {
+        checkNotNull(objectMapper, "objectMapper must not be null");
+        checkArgument(retainedSnapshots > 0, "retainedSnapshots must be positive");
+
+        return new RedisSnapshotStore(connections, objectMapper, retainedSnapshots);
+    }
+
+    private final JedisConnections connections;
+    private final ObjectMapper objectMapper;
+    private final int retainedSnapshots;
+
+    private RedisSnapshotStore(JedisConnections connections, ObjectMapper objectMapper, int retainedSnapshots) {
+        this.connections = connections;
+        this.objectMapper = objectMapper;
+        this.retainedSnapshots = retainedSnapshots;
+    }
+
+    @Override
+    public void put(StateSnapshot snapshot) {
+        checkNotNull(snapshot, "snapshot must not be null");
+
+        String key = key(snapshot.getAggregateId());
+        double score = snapshot.getCursor().getEventTimestamp().getTimestamp().toEpochMilli();
+        String encoded = encode(snapshot);
+
+        connections.accept(jedis -> {
+            Transaction transaction = jedis.multi();
+            transaction.zadd(key, score, encoded);
+            transaction.zremrangeByRank(key, 0, -(retainedSnapshots + 1));
+            transaction.exec();
+        });
+    }
+
+    @Override
+    public Optional<StateSnapshot> getLatest(AggregateId aggregateId, Instant upTo) {
+        Set<String> latest = connections.apply(jedis ->
+                jedis.zrevrangeByScore(key(aggregateId), maxScore(upTo), "-inf", 0, retainedSnapshots));
+
+        return latestBefore(aggregateId, latest, upTo);
+    }
+
+    @Override
+    public Map<AggregateId, StateSnapshot> getLatest(Collection<AggregateId> aggregateIds, Instant upTo) {
+        String maxScore = maxScore(upTo);
+
+        Map<AggregateId, Response<Set<String>>> responses = connections.apply(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            Map<AggregateId, Response<Set<String>>> pending = new HashMap<>();
+            aggregateIds.forEach(aggregateId -> pending.put(aggregateId,
+                    pipeline.zrevrangeByScore(key(aggregateId), maxScore, "-inf", 0, retainedSnapshots)));
+            pipeline.sync();
+            return pending;
+        });
+
+        Map<AggregateId, StateSnapshot> latest = new HashMap<>();
+        responses.forEach((aggregateId, response) ->
+                latestBefore(aggregateId, response.get(), upTo).ifPresent(snapshot -> latest.put(aggregateId, snapshot)));
+        return latest;
+    }
+
+    static String maxScore(Instant upTo) {
+        // Scores are whole milliseconds, so the bound can only be made exclusive when upTo is itself a whole millisecond.
+        long upToMillis = upTo.toEpochMilli();
+        return Instant.ofEpochMilli(upToMillis).equals(upTo)
+                ? "(" + upToMillis
+                : Long.toString(upToMillis);
+    }
+
+    private Optional<StateSnapshot> latestBefore(AggregateId aggregateId, Set<String> encodedSnapshots, Instant upTo) {
+        return encodedSnapshots.stream()
+                .map(encoded -> decode(aggregateId, encoded))
+                .filter(snapshot -> snapshot.getCursor().getEventTimestamp().getTimestamp().isBefore(upTo))
+                .findFirst();
+    }
+
+    private static String key(AggregateId aggregateId) {
+        return KEY_PREFIX + aggregateId;
+    }
+
+    private String encode(StateSnapshot snapshot) {
+        EventCursor cursor = snapshot.getCursor();
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("eventTimestamp", cursor.getEventTimestamp().getTimestamp().toString());
+        node.put("streamId", cursor.getEventTimestamp().getStreamId());
+        node.put("processingId", cursor.getProcessingId().map(UUID::toString).orElse(""));
+        node.put("state", snapshot.getState());
+
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private StateSnapshot decode(AggregateId aggregateId, String encoded) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(encoded);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        String processingId = node.get("processingId").asText();
+        return StateSnapshot.of(
+                aggregateId,
+                EventCursor.of(
+                        StreamTimestamp.of(node.get("streamId").asText(), Instant.parse(node.get("eventTimestamp").asText())),
+                        processingId.isEmpty() ? Optional.empty() : Optional.of(UUID.fromString(processingId))),
+                node.get("state").asText());
+    }
+}
@@ -0,0 +1,78 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.logging.EventLog;
+import com.opencredo.concursus.domain.time.TimeUUID;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.util.Pool;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link EventLog} which stores each aggregate's events in a Redis sorted set scored by event timestamp, so that
+ * {@link RedisSortedSetEventRetriever} can read time ranges server-side.
+ */
+public final class RedisSortedSetEventLog implements EventLog {
+
+    public static RedisSortedSetEventLog create(Jedis jedis, ObjectMapper objectMapper) {
+        return create(jedis, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisSortedSetEventLog create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisSortedSetEventLog create(Jedis jedis, RedisEventCodec codec) {
+        return new RedisSortedSetEventLog(JedisConnections.shared(jedis), codec);
+    }
+
+    public static RedisSortedSetEventLog create(Pool<Jedis> jedisPool, RedisEventCodec codec) {
+        return new RedisSortedSetEventLog(JedisConnections.pooled(jedisPool), codec);
+    }
+
+    private final JedisConnections connections;
+    private final RedisEventCodec codec;
+
+    private RedisSortedSetEventLog(JedisConnections connections, RedisEventCodec codec) {
+        this.connections = connections;
+        this.codec = codec;
+    }
+
+    @Override
+    public Collection<Event> apply(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+
+        Map<AggregateId, List<Event>> eventsById = events.stream()
+                .map(event -> event.processed(TimeUUID.timeBased()))
+                .collect(groupingBy(Event::getAggregateId));
+
+        connections.accept(jedis -> {
+            if (eventsById.size() == 1) {
+                eventsById.forEach((id, eventsForId) -> jedis.zadd(EventSortedSets.key(id), scoreMembers(eventsForId)));
+            } else {
+                Pipeline pipeline = jedis.pipelined();
+                eventsById.forEach((id, eventsForId) -> pipeline.zadd(EventSortedSets.key(id), scoreMembers(eventsForId)));
+                pipeline.sync();
+            }
+        });
+
+        return eventsById.values().stream().flatMap(List::stream).collect(toList());
+    }
+
+    private Map<String, Double> scoreMembers(List<Event> eventsForId) {
+        Map<String, Double> scoreMembers = new HashMap<>();
+        eventsForId.forEach(event -> scoreMembers.put(codec.encode(event), EventSortedSets.score(event)));
+        return scoreMembers;
+    }
+}
@@ -0,0 +1,125 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
+import com.opencredo.concursus.domain.time.TimeRange;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.Pool;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * An {@link EventRetriever} which reads events written by {@link RedisSortedSetEventLog}. Time ranges are pushed down
+ * to ZRANGEBYSCORE / ZREVRANGEBYSCORE, so only the requested slice of an aggregate's history is transferred, already
+ * in timestamp order. Scores are whole milliseconds, so members sharing a score come back in lexicographic order; the
+ * decoded events are therefore re-sorted by their full {@link com.opencredo.concursus.domain.time.StreamTimestamp},
+ * which costs little since they arrive almost sorted.
+ */
+public final class RedisSortedSetEventRetriever implements EventRetriever {
+
+    private static final Comparator<Event> ASCENDING = Comparator.comparing(Event::getEventTimestamp);
+    private static final Comparator<Event> DESCENDING = ASCENDING.reversed();
+
+    public static RedisSortedSetEventRetriever create(Jedis jedis, ObjectMapper objectMapper) {
+        return create(jedis, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisSortedSetEventRetriever create(Pool<Jedis> jedisPool, ObjectMapper objectMapper) {
+        return create(jedisPool, RedisEventCodec.json(objectMapper));
+    }
+
+    public static RedisSortedSetEventRetriever create(Jedis jedis, RedisEventCodec codec) {
+        return new RedisSortedSetEventRetriever(JedisConnections.shared(jedis), codec);
+    }
+
+    public static RedisSortedSetEventRetriever create(Pool<Jedis> jedisPool, RedisEventCodec codec) {
+        return new RedisSortedSetEventRetriever(JedisConnections.pooled(jedisPool), codec);
+    }
+
+    private final JedisConnections connections;
+    private final RedisEventCodec codec;
+
+    private RedisSortedSetEventRetriever(JedisConnections connections, RedisEventCodec codec) {
+        this.connections = connections;
+        this.codec = codec;
+    }
+
+    @Override
+    public List<Event> getEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        return streamEvents(matcher, aggregateId, timeRange).collect(toList());
+    }
+
+    @Override
+    public Stream<Event> streamEvents(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        Set<String> eventsForId = connections.apply(jedis -> jedis.zrevrangeByScore(
+                EventSortedSets.key(aggregateId),
+                EventSortedSets.maxScore(timeRange),
+                EventSortedSets.minScore(timeRange)));
+
+        return deserialiseAll(matcher, aggregateId, timeRange, eventsForId).sorted(DESCENDING);
+    }
+
+    @Override
+    public Stream<Event> streamEventsAscending(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange) {
+        Set<String> eventsForId = connections.apply(jedis -> jedis.zrangeByScore(
+                EventSortedSets.key(aggregateId),
+                EventSortedSets.minScore(timeRange),
+                EventSortedSets.maxScore(timeRange)));
+
+        return deserialiseAll(matcher, aggregateId, timeRange, eventsForId).sorted(ASCENDING);
+    }
+
+    @Override
+    public List<Event> getEventsAfter(EventTypeMatcher matcher, AggregateId aggregateId, EventCursor cursor) {
+        return streamEvents(matcher, aggregateId, cursor.toTimeRange())
+                .filter(cursor::precedes)
+                .collect(toList());
+    }
+
+    @Override
+    public Map<AggregateId, List<Event>> getEvents(EventTypeMatcher matcher, String aggregateType, Collection<String> aggregateIds, TimeRange timeRange) {
+        Map<AggregateId, Response<Set<String>>> responses = connections.apply(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+
+            Map<AggregateId, Response<Set<String>>> pipelined = aggregateIds.stream()
+                    .distinct()
+                    .map(id -> AggregateId.of(aggregateType, id))
+                    .collect(toMap(
+                            Function.identity(),
+                            id -> pipeline.zrevrangeByScore(
+                                    EventSortedSets.key(id),
+                                    EventSortedSets.maxScore(timeRange),
+                                    EventSortedSets.minScore(timeRange))));
+
+            pipeline.sync();
+            return pipelined;
+        });
+
+        return responses.entrySet().stream()
+                .collect(toMap(
+                        Entry::getKey,
+                        e -> deserialiseAll(matcher, e.getKey(), timeRange, e.getValue().get())
+                                .sorted(DESCENDING)
+                                .collect(toList())));
+    }
+
+    private Stream<Event> deserialiseAll(EventTypeMatcher matcher, AggregateId aggregateId, TimeRange timeRange, Set<String> eventsForId) {
+        return eventsForId.stream()
+                .map(encoded -> codec.decode(aggregateId, encoded, matcher))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(event -> timeRange.contains(event.getEventTimestamp().getTimestamp()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RedisAtomicEventLogTest {
+
+    private final TupleSchema emptySchema = TupleSchema.of("empty");
+    private final RedisEventCodec codec = RedisEventCodec.compact(new ObjectMapper().findAndRegisterModules());
+    private final AggregateId id1 = AggregateId.of("person", "id1");
+    private final AggregateId id2 = AggregateId.of("person", "id2");
+    private final Instant start = Instant.parse("2016-01-01T10:30:00.123Z");
+
+    private final List<List<String>> evaluatedKeys = new ArrayList<>();
+    private final List<List<String>> evaluatedArgs = new ArrayList<>();
+    private Object scriptResult = Collections.emptyList();
+    private boolean scriptLoaded = false;
+
+    // Behaves as a server which has not yet seen the script until it is loaded.
+    private final Jedis jedis = new Jedis() {
+        @Override
+        public Object evalsha(String sha1, List<String> keys, List<String> args) {
+            if (!scriptLoaded) {
+                throw new JedisDataException("NOSCRIPT No matching script. Please use EVAL.");
+            }
+            evaluatedKeys.add(keys);
+            evaluatedArgs.add(args);
+            return scriptResult;
+        }
+
+        @Override
+        public String scriptLoad(String script) {
+            assertThat(script, equalTo(RedisAtomicEventLog.APPEND_SCRIPT));
+            scriptLoaded = true;
+            return "sha";
+        }
+    };
+
+    private final RedisAtomicEventLog eventLog = RedisAtomicEventLog.create(jedis, codec);
+
+    private Event event(AggregateId aggregateId, int millis) {
+        return Event.of(aggregateId, StreamTimestamp.of("test", start.plusMillis(millis)), VersionedName.of("updated"), emptySchema.makeWith());
+    }
+
+    @Test
+    public void encodesScriptArgumentsInTheLayoutTheScriptReads() {
+        Map<AggregateId, List<Event>> eventsById = new LinkedHashMap<>();
+        eventsById.put(id1, Arrays.asList(event(id1, 0), event(id1, 1)));
+        eventsById.put(id2, Collections.singletonList(event(id2, 2)));
+
+        List<String> args = RedisAtomicEventLog.appendScriptArguments(eventsById, Collections.singletonMap(id2, 3L), codec);
+
+        // Walk ARGV as the script does: expected version, event count, then a score and member per event.
+        List<String> expectedVersions = new ArrayList<>();
+        List<List<String>> scoreMembers = new ArrayList<>();
+        int offset = 0;
+        while (offset < args.size()) {
+            expectedVersions.add(args.get(offset));
+            int count = Integer.parseInt(args.get(offset + 1));
+            scoreMembers.add(args.subList(offset + 2, offset + 2 + 2 * count));
+            offset = offset + 2 + 2 * count;
+        }
+
+        assertThat(expectedVersions, contains("", "3"));
+        assertThat(scoreMembers.get(0), contains(
+                Long.toString(start.toEpochMilli()), codec.encode(event(id1, 0)),
+                Long.toString(start.toEpochMilli() + 1), codec.encode(event(id1, 1))));
+        assertThat(scoreMembers.get(1), contains(
+                Long.toString(start.toEpochMilli() + 2), codec.encode(event(id2, 2))));
+    }
+
+    @Test
+    public void loadsScriptWhenServerHasNotSeenIt() {
+        Collection<Event> appended = eventLog.apply(Arrays.asList(event(id1, 0), event(id2, 1), event(id1, 2)));
+
+        assertThat(appended, hasSize(3));
+        appended.forEach(event -> assertThat(event.getProcessingId().isPresent(), equalTo(true)));
+        assertThat(evaluatedKeys, contains(contains(EventSortedSets.key(id1), EventSortedSets.key(id2))));
+        assertThat(evaluatedArgs.get(0).get(1), equalTo("2"));
+    }
+
+    @Test
+    public void rejectsBatchWhenScriptReportsAConflict() throws Exception {
+        scriptLoaded = true;
+        scriptResult = Arrays.asList(2L, 5L);
+
+        Map<AggregateId, Long> expectedVersions = new HashMap<>();
+        expectedVersions.put(id2, 4L);
+
+        try {
+            eventLog.apply(Arrays.asList(event(id1, 0), event(id2, 1)), expectedVersions);
+        } catch (AggregateVersionConflictException e) {
+            assertThat(e.getAggregateId(), equalTo(id2));
+            assertThat(e.getExpectedVersion(), equalTo(4L));
+            assertThat(e.getActualVersion(), equalTo(5L));
+            assertThat(roundTrip(e).getAggregateId(), equalTo(id2));
+            return;
+        }
+        throw new AssertionError("Expected a version conflict");
+    }
+
+    private AggregateVersionConflictException roundTrip(AggregateVersionConflictException e) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(e);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (AggregateVersionConflictException) in.readObject();
+        }
+    }
+}
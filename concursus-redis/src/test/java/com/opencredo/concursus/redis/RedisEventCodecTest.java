@@ -0,0 +1,107 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.data.tuples.TupleSlot;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.EventType;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeUUID;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+public class RedisEventCodecTest {
+
+    private static final TupleSchema schema = TupleSchema.of("person/created",
+            TupleSlot.of("name", String.class),
+            TupleSlot.of("age", int.class),
+            TupleSlot.of("nicknames", List.class));
+
+    private static final VersionedName CREATED = VersionedName.of("created", "0");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AggregateId aggregateId = AggregateId.of("person", "id1");
+    private final EventTypeMatcher matcher = EventTypeMatcher.matchingAgainst(
+            Collections.singletonMap(EventType.of("person", CREATED), schema));
+
+    private final Event event = Event.of(
+            aggregateId,
+            StreamTimestamp.of("test", Instant.parse("2016-01-01T10:30:00.123456789Z")),
+            TimeUUID.timeBased(),
+            CREATED,
+            schema.makeWith("Arthur Putey", 42, Arrays.asList("Art", "Putters")));
+
+    @Test
+    public void compactCodecRoundTripsEvents() {
+        RedisEventCodec codec = RedisEventCodec.compact(objectMapper);
+
+        Event decoded = codec.decode(aggregateId, codec.encode(event), matcher).get();
+
+        assertThat(decoded, equalTo(event));
+        assertThat(decoded.getEventTimestamp(), equalTo(event.getEventTimestamp()));
+        assertThat(decoded.getProcessingId(), equalTo(event.getProcessingId()));
+    }
+
+    @Test
+    public void compactEncodingIsSmallerThanJson() {
+        assertThat(
+                RedisEventCodec.compact(objectMapper).encode(event).length(),
+                lessThan(RedisEventCodec.json(objectMapper).encode(event).length()));
+    }
+
+    @Test
+    public void unmatchedEventTypesAreSkipped() {
+        RedisEventCodec codec = RedisEventCodec.compact(objectMapper);
+
+        assertThat(codec.decode(aggregateId, codec.encode(event), eventType -> Optional.empty()), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void rejectsEventsWhoseSlotCountDiffersFromSchema() {
+        RedisEventCodec codec = RedisEventCodec.compact(objectMapper);
+        String encoded = codec.encode(event);
+
+        TupleSchema withAddedSlot = TupleSchema.of("person/created",
+                TupleSlot.of("name", String.class),
+                TupleSlot.of("age", int.class),
+                TupleSlot.of("nicknames", List.class),
+                TupleSlot.of("email", String.class));
+        TupleSchema withDroppedSlot = TupleSchema.of("person/created",
+                TupleSlot.of("name", String.class),
+                TupleSlot.of("age", int.class));
+
+        assertThat(decodeFailure(codec, encoded, withAddedSlot).getMessage(),
+                equalTo("Expected 4 values for schema " + withAddedSlot + ", but 3 were encoded"));
+        assertThat(decodeFailure(codec, encoded, withDroppedSlot).getMessage(),
+                equalTo("Expected 2 values for schema " + withDroppedSlot + ", but 3 were encoded"));
+    }
+
+    @Test
+    public void rejectsTrailingInputAfterEvent() {
+        RedisEventCodec codec = RedisEventCodec.compact(objectMapper);
+
+        assertThat(decodeFailure(codec, codec.encode(event) + " 1", schema).getMessage(),
+                equalTo("Unexpected VALUE_NUMBER_INT after encoded event"));
+    }
+
+    private IllegalArgumentException decodeFailure(RedisEventCodec codec, String encoded, TupleSchema decodingSchema) {
+        try {
+            codec.decode(aggregateId, encoded, eventType -> Optional.of(decodingSchema));
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+        throw new AssertionError("Expected decoding to fail");
+    }
+}
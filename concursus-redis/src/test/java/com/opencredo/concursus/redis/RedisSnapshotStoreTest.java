@@ -0,0 +1,179 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.events.snapshots.StateSnapshot;
+import com.opencredo.concursus.domain.events.sourcing.EventCursor;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import org.junit.Test;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class RedisSnapshotStoreTest {
+
+    private final AggregateId aggregateId = AggregateId.of("person", "id1");
+    private final AggregateId otherAggregateId = AggregateId.of("person", "id2");
+    private final Instant millisecond = Instant.parse("2016-01-01T10:30:00.123Z");
+
+    private final SortedSetJedis jedis = new SortedSetJedis();
+    private final RedisSnapshotStore store = RedisSnapshotStore.create(jedis, new ObjectMapper(), 3);
+
+    // Holds each sorted set in memory, and implements only the commands used by the snapshot store.
+    private static final class SortedSetJedis extends Jedis {
+        private final Map<String, Map<String, Double>> sortedSets = new HashMap<>();
+        private int directReads;
+
+        @Override
+        public Set<String> zrevrangeByScore(String key, String max, String min, int offset, int count) {
+            directReads++;
+            return range(key, max, min, offset, count);
+        }
+
+        @Override
+        public Transaction multi() {
+            return new Transaction() {
+                @Override
+                public Response<Long> zadd(String key, double score, String member) {
+                    sortedSets.computeIfAbsent(key, k -> new HashMap<>()).put(member, score);
+                    return null;
+                }
+
+                @Override
+                public Response<Long> zremrangeByRank(String key, long start, long end) {
+                    List<String> ascending = ascending(key);
+                    int size = ascending.size();
+                    long from = start < 0 ? size + start : start;
+                    long to = end < 0 ? size + end : end;
+                    for (long rank = Math.max(from, 0); rank <= to && rank < size; rank++) {
+                        sortedSets.get(key).remove(ascending.get((int) rank));
+                    }
+                    return null;
+                }
+
+                @Override
+                public List<Object> exec() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public Pipeline pipelined() {
+            return new Pipeline() {
+                @Override
+                public Response<Set<String>> zrevrangeByScore(String key, String max, String min, int offset, int count) {
+                    Set<String> result = range(key, max, min, offset, count);
+                    return new Response<Set<String>>(BuilderFactory.STRING_ZSET) {
+                        @Override
+                        public Set<String> get() {
+                            return result;
+                        }
+                    };
+                }
+
+                @Override
+                public void sync() {
+                }
+            };
+        }
+
+        private List<String> ascending(String key) {
+            return sortedSets.getOrDefault(key, new HashMap<>()).entrySet().stream()
+                    .sorted(Entry.<String, Double>comparingByValue().thenComparing(Entry.comparingByKey()))
+                    .map(Entry::getKey)
+                    .collect(Collectors.toList());
+        }
+
+        private Set<String> range(String key, String max, String min, int offset, int count) {
+            Map<String, Double> members = sortedSets.getOrDefault(key, new HashMap<>());
+            return ascending(key).stream()
+                    .sorted(Comparator.comparing((String member) -> members.get(member))
+                            .thenComparing(Comparator.naturalOrder())
+                            .reversed())
+                    .filter(member -> isAtMost(members.get(member), max) && isAtLeast(members.get(member), min))
+                    .skip(offset)
+                    .limit(count)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        private static boolean isAtMost(double score, String bound) {
+            return bound.startsWith("(") ? score < bound(bound) : score <= bound(bound);
+        }
+
+        private static boolean isAtLeast(double score, String bound) {
+            return bound.startsWith("(") ? score > bound(bound) : score >= bound(bound);
+        }
+
+        private static double bound(String bound) {
+            switch (bound) {
+                case "+inf": return Double.POSITIVE_INFINITY;
+                case "-inf": return Double.NEGATIVE_INFINITY;
+                default: return Double.parseDouble(bound.startsWith("(") ? bound.substring(1) : bound);
+            }
+        }
+    }
+
+    private StateSnapshot snapshot(AggregateId id, Instant timestamp, String state) {
+        return StateSnapshot.of(id, EventCursor.of(StreamTimestamp.of("test", timestamp), Optional.empty()), state);
+    }
+
+    @Test
+    public void excludesSnapshotsAtTheUpperBound() {
+        store.put(snapshot(aggregateId, millisecond.minusMillis(1), "earlier"));
+        store.put(snapshot(aggregateId, millisecond, "atMillisecond"));
+        store.put(snapshot(aggregateId, millisecond.plusNanos(500), "withinMillisecond"));
+
+        assertThat(RedisSnapshotStore.maxScore(millisecond), equalTo("(" + millisecond.toEpochMilli()));
+        assertThat(store.getLatest(aggregateId, millisecond).map(StateSnapshot::getState), equalTo(Optional.of("earlier")));
+
+        // Within a millisecond the score bound is inclusive, and later snapshots sharing the score are filtered out.
+        assertThat(RedisSnapshotStore.maxScore(millisecond.plusNanos(500)), equalTo(Long.toString(millisecond.toEpochMilli())));
+        assertThat(store.getLatest(aggregateId, millisecond.plusNanos(500)).map(StateSnapshot::getState),
+                equalTo(Optional.of("atMillisecond")));
+    }
+
+    @Test
+    public void trimsEachAggregateToTheRetainedSnapshots() {
+        store.put(snapshot(aggregateId, millisecond, "first"));
+        store.put(snapshot(aggregateId, millisecond.plusMillis(1), "second"));
+        store.put(snapshot(aggregateId, millisecond.plusMillis(2), "third"));
+        store.put(snapshot(aggregateId, millisecond.plusMillis(3), "fourth"));
+
+        assertThat(jedis.sortedSets.get("snapshots:" + aggregateId).size(), equalTo(3));
+        assertThat(store.getLatest(aggregateId, millisecond.plusMillis(2)).map(StateSnapshot::getState),
+                equalTo(Optional.of("second")));
+        assertThat(store.getLatest(aggregateId, millisecond.plusMillis(1)), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void retrievesSeveralAggregatesSnapshotsInOnePipeline() {
+        store.put(snapshot(aggregateId, millisecond, "first"));
+        store.put(snapshot(otherAggregateId, millisecond.plusMillis(1), "other"));
+
+        Map<AggregateId, StateSnapshot> latest = store.getLatest(
+                Arrays.asList(aggregateId, otherAggregateId, AggregateId.of("person", "id3")),
+                millisecond.plusMillis(1));
+
+        assertThat(latest.keySet(), equalTo(new LinkedHashSet<>(Arrays.asList(aggregateId))));
+        assertThat(latest.get(aggregateId).getState(), equalTo("first"));
+        assertThat(jedis.directReads, equalTo(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.opencredo.concursus.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
+import com.opencredo.concursus.domain.events.matching.EventTypeMatcher;
+import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
+import org.junit.Test;
+import redis.clients.jedis.Jedis;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class RedisSortedSetEventRetrieverTest {
+
+    private final TupleSchema emptySchema = TupleSchema.of("empty");
+    private final EventTypeMatcher matcher = eventType -> Optional.of(emptySchema);
+    private final AggregateId aggregateId = AggregateId.of("person", "id1");
+    private final RedisEventCodec codec = RedisEventCodec.compact(new ObjectMapper().findAndRegisterModules());
+
+    private final Instant millisecond = Instant.parse("2016-01-01T10:30:00.123Z");
+    private final Event first = event(millisecond.plusNanos(100));
+    private final Event second = event(millisecond.plusNanos(200));
+    private final Event third = event(millisecond.plusNanos(300));
+
+    // Members sharing a score are returned by Redis in lexicographic order, which need not be timestamp order.
+    private final Set<String> sameScoreMembers = Stream.of(second, third, first)
+            .map(codec::encode)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    private final Jedis jedis = new Jedis() {
+        @Override
+        public Set<String> zrevrangeByScore(String key, String max, String min) {
+            return sameScoreMembers;
+        }
+
+        @Override
+        public Set<String> zrangeByScore(String key, String min, String max) {
+            return sameScoreMembers;
+        }
+    };
+
+    private final RedisSortedSetEventRetriever retriever = RedisSortedSetEventRetriever.create(jedis, codec);
+
+    private Event event(Instant timestamp) {
+        return Event.of(aggregateId, StreamTimestamp.of("test", timestamp), VersionedName.of("updated"), emptySchema.makeWith());
+    }
+
+    @Test
+    public void ordersEventsWithinAMillisecondByTimestamp() {
+        assertThat(retriever.getEvents(matcher, aggregateId, TimeRange.unbounded()), contains(third, second, first));
+        assertThat(retriever.streamEventsAscending(matcher, aggregateId, TimeRange.unbounded()).collect(Collectors.toList()),
+                contains(first, second, third));
+    }
+}
@@ -1,6 +1,10 @@
 package com.opencredo.concursus.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencredo.concursus.data.tuples.TupleSchema;
+import com.opencredo.concursus.domain.common.AggregateId;
+import com.opencredo.concursus.domain.common.VersionedName;
+import com.opencredo.concursus.domain.events.Event;
 import com.opencredo.concursus.domain.events.cataloguing.AggregateCatalogue;
 import com.opencredo.concursus.domain.events.dispatching.EventBus;
 import com.opencredo.concursus.domain.events.filtering.log.EventLogPostFilter;
@@ -9,6 +13,7 @@ import com.opencredo.concursus.domain.events.processing.EventBatchProcessor;
 import com.opencredo.concursus.domain.events.sourcing.EventRetriever;
 import com.opencredo.concursus.domain.events.sourcing.EventSource;
 import com.opencredo.concursus.domain.time.StreamTimestamp;
+import com.opencredo.concursus.domain.time.TimeRange;
 import com.opencredo.concursus.mapping.annotations.HandlesEventsFor;
 import com.opencredo.concursus.mapping.annotations.Initial;
 import com.opencredo.concursus.mapping.annotations.Terminal;
@@ -20,16 +25,19 @@ import org.databene.contiperf.junit.ContiPerfRule;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
 
 @Ignore("Needs a local redis server to run")
@@ -39,13 +47,13 @@ public class RoundTripTest {
     public ContiPerfRule contiPerfRule = new ContiPerfRule();
 
 
-    private final Jedis jedis = new Jedis();
+    private final JedisPool jedisPool = new JedisPool();
     private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
-    private final EventLog eventLog = RedisEventLog.create(jedis, objectMapper);
+    private final EventLog eventLog = RedisEventLog.create(jedisPool, objectMapper);
 
 
-    private final AggregateCatalogue aggregateCatalogue = RedisAggregateCatalogue.create(jedis);
+    private final AggregateCatalogue aggregateCatalogue = RedisAggregateCatalogue.create(jedisPool);
     private final EventLogPostFilter aggregateCatalogueFilter = (publisher, events) -> {
         events.forEach(aggregateCatalogue);
         return events;
@@ -53,7 +61,7 @@ public class RoundTripTest {
 
     private final EventBatchProcessor batchProcessor = EventBatchProcessor.loggingWith(aggregateCatalogueFilter.apply(eventLog));
 
-    private final EventRetriever eventRetriever = RedisEventRetriever.create(jedis, objectMapper);
+    private final EventRetriever eventRetriever = RedisEventRetriever.create(jedisPool, objectMapper);
 
     private final EventSource eventSource = EventSource.retrievingWith(eventRetriever);
     private final DispatchingEventSourceFactory eventSourceDispatching = DispatchingEventSourceFactory.dispatching(eventSource);
@@ -131,6 +139,60 @@ public class RoundTripTest {
         assertThat(aggregateCatalogue.getAggregateIds("person"), hasItems(personId2));
     }
 
+    @Test
+    public void readTimeRangeFromSortedSet() {
+        String personId = UUID.randomUUID().toString();
+        Instant start = Instant.now();
+
+        EventLog sortedSetEventLog = RedisSortedSetEventLog.create(jedisPool, objectMapper);
+        EventRetriever sortedSetEventRetriever = RedisSortedSetEventRetriever.create(jedisPool, objectMapper);
+
+        ProxyingEventBus.proxying(EventBus.processingWith(EventBatchProcessor.loggingWith(sortedSetEventLog)))
+                .dispatch(PersonEvents.class, batch -> {
+                    batch.created(StreamTimestamp.of("test", start), personId, "Arthur Putey", 0);
+                    for (int i = 1; i <= 10; i++) {
+                        batch.updatedAge(StreamTimestamp.of("test", start.plusMillis(i)), personId, i);
+                    }
+                });
+
+        DispatchingEventSourceFactory sortedSetEventSource = DispatchingEventSourceFactory.dispatching(
+                EventSource.retrievingWith(sortedSetEventRetriever));
+
+        assertThat(sortedSetEventSource.dispatchingTo(PersonEvents.class)
+                        .replaying(personId, TimeRange.fromInclusive(start.plusMillis(5)).toExclusive(start.plusMillis(8)))
+                        .collectAll(eventSummariser()),
+                contains("age was changed to 7", "age was changed to 6", "age was changed to 5"));
+
+        assertThat(sortedSetEventSource.dispatchingTo(PersonEvents.class)
+                        .replaying(personId, TimeRange.fromInclusive(start.plusMillis(9)).toUnbounded())
+                        .inAscendingOrder()
+                        .collectAll(eventSummariser()),
+                contains("age was changed to 9", "age was changed to 10"));
+    }
+
+    @Test
+    public void rejectConflictingAtomicWrite() {
+        AggregateId personId = AggregateId.of("person", UUID.randomUUID().toString());
+        RedisAtomicEventLog atomicEventLog = RedisAtomicEventLog.create(jedisPool, objectMapper);
+
+        atomicEventLog.apply(Collections.singletonList(Event.of(
+                personId, StreamTimestamp.of("test", Instant.now()), VersionedName.of("created", "0"), TupleSchema.of("person/empty").makeWith())),
+                Collections.singletonMap(personId, 0L));
+
+        assertThat(atomicEventLog.getVersion(personId), equalTo(1L));
+
+        try {
+            atomicEventLog.apply(Collections.singletonList(Event.of(
+                    personId, StreamTimestamp.of("test", Instant.now()), VersionedName.of("deleted", "0"), TupleSchema.of("person/empty").makeWith())),
+                    Collections.singletonMap(personId, 0L));
+            fail("Expected version conflict");
+        } catch (AggregateVersionConflictException e) {
+            assertThat(e.getActualVersion(), equalTo(1L));
+        }
+
+        assertThat(atomicEventLog.getVersion(personId), equalTo(1L));
+    }
+
     private Function<Consumer<String>, PersonEvents> eventSummariser() {
         return caller -> new PersonEvents() {
             @Override
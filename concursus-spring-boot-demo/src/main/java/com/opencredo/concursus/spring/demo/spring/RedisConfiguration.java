@@ -6,15 +6,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 @Configuration
 @ComponentScan(basePackageClasses = { RedisEventStoreBeans.class, RedisCatalogueBeans.class })
 @Profile("redis")
 public class RedisConfiguration {
 
-    @Bean
-    public Jedis jedis() {
-        return new Jedis();
+    @Bean(destroyMethod = "close")
+    public JedisPool jedisPool() {
+        return new JedisPool();
     }
 }
@@ -5,15 +5,15 @@ import com.opencredo.concursus.redis.RedisAggregateCatalogue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 @Configuration
 public class RedisCatalogueBeans {
 
     @Bean
     @Primary
-    public AggregateCatalogue aggregateCatalogue(Jedis jedis) {
-        return RedisAggregateCatalogue.create(jedis);
+    public AggregateCatalogue aggregateCatalogue(JedisPool jedisPool) {
+        return RedisAggregateCatalogue.create(jedisPool);
     }
 
 }
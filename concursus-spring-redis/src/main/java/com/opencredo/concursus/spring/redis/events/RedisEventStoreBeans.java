@@ -8,20 +8,20 @@ import com.opencredo.concursus.redis.RedisEventRetriever;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 @Configuration
 public class RedisEventStoreBeans {
 
     @Bean
-    public EventRetriever eventRetriever(Jedis jedis, ObjectMapper objectMapper) {
-        return RedisEventRetriever.create(jedis, objectMapper);
+    public EventRetriever eventRetriever(JedisPool jedisPool, ObjectMapper objectMapper) {
+        return RedisEventRetriever.create(jedisPool, objectMapper);
     }
 
     @Bean
     @Primary
-    public EventLog eventLog(Jedis jedis, ObjectMapper objectMapper) {
-        return RedisEventLog.create(jedis, objectMapper);
+    public EventLog eventLog(JedisPool jedisPool, ObjectMapper objectMapper) {
+        return RedisEventLog.create(jedisPool, objectMapper);
     }
 
 